@@ -1,14 +1,35 @@
 package ImgBell.Config;
 
+import ImgBell.Kafka.Event.ElasticSearchEvent;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.ProducerListener;
+import org.springframework.kafka.support.converter.RecordMessageConverter;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * �� Kafka 설정 클래스
  * - 이메일 발송 토픽 생성
+ * - ES 색인 토픽 (키 = imageId, compact) + 색인용 프로듀서 프로필
  */
 @Configuration
 public class KafkaConfig {
@@ -19,6 +40,20 @@ public class KafkaConfig {
     @Value("${spring.kafka.topics.es-sending}")
     private String esSendingTopicName;
 
+    // ES 토픽 파티션 수 = ES 배치 리스너 동시성
+    @Value("${spring.kafka.topics.es-partitions:6}")
+    private int esPartitions;
+
+    // 색인 이벤트 프로듀서 프로필 - 작은 메시지가 몰려 나가므로 지연 조금 주고 크게 묶어서 압축
+    @Value("${spring.kafka.indexing.producer.linger-ms:20}")
+    private int indexingLingerMs;
+
+    @Value("${spring.kafka.indexing.producer.batch-size:65536}")
+    private int indexingBatchSize;
+
+    @Value("${spring.kafka.indexing.producer.compression-type:lz4}")
+    private String indexingCompressionType;
+
     /**
      * 📧 이메일 발송 토픽 - 회원가입 환영 이메일 등
      */
@@ -32,12 +67,112 @@ public class KafkaConfig {
 
     /**
      * 📦 ES 연동 토픽 - 검색 색인용 메시지 처리
+     * - 키 = imageId → 같은 이미지 이벤트는 같은 파티션에서 순서 보장
+     * - compact → 재생 시 이미지별 마지막 이벤트만 남음 (이벤트는 상태를 다시 읽는 신호라 마지막 것으로 충분)
+     * - 기존 토픽의 cleanup.policy 변경은 spring.kafka.admin.modify-topic-configs=true 일 때 반영됨
      */
     @Bean
     public NewTopic elasticSearchSendingTopic() {
         return TopicBuilder.name(esSendingTopicName)
-                .partitions(2)
+                .partitions(esPartitions)
                 .replicas(1)
+                .compact()
+                .config(TopicConfig.MIN_COMPACTION_LAG_MS_CONFIG, "60000")
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * 기본 KafkaTemplate (이메일 등) - 아래 색인용 템플릿이 생기면 Boot 자동설정이 빠지므로 직접 등록
+     * Boot의 spring.kafka.template.* 설정과 ProducerListener / RecordMessageConverter를 자동설정과 똑같이 적용
+     */
+    @Bean
+    @Primary
+    public KafkaTemplate<?, ?> kafkaTemplate(ProducerFactory<Object, Object> kafkaProducerFactory,
+                                             KafkaProperties kafkaProperties,
+                                             ProducerListener<Object, Object> kafkaProducerListener,
+                                             ObjectProvider<RecordMessageConverter> messageConverter) {
+        return configureTemplate(new KafkaTemplate<>(kafkaProducerFactory),
+                kafkaProperties, kafkaProducerListener, messageConverter);
+    }
+
+    /**
+     * 📦 색인 이벤트 전용 KafkaTemplate
+     * Boot 프로듀서 설정을 그대로 복사한 뒤 배치/압축/멱등 설정만 덮어씀 (템플릿 설정은 기본 템플릿과 동일)
+     */
+    @Bean
+    public KafkaTemplate<String, ElasticSearchEvent> indexingKafkaTemplate(
+            ProducerFactory<String, ElasticSearchEvent> kafkaProducerFactory,
+            KafkaProperties kafkaProperties,
+            ProducerListener<Object, Object> kafkaProducerListener,
+            ObjectProvider<RecordMessageConverter> messageConverter) {
+        return configureTemplate(new KafkaTemplate<>(kafkaProducerFactory,
+                        indexingProducerOverrides(indexingLingerMs, indexingBatchSize, indexingCompressionType)),
+                kafkaProperties, kafkaProducerListener, messageConverter);
+    }
+
+    // Boot KafkaAutoConfiguration.kafkaTemplate 과 같은 항목 적용
+    // (Boot의 LoggingProducerListener는 <Object, Object> 타입 빈이라 그대로 받아서 캐스팅)
+    @SuppressWarnings("unchecked")
+    private static <K, V> KafkaTemplate<K, V> configureTemplate(KafkaTemplate<K, V> template,
+                                                               KafkaProperties kafkaProperties,
+                                                               ProducerListener<Object, Object> producerListener,
+                                                               ObjectProvider<RecordMessageConverter> messageConverter) {
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        KafkaProperties.Template properties = kafkaProperties.getTemplate();
+        messageConverter.ifUnique(template::setMessageConverter);
+        map.from(producerListener).to(listener -> template.setProducerListener((ProducerListener<K, V>) (ProducerListener<?, ?>) listener));
+        map.from(properties.getDefaultTopic()).to(template::setDefaultTopic);
+        map.from(properties.getTransactionIdPrefix()).to(template::setTransactionIdPrefix);
+        map.from(properties.isObservationEnabled()).to(template::setObservationEnabled);
+        return template;
+    }
+
+    public static Map<String, Object> indexingProducerOverrides(int lingerMs, int batchSize, String compressionType) {
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        overrides.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        overrides.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        overrides.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        overrides.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        // 재시도로 인한 중복/순서 뒤바뀜 방지
+        overrides.put(ProducerConfig.ACKS_CONFIG, "all");
+        overrides.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        return overrides;
+    }
+
+    /**
+     * 📦 ES 동기화 배치 리스너 컨테이너
+     * - 동시성 = 파티션 수 (파티션보다 많은 컨슈머는 놀게 됨)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> esBatchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+        return batchListenerContainerFactory(configurer, kafkaConsumerFactory, esPartitions);
+    }
+
+    /**
+     * 📧 이메일 배치 리스너 컨테이너 - 발송 병렬화는 EmailDispatcher가 담당하므로 파티션 수만큼만
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> emailBatchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+        return batchListenerContainerFactory(configurer, kafkaConsumerFactory, 2);
+    }
+
+    /**
+     * Boot의 spring.kafka.listener.* 설정을 그대로 적용한 뒤 배치 모드 + 수동 ack로 전환
+     */
+    private ConcurrentKafkaListenerContainerFactory<Object, Object> batchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+}
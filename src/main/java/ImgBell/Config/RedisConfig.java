@@ -10,8 +10,10 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -66,12 +68,44 @@ public class RedisConfig {
         template.setHashKeySerializer(new StringRedisSerializer());
         template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
         
-        // 트랜잭션 지원 활성화
-        template.setEnableTransactionSupport(true);
+        // 트랜잭션 지원 비활성화
+        // - 활성화 시 @Transactional 안에서 커넥션이 스레드에 바인딩되어 Lettuce 공유 커넥션 멀티플렉싱이 깨지고
+        //   읽기 명령이 MULTI 큐에 쌓여 null을 반환함
+        // - 여러 명령을 묶어야 하면 RedisService.batch() (파이프라인) 또는 Lua 스크립트 사용
+        template.setEnableTransactionSupport(false);
         
         return template;
     }
 
+    /**
+     * 카운터/랭킹 전용 템플릿
+     * - image:stats:*, forum:stats:* 해시 값과 ranking:* 멤버를 raw 숫자 문자열로 저장
+     * - JSON 인코딩/타입 메타데이터 없이 HINCRBY, ZINCRBY가 그대로 동작
+     */
+    @Bean
+    public StringRedisTemplate counterRedisTemplate() {
+        StringRedisTemplate template = new StringRedisTemplate();
+        template.setConnectionFactory(redisConnectionFactory());
+        return template;
+    }
+
+    /**
+     * 캐시 DTO 전용 템플릿
+     * - 값은 CompactRedisCodec(Smile)으로 인코딩된 byte[] 그대로 저장
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> cacheRedisTemplate() {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisConnectionFactory());
+
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+
+        return template;
+    }
+
     @Bean
     public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
@@ -0,0 +1,205 @@
+package ImgBell.Email;
+
+import ImgBell.GlobalErrorHandler.GlobalException;
+import ImgBell.Kafka.Event.EmailEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 📮 이메일 일괄 발송기
+ *
+ * - 수신 도메인별로 묶어 send(MimeMessage...) 한 번에 최대 messages-per-connection 통 전송
+ *   → SMTP 연결/인증을 메시지마다가 아니라 묶음마다 한 번만 수행
+ * - 묶음은 가상 스레드에서 병렬 전송 (SMTP 왕복 대기 동안 스레드를 점유하지 않음)
+ * - 전체 동시 연결 수(max-connections)와 도메인별 동시 연결 수(per-domain-connections) 제한
+ *   → 특정 메일 서버에 연결이 몰려 스로틀/차단당하지 않도록
+ */
+@Slf4j
+@Component
+public class EmailDispatcher {
+
+    private static final String FROM = "ImgBell <noreply@imgbell.com>";
+
+    private final JavaMailSender mailSender;
+    private final EmailTemplateRegistry emailTemplateRegistry;
+    private final int messagesPerConnection;
+    private final int perDomainConnections;
+    private final Semaphore connectionPermits;
+    private final Map<String, Semaphore> domainPermits = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EmailDispatcher(JavaMailSender mailSender,
+                           EmailTemplateRegistry emailTemplateRegistry,
+                           @Value("${imgbell.mail.max-connections:8}") int maxConnections,
+                           @Value("${imgbell.mail.per-domain-connections:2}") int perDomainConnections,
+                           @Value("${imgbell.mail.messages-per-connection:50}") int messagesPerConnection) {
+        this.mailSender = mailSender;
+        this.emailTemplateRegistry = emailTemplateRegistry;
+        this.connectionPermits = new Semaphore(Math.max(1, maxConnections));
+        this.perDomainConnections = Math.max(1, perDomainConnections);
+        this.messagesPerConnection = Math.max(1, messagesPerConnection);
+    }
+
+    /**
+     * 이메일 일괄 발송
+     *
+     * @return 발송에 실패한 이벤트 (재시도 대상). 유효하지 않은 이벤트는 재시도해도 실패하므로 제외하고 로그만 남김
+     */
+    public List<EmailEvent> dispatch(List<EmailEvent> events) {
+        Map<String, List<Outgoing>> byDomain = new LinkedHashMap<>();
+        for (EmailEvent event : events) {
+            try {
+                validate(event);
+                byDomain.computeIfAbsent(domainOf(event.getToEmail()), d -> new ArrayList<>())
+                        .add(new Outgoing(event, createMessage(event)));
+            } catch (GlobalException e) {
+                log.error("❌ 유효하지 않은 이메일 이벤트 폐기: {}, 이유: {}", event, e.getMessage());
+            } catch (Exception e) {
+                log.error("❌ 이메일 메시지 생성 실패: {}", event, e);
+            }
+        }
+
+        List<Future<List<EmailEvent>>> chunks = new ArrayList<>();
+        byDomain.forEach((domain, outgoing) -> {
+            for (int from = 0; from < outgoing.size(); from += messagesPerConnection) {
+                List<Outgoing> chunk = outgoing.subList(from, Math.min(from + messagesPerConnection, outgoing.size()));
+                chunks.add(executor.submit(() -> sendChunk(domain, chunk)));
+            }
+        });
+
+        List<EmailEvent> failed = new ArrayList<>();
+        for (Future<List<EmailEvent>> chunk : chunks) {
+            try {
+                failed.addAll(chunk.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("이메일 발송 대기 중 인터럽트", e);
+            } catch (Exception e) {
+                // sendChunk는 실패를 반환값으로 돌려주므로 여기 올 일은 없음
+                log.error("❌ 이메일 묶음 발송 오류", e);
+            }
+        }
+        log.info("📧 이메일 일괄 발송: 요청 {}건, 도메인 {}개, 묶음 {}개, 실패 {}건",
+                events.size(), byDomain.size(), chunks.size(), failed.size());
+        return failed;
+    }
+
+    /**
+     * 한 도메인의 묶음을 SMTP 연결 하나로 전송 - 실패한 메시지의 이벤트만 반환
+     */
+    private List<EmailEvent> sendChunk(String domain, List<Outgoing> chunk) throws InterruptedException {
+        Semaphore domainPermit = domainPermits.computeIfAbsent(domain, d -> new Semaphore(perDomainConnections));
+        domainPermit.acquire();
+        try {
+            connectionPermits.acquire();
+            try {
+                mailSender.send(chunk.stream().map(Outgoing::message).toArray(MimeMessage[]::new));
+                return List.of();
+            } finally {
+                connectionPermits.release();
+            }
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                log.error("❌ 이메일 묶음 전송 실패: domain={}, {}건", domain, chunk.size(), e);
+                return chunk.stream().map(Outgoing::event).toList();
+            }
+            Map<Object, Outgoing> byMessage = new IdentityHashMap<>();
+            chunk.forEach(outgoing -> byMessage.put(outgoing.message(), outgoing));
+            List<EmailEvent> failed = new ArrayList<>();
+            failedMessages.forEach((message, error) -> {
+                Outgoing outgoing = byMessage.get(message);
+                if (outgoing != null) {
+                    log.warn("❌ 이메일 전송 실패: to={}, 이유: {}", outgoing.event().getToEmail(), error.getMessage());
+                    failed.add(outgoing.event());
+                }
+            });
+            return failed;
+        } catch (Exception e) {
+            log.error("❌ 이메일 묶음 전송 실패: domain={}, {}건", domain, chunk.size(), e);
+            return chunk.stream().map(Outgoing::event).toList();
+        } finally {
+            domainPermit.release();
+        }
+    }
+
+    private MimeMessage createMessage(EmailEvent event) throws MessagingException {
+        String subject = event.getSubject();
+        String html = event.getContent();
+        // 템플릿 이벤트는 여기서 렌더링 (컴파일된 조각 이어 붙이기만)
+        if (event.getTemplateId() != null) {
+            EmailTemplateRegistry.Rendered rendered = emailTemplateRegistry.render(event.getTemplateId(), event.getVariables());
+            subject = rendered.subject();
+            html = rendered.html();
+        }
+
+        // HTML 이메일 발송을 위한 MimeMessage 생성
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(FROM);
+        helper.setTo(event.getToEmail());
+        helper.setSubject(subject);
+        helper.setText(html, true);
+        return message;
+    }
+
+    /**
+     * 이메일 이벤트 유효성 검증
+     */
+    private void validate(EmailEvent emailEvent) {
+        if (emailEvent == null) {
+            throw new GlobalException("이메일 이벤트가 null입니다", "EMAIL_EVENT_NULL", HttpStatus.BAD_REQUEST);
+        }
+        if (emailEvent.getEmailType() == null) {
+            throw new GlobalException("지원하지 않는 이메일 타입입니다: null", "UNSUPPORTED_EMAIL_TYPE", HttpStatus.BAD_REQUEST);
+        }
+        if (emailEvent.getToEmail() == null || emailEvent.getToEmail().trim().isEmpty()) {
+            throw new GlobalException("수신자 이메일이 필요합니다", "EMAIL_RECIPIENT_REQUIRED", HttpStatus.BAD_REQUEST);
+        }
+        if (emailEvent.getTemplateId() != null) {
+            if (!emailTemplateRegistry.contains(emailEvent.getTemplateId())) {
+                throw new GlobalException("이메일 템플릿이 없습니다: " + emailEvent.getTemplateId(), "EMAIL_TEMPLATE_NOT_FOUND", HttpStatus.BAD_REQUEST);
+            }
+            return;
+        }
+        if (emailEvent.getSubject() == null || emailEvent.getSubject().trim().isEmpty()) {
+            throw new GlobalException("이메일 제목이 필요합니다", "EMAIL_SUBJECT_REQUIRED", HttpStatus.BAD_REQUEST);
+        }
+        if (emailEvent.getContent() == null || emailEvent.getContent().trim().isEmpty()) {
+            throw new GlobalException("이메일 내용이 필요합니다", "EMAIL_CONTENT_REQUIRED", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    static String domainOf(String email) {
+        int at = email.lastIndexOf('@');
+        return at >= 0 ? email.substring(at + 1).trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record Outgoing(EmailEvent event, MimeMessage message) {
+    }
+}
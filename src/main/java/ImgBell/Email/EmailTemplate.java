@@ -0,0 +1,98 @@
+package ImgBell.Email;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🧩 미리 컴파일된 이메일 템플릿
+ * 원문을 한 번만 파싱해 "고정 문자열 조각 + 변수 이름" 배열로 보관
+ * 렌더링은 조각과 (HTML 이스케이프한) 변수 값을 순서대로 이어 붙이기만 함
+ *
+ * 문법: {{변수명}}
+ * 본문 템플릿은 변수 값을 HTML 이스케이프, 제목 같은 일반 텍스트 템플릿은 그대로 삽입
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // literals.length == variables.length + 1
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+    private final boolean escapeHtml;
+
+    private EmailTemplate(String[] literals, String[] variables, boolean escapeHtml) {
+        this.literals = literals;
+        this.variables = variables;
+        this.escapeHtml = escapeHtml;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static EmailTemplate compile(String source) {
+        return compile(source, true);
+    }
+
+    public static EmailTemplate compilePlain(String source) {
+        return compile(source, false);
+    }
+
+    private static EmailTemplate compile(String source, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (open < 0 || close < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            literals.add(source.substring(position, open));
+            variables.add(source.substring(open + OPEN.length(), close).trim());
+            position = close + CLOSE.length();
+        }
+        return new EmailTemplate(literals.toArray(new String[0]), variables.toArray(new String[0]), escapeHtml);
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder sb = new StringBuilder(literalLength + variables.length * 16);
+        for (int i = 0; i < variables.length; i++) {
+            sb.append(literals[i]);
+            String value = values != null ? values.get(variables[i]) : null;
+            if (value == null) {
+                continue;
+            }
+            if (escapeHtml) {
+                appendEscaped(sb, value);
+            } else {
+                sb.append(value);
+            }
+        }
+        sb.append(literals[variables.length]);
+        return sb.toString();
+    }
+
+    public String[] variables() {
+        return variables.clone();
+    }
+
+    private static void appendEscaped(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> sb.append("&amp;");
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '"' -> sb.append("&quot;");
+                case '\'' -> sb.append("&#39;");
+                default -> sb.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ImgBell.Email;
+
+import ImgBell.GlobalErrorHandler.GlobalException;
+import ImgBell.Kafka.Event.EmailEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 📚 이메일 템플릿 저장소
+ * - 시작 시 classpath:templates/email/*.html 을 한 번만 읽어 컴파일 (파일명 = templateId)
+ * - 제목은 템플릿의 <title> 내용 (변수 사용 가능)
+ * - Kafka에는 templateId + 변수만 싣고, 본문 렌더링은 컨슈머에서 수행
+ */
+@Slf4j
+@Component
+public class EmailTemplateRegistry {
+
+    private static final String LOCATION = "classpath:templates/email/*.html";
+    private static final Pattern TITLE = Pattern.compile("<title>(.*?)</title>", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+
+    private final Map<String, Compiled> templates = new HashMap<>();
+
+    public EmailTemplateRegistry() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                String filename = resource.getFilename();
+                if (filename == null) {
+                    continue;
+                }
+                String templateId = filename.substring(0, filename.length() - ".html".length());
+                register(templateId, resource.getContentAsString(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("이메일 템플릿 로딩 실패", e);
+        }
+        log.info("📚 이메일 템플릿 {}개 컴파일: {}", templates.size(), templates.keySet());
+    }
+
+    /**
+     * 이메일 타입별 기본 템플릿 ID (WELCOME → welcome)
+     */
+    public static String templateIdOf(EmailEvent.EmailType emailType) {
+        return emailType.name().toLowerCase(Locale.ROOT);
+    }
+
+    void register(String templateId, String source) {
+        Matcher title = TITLE.matcher(source);
+        EmailTemplate subject = EmailTemplate.compilePlain(title.find() ? title.group(1).trim() : "ImgBell");
+        templates.put(templateId, new Compiled(subject, EmailTemplate.compile(source)));
+    }
+
+    public boolean contains(String templateId) {
+        return templates.containsKey(templateId);
+    }
+
+    public Rendered render(String templateId, Map<String, String> variables) {
+        Compiled compiled = templates.get(templateId);
+        if (compiled == null) {
+            throw new GlobalException("이메일 템플릿이 없습니다: " + templateId, "EMAIL_TEMPLATE_NOT_FOUND", HttpStatus.BAD_REQUEST);
+        }
+        return new Rendered(compiled.subject().render(variables), compiled.body().render(variables));
+    }
+
+    private record Compiled(EmailTemplate subject, EmailTemplate body) {
+    }
+
+    public record Rendered(String subject, String html) {
+    }
+}
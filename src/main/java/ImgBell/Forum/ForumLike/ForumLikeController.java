@@ -6,6 +6,7 @@ import ImgBell.Forum.ForumResponse;
 import ImgBell.Image.ImageDto;
 import ImgBell.ImageLike.ImageLikeDto;
 import ImgBell.ImageLike.ImageLikeService;
+import ImgBell.ImageLike.LikedSlice;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -31,4 +32,12 @@ public class ForumLikeController {
         List<ForumResponse> likedForums = forumLikeService.getLikedForum(memberId);
         return ResponseEntity.ok(likedForums);
     }
+
+    // 좋아요 게시글 keyset 페이지 - 다음 페이지는 응답의 nextCursor를 cursor로 전달
+    @GetMapping("/member/{memberId}/page")
+    public ResponseEntity<LikedSlice<ForumResponse>> getLikedForumsPage(@PathVariable Long memberId,
+                                                                        @RequestParam(required = false) Long cursor,
+                                                                        @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(forumLikeService.getLikedForum(memberId, cursor, size));
+    }
 }
@@ -2,7 +2,10 @@ package ImgBell.Forum.ForumLike;
 
 import ImgBell.Forum.Forum;
 import ImgBell.Member.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +18,13 @@ public interface ForumLikeRepository extends JpaRepository<ForumLike, Long> {
 
     List<ForumLike> findAllByMember(Member member);
 
+    /**
+     * 좋아요 게시글 keyset 페이지 (좋아요 ID 내림차순)
+     * 댓글은 컬렉션을 로딩하지 않고 SIZE()로 개수만 - limit은 Pageable(0, size + 1)로 전달
+     */
+    @Query("SELECT new ImgBell.Forum.ForumLike.LikedForumRow(fl.id, f, SIZE(f.comments)) " +
+            "FROM ForumLike fl JOIN fl.forum f " +
+            "WHERE fl.member.id = :memberId AND fl.id < :cursor ORDER BY fl.id DESC")
+    List<LikedForumRow> findLikedPage(@Param("memberId") Long memberId, @Param("cursor") Long cursor, Pageable limit);
+
 }
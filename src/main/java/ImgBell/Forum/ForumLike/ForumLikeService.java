@@ -3,11 +3,12 @@ package ImgBell.Forum.ForumLike;
 import ImgBell.Forum.*;
 import ImgBell.Image.Image;
 import ImgBell.Image.ImageDto;
-import ImgBell.ImageLike.ImageLike;
+import ImgBell.ImageLike.LikedSlice;
 import ImgBell.Member.Member;
 import ImgBell.Member.MemberRepository;
 import ImgBell.GlobalErrorHandler.GlobalException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -57,15 +58,32 @@ public class ForumLikeService {
         // forumRepository.save(targetForum);
     }
 
-    public List<ForumResponse> getLikedForum(Long memberId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new GlobalException("회원을 찾을 수 없습니다", "MEMBER_NOT_FOUND", HttpStatus.NOT_FOUND));
+    /**
+     * 좋아요한 게시글 keyset 페이지 - 게시글과 댓글 수를 쿼리 1회로
+     */
+    public LikedSlice<ForumResponse> getLikedForum(Long memberId, Long cursor, Integer size) {
+        if (!memberRepository.existsById(memberId)) {
+            throw new GlobalException("회원을 찾을 수 없습니다", "MEMBER_NOT_FOUND", HttpStatus.NOT_FOUND);
+        }
+        int limit = LikedSlice.clampSize(size);
+        List<LikedForumRow> rows = forumLikeRepository.findLikedPage(
+                memberId, LikedSlice.cursorOrFirst(cursor), PageRequest.of(0, limit + 1));
 
-        List<ForumLike> likes = forumLikeRepository.findAllByMember(member);
+        boolean hasNext = rows.size() > limit;
+        List<LikedForumRow> page = hasNext ? rows.subList(0, limit) : rows;
 
-        return likes.stream()
-                .map(ForumLike::getForum)
-                .map(ForumResponse::forList)
+        List<ForumResponse> content = page.stream()
+                .map(row -> ForumResponse.forList(row.forum(), row.commentsCount()))
                 .collect(Collectors.toList());
+
+        Long nextCursor = hasNext ? page.get(page.size() - 1).likeId() : null;
+        return new LikedSlice<>(content, nextCursor, hasNext);
+    }
+
+    /**
+     * 기존 목록 API - 최근 좋아요 MAX_SIZE개까지만 반환 (전체는 페이지 API 사용)
+     */
+    public List<ForumResponse> getLikedForum(Long memberId) {
+        return getLikedForum(memberId, null, LikedSlice.MAX_SIZE).getContent();
     }
 }
@@ -0,0 +1,9 @@
+package ImgBell.Forum.ForumLike;
+
+import ImgBell.Forum.Forum;
+
+/**
+ * 좋아요한 게시글 목록 조회용 프로젝션 (댓글 컬렉션 로딩 없이 SIZE()로 개수만)
+ */
+public record LikedForumRow(Long likeId, Forum forum, Integer commentsCount) {
+}
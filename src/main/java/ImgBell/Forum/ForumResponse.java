@@ -37,6 +37,21 @@ public class ForumResponse {
                 .build();
     }
 
+    // 목록용 응답 (댓글 수를 따로 조회한 경우 - 댓글 컬렉션 로딩 없음)
+    public static ForumResponse forList(Forum forum, Integer commentsCount) {
+        return ForumResponse.builder()
+                .id(forum.getId())
+                .title(forum.getTitle())
+                .content(null)
+                .authorDisplayName(forum.getAuthorDisplayName())
+                .createdAt(forum.getCreatedAt().toString())
+                .viewCount(forum.getViewCount())
+                .likeCount(forum.getLikeCount())
+                .type(forum.getType())
+                .commentsCount(commentsCount)
+                .build();
+    }
+
     // 목록용 응답 (content 제외한 간략 정보)
     public static ForumResponse forList(Forum forum) {
         return ForumResponse.builder()
@@ -0,0 +1,160 @@
+package ImgBell.Image.Duplicate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 🌳 해밍 거리 BK-tree (지각 해시 → 이미지 ID)
+ *
+ * - 자식은 부모와의 거리(0~64)로 구분 → 검색 시 삼각부등식으로 |d - r| ~ d + r 구간의 자식만 방문
+ *   반경 10 이하 검색은 전체의 일부 노드만 보므로 수십만 건에서도 1ms 미만
+ * - 같은 해시의 이미지는 한 노드에 모음
+ * - 삭제는 노드의 ID만 제거 (빈 노드는 경로 유지를 위해 남겨둠, 재시작 시 재구성)
+ * - 읽기/쓰기 락으로 검색은 동시에, 추가/삭제는 단독으로
+ */
+public class BkTree {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> hashById = new HashMap<>();
+    private Node root;
+
+    public void add(long id, long hash) {
+        lock.writeLock().lock();
+        try {
+            Long previous = hashById.put(id, hash);
+            if (previous != null) {
+                if (previous == hash) {
+                    return;
+                }
+                Node node = find(previous);
+                if (node != null) {
+                    node.ids.remove(id);
+                }
+            }
+            if (root == null) {
+                root = new Node(hash);
+                root.ids.add(id);
+                return;
+            }
+            Node node = root;
+            while (true) {
+                int distance = PerceptualHash.distance(node.hash, hash);
+                if (distance == 0) {
+                    node.ids.add(id);
+                    return;
+                }
+                Node child = node.children.get(distance);
+                if (child == null) {
+                    child = new Node(hash);
+                    child.ids.add(id);
+                    node.children.put(distance, child);
+                    return;
+                }
+                node = child;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Long hash = hashById.remove(id);
+            if (hash != null) {
+                Node node = find(hash);
+                if (node != null) {
+                    node.ids.remove(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Long hashOf(long id) {
+        lock.readLock().lock();
+        try {
+            return hashById.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return hashById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * hash와 해밍 거리 maxDistance 이하인 이미지 (거리 오름차순)
+     */
+    public List<Match> search(long hash, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (root == null) {
+                return matches;
+            }
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                int distance = PerceptualHash.distance(node.hash, hash);
+                if (distance <= maxDistance) {
+                    for (Long id : node.ids) {
+                        matches.add(new Match(id, distance));
+                    }
+                }
+                int from = distance - maxDistance;
+                int to = distance + maxDistance;
+                for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                    if (child.getKey() >= from && child.getKey() <= to) {
+                        stack.push(child.getValue());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort((a, b) -> Integer.compare(a.distance(), b.distance()));
+        return matches;
+    }
+
+    private Node find(long hash) {
+        Node node = root;
+        while (node != null) {
+            int distance = PerceptualHash.distance(node.hash, hash);
+            if (distance == 0) {
+                return node;
+            }
+            node = node.children.get(distance);
+        }
+        return null;
+    }
+
+    public record Match(long id, int distance) {
+    }
+
+    private static final class Node {
+        private final long hash;
+        private final Set<Long> ids = new LinkedHashSet<>(2);
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        private Node(long hash) {
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package ImgBell.Image.Duplicate;
+
+import ImgBell.GlobalErrorHandler.GlobalException;
+import ImgBell.Image.Image;
+import ImgBell.Image.ImageDto;
+import ImgBell.Image.ImageRepository;
+import ImgBell.Image.Storage.ImageStorage;
+import ImgBell.Redis.RedisService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 👯 유사(중복) 이미지 탐지
+ *
+ * - 업로드 등록 시 저장소에서 원본을 읽어 dHash 계산 → Image.perceptualHash 저장
+ * - 기동 시 DB의 해시를 메모리 BK-tree로 적재, 이후 업로드/삭제는 커밋 후 반영
+ * - 인덱스는 노드마다 따로 있으므로 등록/삭제를 Redis 변경 로그(순번 ZSET)에도 남기고
+ *   각 노드가 refresh-ms마다 마지막으로 반영한 순번 이후만 읽어서 반영 (다른 노드의 업로드/삭제)
+ *   로그가 잘려 중간 순번을 놓쳤거나 Redis가 초기화된 경우에는 DB에서 전체 재적재
+ * - 업로드 시 비슷한 기존 이미지가 있으면 경고로 반환 (등록 자체는 막지 않음)
+ * - 해시가 없는 기존 이미지는 /api/image/{id}/duplicates 조회 시 계산해서 채움
+ * - 해시 계산은 전용 스레드 풀(fingerprint-threads, 대기열 제한)에서 하고 요청 스레드는 fingerprint-timeout-ms까지만 기다림
+ *   시간 안에 못 끝낸 이미지는 해시 없이 등록 (이후 duplicates 조회 때 채움)
+ * - 저장소의 실제 크기(max-file-bytes)와 디코딩 전 가로×세로(max-pixels)로 거대 파일/압축 폭탄을 거름
+ *
+ *   imgbell.duplicate.max-distance=10     (해밍 거리, 64bit 중)
+ *   imgbell.duplicate.max-file-bytes=20971520
+ *   imgbell.duplicate.max-pixels=40000000
+ *   imgbell.duplicate.fingerprint-threads=2
+ *   imgbell.duplicate.fingerprint-queue-size=32
+ *   imgbell.duplicate.fingerprint-timeout-ms=3000
+ *   imgbell.duplicate.refresh-ms=10000
+ *   imgbell.duplicate.change-log-size=100000
+ */
+@Slf4j
+@Service
+public class ImageDuplicateService {
+
+    // 디코딩 시 긴 변 목표 픽셀 (dHash 입력은 9x8)
+    private static final int DECODE_TARGET = 512;
+
+    private static final String CHANGE_SEQ_KEY = "image:duplicate:change-seq";
+    private static final String CHANGE_LOG_KEY = "image:duplicate:changes";
+    private static final int REFRESH_BATCH_SIZE = 1000;
+
+    /**
+     * 변경 기록 (순번 발급 + ZSET 추가 + 오래된 항목 정리를 원자적으로)
+     * KEYS: [1] 순번, [2] 변경 로그 / ARGV: [1] "+id:hash" 또는 "-id", [2] 보관 건수
+     */
+    private static final DefaultRedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>(
+            "local seq = redis.call('incr', KEYS[1])\n" +
+            "redis.call('zadd', KEYS[2], seq, ARGV[1])\n" +
+            "redis.call('zremrangebyrank', KEYS[2], 0, -tonumber(ARGV[2]) - 1)\n" +
+            "return seq",
+            Long.class);
+
+    /**
+     * 변경 조회 - 반환: {현재 순번, 가장 오래된 보관 순번, 변경1, 순번1, 변경2, 순번2, ...}
+     * KEYS: [1] 순번, [2] 변경 로그 / ARGV: [1] 마지막으로 반영한 순번, [2] 최대 건수 (0이면 순번만)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> READ_SCRIPT = new DefaultRedisScript<>(
+            "local result = {redis.call('get', KEYS[1]) or '0'}\n" +
+            "local oldest = redis.call('zrange', KEYS[2], 0, 0, 'WITHSCORES')\n" +
+            "result[2] = oldest[2] or '0'\n" +
+            "if tonumber(ARGV[2]) > 0 then\n" +
+            "    local entries = redis.call('zrangebyscore', KEYS[2], '(' .. ARGV[1], '+inf', 'WITHSCORES', 'LIMIT', 0, ARGV[2])\n" +
+            "    for i = 1, #entries do result[#result + 1] = entries[i] end\n" +
+            "end\n" +
+            "return result",
+            List.class);
+
+    private final ImageRepository imageRepository;
+    private final ImageStorage imageStorage;
+    private final RedisService redisService;
+    // 전체 재적재 시 새 트리로 교체
+    private volatile BkTree index = new BkTree();
+    // 이 노드가 반영한 마지막 변경 순번
+    private long lastSeq;
+    private final Timer fingerprintTimer;
+    private final int maxDistance;
+    private final long maxFileBytes;
+    private final long maxPixels;
+    private final long timeoutMillis;
+    private final int changeLogSize;
+    private final ThreadPoolExecutor executor;
+
+    public ImageDuplicateService(ImageRepository imageRepository,
+                                 ImageStorage imageStorage,
+                                 RedisService redisService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${imgbell.duplicate.max-distance:10}") int maxDistance,
+                                 @Value("${imgbell.duplicate.max-file-bytes:20971520}") long maxFileBytes,
+                                 @Value("${imgbell.duplicate.max-pixels:40000000}") long maxPixels,
+                                 @Value("${imgbell.duplicate.fingerprint-threads:2}") int threads,
+                                 @Value("${imgbell.duplicate.fingerprint-queue-size:32}") int queueSize,
+                                 @Value("${imgbell.duplicate.fingerprint-timeout-ms:3000}") long timeoutMillis,
+                                 @Value("${imgbell.duplicate.change-log-size:100000}") int changeLogSize) {
+        this.imageRepository = imageRepository;
+        this.imageStorage = imageStorage;
+        this.redisService = redisService;
+        this.maxDistance = maxDistance;
+        this.maxFileBytes = maxFileBytes;
+        this.maxPixels = maxPixels;
+        this.timeoutMillis = timeoutMillis;
+        this.changeLogSize = changeLogSize;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-fingerprint-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.fingerprintTimer = Timer.builder("imgbell_image_fingerprint_seconds")
+                .description("Time to fetch an uploaded image and compute its perceptual hash")
+                .register(meterRegistry);
+        Gauge.builder("imgbell_image_fingerprint_index_size", this, service -> service.index.size())
+                .description("Images in the in-memory perceptual hash index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * DB 전체 해시로 인덱스 적재
+     * 순번을 DB 조회 전에 읽어두므로 적재 중에 들어온 변경은 다음 refreshIndex에서 다시 반영 (중복 반영은 무해)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadIndex() {
+        long start = System.nanoTime();
+        long seq = 0;
+        try {
+            seq = Long.parseLong(readChanges(0, 0).get(0));
+        } catch (RuntimeException e) {
+            // 순번 0이면 다음 refreshIndex에서 로그가 잘린 것으로 보고 다시 전체 적재
+            log.warn("유사 이미지 변경 로그 순번 조회 실패: {}", e.getMessage());
+        }
+        BkTree tree = new BkTree();
+        List<Object[]> rows = imageRepository.findAllPerceptualHashes();
+        for (Object[] row : rows) {
+            tree.add((Long) row[0], (Long) row[1]);
+        }
+        index = tree;
+        lastSeq = seq;
+        log.info("👯 유사 이미지 인덱스 적재: {}건, {}ms", rows.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 🔄 다른 노드(및 자기 자신)가 남긴 등록/삭제를 순번 순서대로 반영
+     */
+    @Scheduled(fixedDelayString = "${imgbell.duplicate.refresh-ms:10000}")
+    public synchronized void refreshIndex() {
+        try {
+            int applied;
+            do {
+                List<String> changes = readChanges(lastSeq, REFRESH_BATCH_SIZE);
+                long seq = Long.parseLong(changes.get(0));
+                long oldest = (long) Double.parseDouble(changes.get(1));
+                if (seq < lastSeq || oldest > lastSeq + 1) {
+                    log.info("유사 이미지 변경 로그 유실 (반영 {}, 보관 {}~{}), 전체 재적재", lastSeq, oldest, seq);
+                    loadIndex();
+                    return;
+                }
+                applied = 0;
+                for (int i = 2; i + 1 < changes.size(); i += 2) {
+                    apply(changes.get(i));
+                    lastSeq = (long) Double.parseDouble(changes.get(i + 1));
+                    applied++;
+                }
+            } while (applied == REFRESH_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("유사 이미지 인덱스 갱신 실패, 다음 주기에 재시도: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> readChanges(long afterSeq, int limit) {
+        List<String> changes = redisService.executeScript(READ_SCRIPT, List.of(CHANGE_SEQ_KEY, CHANGE_LOG_KEY),
+                String.valueOf(afterSeq), String.valueOf(limit));
+        if (changes == null || changes.size() < 2) {
+            throw new IllegalStateException("변경 로그 조회 결과 없음");
+        }
+        return changes;
+    }
+
+    private void apply(String change) {
+        if (change.startsWith("+")) {
+            int colon = change.indexOf(':');
+            index.add(Long.parseLong(change.substring(1, colon)), Long.parseLong(change.substring(colon + 1)));
+        } else if (change.startsWith("-")) {
+            index.remove(Long.parseLong(change.substring(1)));
+        }
+    }
+
+    /**
+     * 변경 로그 기록 - 실패해도 이 노드 인덱스와 DB에는 반영됐으므로 경고만 (다른 노드는 재시작/재적재 때 반영)
+     */
+    private void publish(String change) {
+        try {
+            redisService.executeScript(APPEND_SCRIPT, List.of(CHANGE_SEQ_KEY, CHANGE_LOG_KEY),
+                    change, String.valueOf(changeLogSize));
+        } catch (RuntimeException e) {
+            log.warn("유사 이미지 변경 로그 기록 실패: {}, {}", change, e.getMessage());
+        }
+    }
+
+    /**
+     * 업로드 요청의 이미지들 해시 계산 (imageUrl → hash, 실패/디코딩 불가/시간 초과는 제외)
+     * 저장소 조회가 포함되므로 DB 트랜잭션 밖에서 호출
+     * 전용 풀에서 병렬로 계산하고 요청 전체에 대해 fingerprint-timeout-ms까지만 기다림
+     */
+    public Map<String, Long> fingerprintAll(List<ImageDto> images) {
+        Map<String, Future<Long>> pending = new LinkedHashMap<>();
+        for (ImageDto dto : images) {
+            String imageUrl = dto.getImageUrl();
+            if (imageUrl == null || pending.containsKey(imageUrl)) {
+                continue;
+            }
+            Future<Long> future = submit(imageUrl);
+            if (future != null) {
+                pending.put(imageUrl, future);
+            }
+        }
+
+        Map<String, Long> hashes = new HashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Map.Entry<String, Future<Long>> entry : pending.entrySet()) {
+            Long hash = await(entry.getKey(), entry.getValue(), deadline - System.nanoTime());
+            if (hash != null) {
+                hashes.put(entry.getKey(), hash);
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * 원본을 읽어 dHash 계산 - ImageIO가 읽지 못하는 형식(webp, 동영상 등), 크기 초과, 조회 실패는 null
+     */
+    public Long fingerprint(String imageUrl) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage image = decode(imageStorage.read(imageUrl, maxFileBytes));
+            if (image == null) {
+                log.debug("지각 해시 생략 (지원하지 않는 형식 또는 픽셀 수 초과): {}", imageUrl);
+                return null;
+            }
+            return PerceptualHash.dHash(image);
+        } catch (Exception e) {
+            log.warn("지각 해시 계산 실패: url={}, {}", imageUrl, e.getMessage());
+            return null;
+        } finally {
+            fingerprintTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 헤더에서 가로×세로만 먼저 읽고 max-pixels 이하일 때만 디코딩
+     * dHash는 9x8로 축소해서 쓰므로 긴 변이 DECODE_TARGET 근처가 되도록 픽셀을 건너뛰며 읽음 (메모리/CPU 절감)
+     */
+    private BufferedImage decode(byte[] bytes) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.info("지각 해시 생략 (픽셀 수 초과): {}x{}", width, height);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / DECODE_TARGET);
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Future<Long> submit(String imageUrl) {
+        try {
+            return executor.submit(() -> fingerprint(imageUrl));
+        } catch (RejectedExecutionException e) {
+            log.warn("지각 해시 대기열 초과, 해시 없이 등록: {}", imageUrl);
+            return null;
+        }
+    }
+
+    private Long await(String imageUrl, Future<Long> future, long remainingNanos) {
+        try {
+            return future.get(Math.max(0L, remainingNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("지각 해시 시간 초과 ({}ms), 해시 없이 등록: {}", timeoutMillis, imageUrl);
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return null;
+        }
+    }
+
+    /**
+     * 기존 이미지 중 hash와 유사한 이미지 (자기 자신 제외, 공개 이미지만)
+     */
+    public List<DuplicateMatch> findSimilar(long hash, Long excludeId, int distance) {
+        List<BkTree.Match> matches = index.search(hash, Math.max(0, Math.min(distance, maxDistance)));
+        matches.removeIf(match -> excludeId != null && match.id() == excludeId);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Image> images = imageRepository.findAllById(matches.stream().map(BkTree.Match::id).toList()).stream()
+                .collect(Collectors.toMap(Image::getId, Function.identity()));
+        return matches.stream()
+                .filter(match -> images.containsKey(match.id()) && Boolean.TRUE.equals(images.get(match.id()).getIsPublic()))
+                .map(match -> DuplicateMatch.of(images.get(match.id()), match.distance()))
+                .toList();
+    }
+
+    /**
+     * 같은 업로드 요청에서 먼저 저장한 이미지 중 hash와 유사한 이미지
+     * 인덱스 반영은 커밋 후라서 findSimilar로는 보이지 않음 (본인 업로드이므로 공개 여부와 무관하게 포함)
+     */
+    public List<DuplicateMatch> findSimilarInBatch(long hash, List<Image> batch) {
+        return batch.stream()
+                .filter(image -> image.getPerceptualHash() != null)
+                .map(image -> DuplicateMatch.of(image, PerceptualHash.distance(hash, image.getPerceptualHash())))
+                .filter(match -> match.distance() <= maxDistance)
+                .sorted(Comparator.comparingInt(DuplicateMatch::distance))
+                .toList();
+    }
+
+    /**
+     * 🔍 특정 이미지와 유사한 이미지 목록 - 해시가 없으면 지금 계산해서 저장
+     * 비공개 이미지는 업로더 본인만 조회 가능 (그 외에는 존재 여부도 드러내지 않도록 404)
+     * distance는 서버 설정 max-distance를 넘을 수 없음
+     */
+    public List<DuplicateMatch> findDuplicates(Long imageId, Integer distance, Long viewerId) {
+        Image image = imageRepository.findById(imageId)
+                .filter(found -> Boolean.TRUE.equals(found.getIsPublic()) || isUploader(found, viewerId))
+                .orElseThrow(() -> new GlobalException("그런 이미지 없습니다", "NOT_IMAGE_FOUND", HttpStatus.NOT_FOUND));
+        Long hash = image.getPerceptualHash();
+        if (hash == null) {
+            Future<Long> future = submit(image.getImageUrl());
+            hash = future != null ? await(image.getImageUrl(), future, TimeUnit.MILLISECONDS.toNanos(timeoutMillis)) : null;
+            if (hash == null) {
+                throw new GlobalException("유사 이미지 비교를 지원하지 않는 파일입니다", "FINGERPRINT_UNAVAILABLE", HttpStatus.UNPROCESSABLE_ENTITY);
+            }
+            imageRepository.updatePerceptualHash(imageId, hash);
+            register(imageId, hash);
+        }
+        return findSimilar(hash, imageId, distance != null ? distance : maxDistance);
+    }
+
+    private static boolean isUploader(Image image, Long viewerId) {
+        return viewerId != null && image.getUploader() != null && viewerId.equals(image.getUploader().getId());
+    }
+
+    /**
+     * 새 이미지 인덱스 반영 - 트랜잭션 안이면 커밋 후 (롤백된 이미지가 검색되지 않도록)
+     * 다른 노드에는 변경 로그로 전달
+     */
+    public void register(Long imageId, long hash) {
+        afterCommit(() -> {
+            index.add(imageId, hash);
+            publish("+" + imageId + ":" + hash);
+        });
+    }
+
+    public void unregister(Long imageId) {
+        afterCommit(() -> {
+            index.remove(imageId);
+            publish("-" + imageId);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record DuplicateMatch(Long imageId, String imageName, String imageUrl, int distance) {
+        static DuplicateMatch of(Image image, int distance) {
+            return new DuplicateMatch(image.getId(), image.getImageName(), image.getImageUrl(), distance);
+        }
+    }
+
+    /**
+     * 업로드 경고: 방금 등록한 이미지와 유사한 기존 이미지들
+     */
+    public record DuplicateWarning(String imageUrl, Long imageId, List<DuplicateMatch> similar) {
+    }
+}
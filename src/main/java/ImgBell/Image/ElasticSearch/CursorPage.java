@@ -0,0 +1,14 @@
+package ImgBell.Image.ElasticSearch;
+
+import java.util.List;
+
+/**
+ * 📜 커서 기반 페이지 (무한 스크롤용)
+ * nextCursor를 그대로 다음 요청의 cursor로 넘기면 됨 - 마지막 페이지면 null
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor, boolean hasNext) {
+
+    public static <T> CursorPage<T> empty(int size) {
+        return new CursorPage<>(List.of(), size, null, false);
+    }
+}
@@ -0,0 +1,30 @@
+package ImgBell.Image.ElasticSearch;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 📉 검색 결과 페이지 + 저하(degraded) 여부
+ * degraded=true 면 ES 장애/지연으로 DB 대체 조회 결과 (관련도 정렬·오타 허용 없음, 결과 수 제한)
+ * 클라이언트는 이 값으로 "검색이 일시적으로 제한됨" 안내 등을 표시
+ */
+public class DegradablePage<T> extends PageImpl<T> {
+
+    private final boolean degraded;
+
+    public DegradablePage(List<T> content, Pageable pageable, long total, boolean degraded) {
+        super(content, pageable, total);
+        this.degraded = degraded;
+    }
+
+    public static <T> DegradablePage<T> of(Page<T> page, boolean degraded) {
+        return new DegradablePage<>(page.getContent(), page.getPageable(), page.getTotalElements(), degraded);
+    }
+
+    public boolean isDegraded() {
+        return degraded;
+    }
+}
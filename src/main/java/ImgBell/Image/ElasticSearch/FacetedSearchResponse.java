@@ -0,0 +1,17 @@
+package ImgBell.Image.ElasticSearch;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🧮 검색 결과 + 패싯 집계 (요청 1회)
+ * facets: 패싯 키(tags, grade, artist, uploader) → 건수 많은 순 버킷
+ * size=0 요청이면 results는 빈 페이지(전체 건수만)이고 facets만 채워짐
+ */
+public record FacetedSearchResponse(Page<ImageListHit> results, Map<String, List<FacetBucket>> facets) {
+
+    public record FacetBucket(String value, long count) {
+    }
+}
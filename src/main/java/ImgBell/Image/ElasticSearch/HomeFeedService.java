@@ -0,0 +1,255 @@
+package ImgBell.Image.ElasticSearch;
+
+import ImgBell.Image.RankingService;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.QueryBuilders;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.msearch.RequestItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🏠 홈 피드 (메인 화면 한 번에)
+ *
+ * - 인기 / 최신 / 태그 캐러셀 / 일간 랭킹 섹션을 ES _msearch 한 번으로 조회
+ *   랭킹 순서는 Redis ZSET에서 가져오고, 해당 이미지 카드 정보만 같은 _msearch에 ids 쿼리로 포함
+ * - 조립된 결과는 cache-ttl-ms 동안 로컬에 스냅샷으로 보관 → 동시에 몰린 요청도 ES/Redis 조회는 1회
+ * - 갱신은 한 요청만 (tryLock), 나머지는 기다리지 않고 직전 스냅샷(없으면 빈 피드)으로 응답
+ * - _msearch는 SearchCircuitBreaker를 거침 → 갱신 요청도 브레이커 timeout-ms까지만 대기, OPEN이면 ES 호출 없이 바로 대체 응답
+ * - 조회 실패 시 failure-backoff-ms 동안은 재시도하지 않음 → ES 장애 중 요청마다 타임아웃까지 대기하지 않도록
+ * - 실패로 오래된 스냅샷이나 빈 피드를 주는 경우 degraded=true (DegradablePage와 같은 의미)
+ *
+ * 설정
+ *   imgbell.home.section-size=12
+ *   imgbell.home.ranking-size=10
+ *   imgbell.home.carousel-tags=풍경,동물
+ *   imgbell.home.cache-ttl-ms=5000
+ *   imgbell.home.failure-backoff-ms=3000
+ */
+@Slf4j
+@Service
+public class HomeFeedService {
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchTemplate elasticsearchTemplate;
+    private final ImageRankingProfile imageRankingProfile;
+    private final RankingService rankingService;
+    private final SearchCircuitBreaker searchCircuitBreaker;
+
+    private final int sectionSize;
+    private final int rankingSize;
+    private final List<String> carouselTags;
+    private final long cacheTtlMillis;
+    private final long failureBackoffMillis;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    // 마지막 실패 후 재시도 가능 시각 (실패 결과 캐시)
+    private volatile long retryAfter;
+
+    public HomeFeedService(ElasticsearchClient elasticsearchClient,
+                           ElasticsearchTemplate elasticsearchTemplate,
+                           ImageRankingProfile imageRankingProfile,
+                           RankingService rankingService,
+                           SearchCircuitBreaker searchCircuitBreaker,
+                           @Value("${imgbell.home.section-size:12}") int sectionSize,
+                           @Value("${imgbell.home.ranking-size:10}") int rankingSize,
+                           @Value("${imgbell.home.carousel-tags:}") List<String> carouselTags,
+                           @Value("${imgbell.home.cache-ttl-ms:5000}") long cacheTtlMillis,
+                           @Value("${imgbell.home.failure-backoff-ms:3000}") long failureBackoffMillis) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        this.imageRankingProfile = imageRankingProfile;
+        this.rankingService = rankingService;
+        this.searchCircuitBreaker = searchCircuitBreaker;
+        this.sectionSize = sectionSize;
+        this.rankingSize = rankingSize;
+        this.carouselTags = carouselTags.stream().map(String::trim).filter(tag -> !tag.isEmpty()).toList();
+        this.cacheTtlMillis = cacheTtlMillis;
+        this.failureBackoffMillis = failureBackoffMillis;
+    }
+
+    public HomeFeed getHomeFeed() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired(cacheTtlMillis)) {
+            return current.feed();
+        }
+        // 최근 실패했으면 기다리지 않고 이전 값으로 응답
+        if (System.currentTimeMillis() < retryAfter) {
+            return staleOrEmpty(current, true);
+        }
+        // 다른 요청이 갱신 중 - 직전 스냅샷은 정상 결과, 스냅샷이 아직 없으면 빈 피드(degraded)
+        if (!refreshLock.tryLock()) {
+            return staleOrEmpty(current, false);
+        }
+        try {
+            // 락을 얻는 사이 다른 요청이 이미 갱신했으면 그대로 사용
+            current = snapshot;
+            if (current != null && !current.isExpired(cacheTtlMillis)) {
+                return current.feed();
+            }
+            if (System.currentTimeMillis() < retryAfter) {
+                return staleOrEmpty(current, true);
+            }
+            Snapshot previous = current;
+            HomeFeed feed = searchCircuitBreaker.call("home", this::load, () -> staleOrEmpty(previous, true));
+            if (feed.degraded()) {
+                retryAfter = System.currentTimeMillis() + failureBackoffMillis;
+                log.warn("🚨 홈 피드 조회 실패 ({}ms 동안 재시도 안 함)", failureBackoffMillis);
+                return feed;
+            }
+            snapshot = new Snapshot(feed, System.currentTimeMillis());
+            return feed;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // 이전 스냅샷이 있으면 잠시 오래된 값이라도 응답, 없으면 빈 피드 (항상 degraded)
+    private static HomeFeed staleOrEmpty(Snapshot current, boolean degraded) {
+        return current != null ? current.feed().withDegraded(degraded) : HomeFeed.empty();
+    }
+
+    private HomeFeed load() throws Exception {
+        List<RankingService.RankingEntry> ranking = rankingService.getTopImagesWithScores("daily", rankingSize);
+
+        // 섹션 이름 → _msearch 요청 (응답은 요청 순서대로 옴)
+        Map<String, RequestItem> sections = new LinkedHashMap<>();
+        sections.put("popular", section(imageRankingProfile.rankPopularity(publicOnly()),
+                SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc))), sectionSize));
+        sections.put("recent", section(publicOnly(),
+                SortOptions.of(s -> s.field(f -> f.field("createdAt").order(SortOrder.Desc))), sectionSize));
+        for (String tag : carouselTags) {
+            sections.put("tag:" + tag, section(imageRankingProfile.rankPopularity(taggedPublic(tag)),
+                    SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc))), sectionSize));
+        }
+        if (!ranking.isEmpty()) {
+            List<String> rankedIds = ranking.stream().map(entry -> entry.getId().toString()).toList();
+            sections.put("ranking", section(QueryBuilders.bool(b -> b
+                            .filter(f -> f.ids(i -> i.values(rankedIds)))
+                            .filter(f -> f.term(t -> t.field("isPublic").value(true)))),
+                    null, rankedIds.size()));
+        }
+
+        MsearchResponse<ImageDocument> response = elasticsearchClient.msearch(m -> m
+                .searches(new ArrayList<>(sections.values())), ImageDocument.class);
+
+        Map<String, List<ImageListHit>> results = new HashMap<>();
+        List<String> names = new ArrayList<>(sections.keySet());
+        List<MultiSearchResponseItem<ImageDocument>> items = response.responses();
+        for (int i = 0; i < items.size(); i++) {
+            MultiSearchResponseItem<ImageDocument> item = items.get(i);
+            if (item.isFailure()) {
+                log.warn("홈 피드 섹션 조회 실패: section={}, reason={}", names.get(i), item.failure().error().reason());
+                results.put(names.get(i), List.of());
+                continue;
+            }
+            results.put(names.get(i), item.result().hits().hits().stream()
+                    .filter(hit -> hit.source() != null)
+                    .map(HomeFeedService::toListHit)
+                    .toList());
+        }
+
+        Map<String, List<ImageListHit>> tagCarousels = new LinkedHashMap<>();
+        for (String tag : carouselTags) {
+            tagCarousels.put(tag, results.getOrDefault("tag:" + tag, List.of()));
+        }
+        return new HomeFeed(
+                results.getOrDefault("popular", List.of()),
+                results.getOrDefault("recent", List.of()),
+                mergeRanking(ranking, results.getOrDefault("ranking", List.of())),
+                tagCarousels,
+                Instant.now(),
+                false);
+    }
+
+    private RequestItem section(Query query, SortOptions sort, int size) {
+        String index = elasticsearchTemplate.getIndexCoordinatesFor(ImageDocument.class).getIndexName();
+        return RequestItem.of(r -> r
+                .header(h -> h.index(index))
+                .body(b -> {
+                    b.query(query)
+                            .size(size)
+                            .trackTotalHits(t -> t.enabled(false))
+                            .source(src -> src.filter(f -> f.includes(List.of(ImageListHit.SOURCE_INCLUDES))));
+                    if (sort != null) {
+                        b.sort(sort);
+                    }
+                    return b;
+                }));
+    }
+
+    private static Query publicOnly() {
+        return QueryBuilders.bool(b -> b.filter(f -> f.term(t -> t.field("isPublic").value(true))));
+    }
+
+    private static Query taggedPublic(String tag) {
+        return QueryBuilders.bool(b -> b
+                .filter(f -> f.term(t -> t.field("isPublic").value(true)))
+                .filter(f -> f.nested(n -> n
+                        .path("tags")
+                        .query(nq -> nq.term(t -> t.field("tags.name.keyword").value(tag))))));
+    }
+
+    /**
+     * Redis 랭킹 순서 + 점수에 ES 카드 정보 결합 (비공개/삭제된 이미지는 제외)
+     */
+    private static List<RankedImage> mergeRanking(List<RankingService.RankingEntry> ranking, List<ImageListHit> hits) {
+        Map<String, ImageListHit> byId = new HashMap<>();
+        hits.forEach(hit -> byId.put(hit.id(), hit));
+        List<RankedImage> merged = new ArrayList<>();
+        for (RankingService.RankingEntry entry : ranking) {
+            ImageListHit image = byId.get(entry.getId().toString());
+            if (image != null) {
+                merged.add(new RankedImage(merged.size() + 1, entry.getScore(), image));
+            }
+        }
+        return merged;
+    }
+
+    private static ImageListHit toListHit(Hit<ImageDocument> hit) {
+        ImageDocument source = hit.source();
+        return new ImageListHit(hit.id(), source.getImageName(), source.getImageUrl(), source.getViewCount(), source.getLikeCount());
+    }
+
+    private record Snapshot(HomeFeed feed, long loadedAt) {
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt >= ttlMillis;
+        }
+    }
+
+    public record HomeFeed(List<ImageListHit> popular,
+                           List<ImageListHit> recent,
+                           List<RankedImage> ranking,
+                           Map<String, List<ImageListHit>> tagCarousels,
+                           Instant generatedAt,
+                           boolean degraded) {
+
+        static HomeFeed empty() {
+            return new HomeFeed(List.of(), List.of(), List.of(), Map.of(), Instant.now(), true);
+        }
+
+        HomeFeed withDegraded(boolean degraded) {
+            return degraded == this.degraded ? this
+                    : new HomeFeed(popular, recent, ranking, tagCarousels, generatedAt, degraded);
+        }
+    }
+
+    public record RankedImage(int rank, Integer score, ImageListHit image) {
+    }
+}
@@ -0,0 +1,225 @@
+package ImgBell.Image.ElasticSearch;
+
+import ImgBell.GlobalErrorHandler.GlobalException;
+import ImgBell.Redis.RedisService;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📦 ImageDocument 벌크 색인기
+ * 색인/삭제를 모아 _bulk 요청 1회로 전송
+ * - 문서는 Spring Data 컨버터로 변환 → repository.save()와 같은 필드 포맷(날짜 등) 유지
+ * - 삭제/부분 업데이트 대상이 이미 없는 경우(404)는 성공으로 간주
+ * - 재색인 중에는 shadow 인덱스(새 버전 인덱스)에도 같은 요청을 함께 기록 (이중 쓰기)
+ *   shadow 인덱스 이름은 Redis에 두어 모든 노드의 컨슈머가 함께 이중 쓰기하도록 함
+ * - 재색인 중 삭제된 ID는 Redis Set에도 기록 → alias 교체 전에 새 인덱스에 다시 적용
+ *   (적재기가 삭제 전에 읽은 문서를 삭제 뒤에 create하면 404로 통과된 삭제가 되살아나므로)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageBulkIndexer {
+
+    private static final String SHADOW_INDEX_KEY = "search:reindex:shadow-index";
+    private static final String SHADOW_DELETES_KEY = "search:reindex:shadow-deletes";
+    private static final int REAPPLY_BATCH_SIZE = 1000;
+    // 재색인 작업이 비정상 종료돼도 이중 쓰기가 영원히 남지 않도록
+    private static final long SHADOW_INDEX_TTL_HOURS = 6;
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchTemplate elasticsearchTemplate;
+    private final RedisService redisService;
+
+    /**
+     * ImageDocument에 매핑된 인덱스(또는 alias) 이름
+     */
+    public String indexName() {
+        return elasticsearchTemplate.getIndexCoordinatesFor(ImageDocument.class).getIndexName();
+    }
+
+    /**
+     * 라이브 인덱스(alias)에 색인/삭제 - 재색인 중이면 shadow 인덱스에도 함께 기록
+     */
+    public BulkResult bulk(List<ImageDocument> documents, Collection<Long> deleteIds) {
+        List<BulkOperation> operations = new ArrayList<>();
+        addOperations(operations, indexName(), documents, deleteIds, false);
+
+        String shadowIndex = currentShadowIndex();
+        if (shadowIndex != null) {
+            addOperations(operations, shadowIndex, documents, deleteIds, false);
+            recordShadowDeletes(deleteIds);
+        }
+        return execute(operations);
+    }
+
+    public BulkResult bulk(String index, List<ImageDocument> documents, Collection<Long> deleteIds) {
+        List<BulkOperation> operations = new ArrayList<>();
+        addOperations(operations, index, documents, deleteIds, false);
+        return execute(operations);
+    }
+
+    /**
+     * 재색인 적재용 - create(없을 때만 생성)로 기록해서 이중 쓰기로 먼저 들어온 최신 문서를 덮어쓰지 않음
+     */
+    public BulkResult bulkLoad(String index, List<ImageDocument> documents) {
+        List<BulkOperation> operations = new ArrayList<>();
+        addOperations(operations, index, documents, List.of(), true);
+        return execute(operations);
+    }
+
+    /**
+     * 카운터 필드만 부분 업데이트 (_update doc) - 문서 전체를 다시 만들지 않음
+     * 아직 색인되지 않은 문서(404)는 건너뜀 → 다음 전체 동기화 때 카운터도 함께 반영됨
+     */
+    public BulkResult updateCounters(List<CounterUpdate> updates) {
+        List<BulkOperation> operations = new ArrayList<>();
+        addCounterOperations(operations, indexName(), updates);
+
+        String shadowIndex = currentShadowIndex();
+        if (shadowIndex != null) {
+            addCounterOperations(operations, shadowIndex, updates);
+        }
+        return execute(operations);
+    }
+
+    public void startShadowWrites(String index) {
+        redisService.deleteValue(SHADOW_DELETES_KEY);
+        redisService.setValueTracked(SHADOW_INDEX_KEY, index, SHADOW_INDEX_TTL_HOURS, TimeUnit.HOURS);
+    }
+
+    public void stopShadowWrites() {
+        redisService.deleteValue(SHADOW_INDEX_KEY);
+        redisService.deleteValue(SHADOW_DELETES_KEY);
+    }
+
+    /**
+     * 재색인 중 기록된 삭제를 새 인덱스에 다시 적용 (적재 완료 후, alias 교체 전에 호출)
+     * 이후 들어오는 삭제는 이중 쓰기로 새 인덱스에도 바로 반영되고, 적재는 끝났으므로 되살아나지 않음
+     */
+    public BulkResult reapplyShadowDeletes(String index) {
+        int succeeded = 0;
+        List<String> failedIds = new ArrayList<>();
+        List<String> ids;
+        do {
+            ids = redisService.popFromSet(SHADOW_DELETES_KEY, REAPPLY_BATCH_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            BulkResult result = bulk(index, List.of(), ids.stream().map(Long::valueOf).toList());
+            succeeded += result.succeeded();
+            failedIds.addAll(result.failedIds());
+        } while (ids.size() == REAPPLY_BATCH_SIZE);
+        log.info("🗑️ 재색인 중 삭제 재적용: index={}, {}건", index, succeeded + failedIds.size());
+        return new BulkResult(succeeded, failedIds);
+    }
+
+    private void recordShadowDeletes(Collection<Long> deleteIds) {
+        if (deleteIds.isEmpty()) {
+            return;
+        }
+        redisService.addToSet(SHADOW_DELETES_KEY, deleteIds.stream().map(String::valueOf).toArray(String[]::new));
+        redisService.expire(SHADOW_DELETES_KEY, SHADOW_INDEX_TTL_HOURS, TimeUnit.HOURS);
+    }
+
+    private String currentShadowIndex() {
+        return redisService.getValueTracked(SHADOW_INDEX_KEY);
+    }
+
+    private void addOperations(List<BulkOperation> operations, String index,
+                               List<ImageDocument> documents, Collection<Long> deleteIds, boolean createOnly) {
+        for (ImageDocument document : documents) {
+            Document source = elasticsearchTemplate.getElasticsearchConverter().mapObject(document);
+            if (createOnly) {
+                operations.add(BulkOperation.of(op -> op.create(create -> create
+                        .index(index)
+                        .id(document.getId())
+                        .document(source))));
+            } else {
+                operations.add(BulkOperation.of(op -> op.index(idx -> idx
+                        .index(index)
+                        .id(document.getId())
+                        .document(source))));
+            }
+        }
+        for (Long imageId : deleteIds) {
+            operations.add(BulkOperation.of(op -> op.delete(del -> del
+                    .index(index)
+                    .id(imageId.toString()))));
+        }
+    }
+
+    private void addCounterOperations(List<BulkOperation> operations, String index, List<CounterUpdate> updates) {
+        for (CounterUpdate update : updates) {
+            Map<String, Object> partial = Map.of(
+                    "viewCount", update.viewCount(),
+                    "likeCount", update.likeCount(),
+                    "popularityScore", ImageDocument.popularityScore(update.viewCount(), update.likeCount()));
+            operations.add(BulkOperation.of(op -> op.update(u -> u
+                    .index(index)
+                    .id(update.imageId().toString())
+                    .action(a -> a.doc(partial)))));
+        }
+    }
+
+    private BulkResult execute(List<BulkOperation> operations) {
+        if (operations.isEmpty()) {
+            return new BulkResult(0, List.of());
+        }
+        try {
+            BulkResponse response = elasticsearchClient.bulk(BulkRequest.of(b -> b.operations(operations)));
+
+            List<String> failedIds = new ArrayList<>();
+            if (response.errors()) {
+                for (BulkResponseItem item : response.items()) {
+                    // 삭제 대상 없음 / 부분 업데이트 대상 문서 없음
+                    boolean missingTarget = item.status() == 404 && !"index".equals(item.operationType().jsonValue())
+                            && !"create".equals(item.operationType().jsonValue());
+                    // create 충돌 = 이중 쓰기로 이미 최신 문서가 있음
+                    boolean alreadyCreated = item.status() == 409 && "create".equals(item.operationType().jsonValue());
+                    if (item.error() != null && !missingTarget && !alreadyCreated) {
+                        failedIds.add(item.id());
+                        log.warn("❌ 벌크 항목 실패: id={}, reason={}", item.id(), item.error().reason());
+                    }
+                }
+            }
+            int succeeded = operations.size() - failedIds.size();
+            log.info("📦 벌크 색인 완료: 요청 {}건, 성공 {}건, 실패 {}건, took={}ms",
+                    operations.size(), succeeded, failedIds.size(), response.took());
+            return new BulkResult(succeeded, failedIds);
+        } catch (IOException e) {
+            log.error("❌ 벌크 요청 실패: {}건", operations.size(), e);
+            throw new GlobalException("ElasticSearch 벌크 요청 실패", "ELASTICSEARCH_BULK_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 카운터 부분 업데이트 항목
+     */
+    public record CounterUpdate(Long imageId, int viewCount, int likeCount) {
+    }
+
+    /**
+     * 벌크 결과 - 실패한 문서 ID 목록 포함 (재시도 대상)
+     */
+    public record BulkResult(int succeeded, List<String> failedIds) {
+        public boolean hasFailures() {
+            return !failedIds.isEmpty();
+        }
+    }
+}
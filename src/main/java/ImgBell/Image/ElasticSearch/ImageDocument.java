@@ -4,25 +4,39 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.CompletionField;
 import org.springframework.data.elasticsearch.annotations.DateFormat;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
+import org.springframework.data.elasticsearch.annotations.Setting;
+import org.springframework.data.elasticsearch.core.suggest.Completion;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(indexName = "images")
+// 🧩 n-gram / edge n-gram 분석기 정의 (내장 토크나이저만 사용). 변경 시 재색인(POST /api/image/sync/all)으로 반영
+@Setting(settingPath = "elasticsearch/image-settings.json")
 public class ImageDocument {
 
     @Id
     private String id;
 
     // 기본 이미지 정보
-    @Field(type = FieldType.Text, analyzer = "standard")
+    // .ngram: 부분 검색 (2~3gram), .prefix: 접두어 검색 (edge n-gram)
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = {
+                    @InnerField(suffix = "ngram", type = FieldType.Text, analyzer = "ngram_index", searchAnalyzer = "ngram_index"),
+                    @InnerField(suffix = "prefix", type = FieldType.Text, analyzer = "edge_ngram_index", searchAnalyzer = "edge_ngram_search")})
     private String imageName;
 
     @Field(type = FieldType.Keyword)
@@ -35,14 +49,21 @@ public class ImageDocument {
     @Field(type = FieldType.Long)
     private Long uploaderId;
 
-    @Field(type = FieldType.Text, analyzer = "standard")
+    // .keyword 서브필드: 패싯(terms 집계)용
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "keyword", type = FieldType.Keyword, ignoreAbove = 256))
     private String uploaderName;
 
     // 출처 정보
     @Field(type = FieldType.Text, analyzer = "standard")
     private String source;
 
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = {
+                    @InnerField(suffix = "keyword", type = FieldType.Keyword, ignoreAbove = 256),
+                    @InnerField(suffix = "ngram", type = FieldType.Text, analyzer = "ngram_index", searchAnalyzer = "ngram_index")})
     private String artist;
 
     // 통계 정보 (검색 정렬/필터링에 중요)
@@ -71,19 +92,29 @@ public class ImageDocument {
     private List<TagDocument> tags;
 
     // 태그명만 별도로 저장 (빠른 검색용)
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = {
+                    @InnerField(suffix = "ngram", type = FieldType.Text, analyzer = "ngram_index", searchAnalyzer = "ngram_index"),
+                    @InnerField(suffix = "prefix", type = FieldType.Text, analyzer = "edge_ngram_index", searchAnalyzer = "edge_ngram_search")})
     private List<String> tagNames;
 
     // 검색 최적화를 위한 추가 필드들
 
     // 전체 텍스트 검색용 (imageName + artist + tagNames 조합)
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "ngram", type = FieldType.Text, analyzer = "ngram_index", searchAnalyzer = "ngram_index"))
     private String searchText;
 
     // 인기도 점수 (viewCount, likeCount 등을 조합한 점수)
     @Field(type = FieldType.Float)
     private Float popularityScore;
 
+    // 자동완성 제안 (completion 타입 - 이미지명/작가/태그명, 인기도 가중치). 비공개 이미지는 null
+    @CompletionField(maxInputLength = 100)
+    private Completion suggest;
+
 
     // 내부 클래스: 태그 정보
     @Data
@@ -93,7 +124,9 @@ public class ImageDocument {
         @Field(type = FieldType.Long)
         private Long id;
 
-        @Field(type = FieldType.Text, analyzer = "standard")
+        @MultiField(
+                mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+                otherFields = @InnerField(suffix = "keyword", type = FieldType.Keyword, ignoreAbove = 256))
         private String name;
 
         @Field(type = FieldType.Keyword)
@@ -117,13 +150,47 @@ public class ImageDocument {
         this.searchText = sb.toString().trim();
     }
 
+    // 자동완성 제안 생성 헬퍼 메소드 (popularityScore 계산 후 호출)
+    public void buildSuggest() {
+        if (!Boolean.TRUE.equals(isPublic)) {
+            this.suggest = null;
+            return;
+        }
+
+        Set<String> inputs = new LinkedHashSet<>();
+        if (imageName != null && !imageName.isBlank()) {
+            inputs.add(imageName.trim());
+        }
+        if (artist != null && !artist.isBlank()) {
+            inputs.add(artist.trim());
+        }
+        if (tagNames != null) {
+            tagNames.stream()
+                    .filter(tag -> tag != null && !tag.isBlank())
+                    .map(String::trim)
+                    .forEach(inputs::add);
+        }
+        if (inputs.isEmpty()) {
+            this.suggest = null;
+            return;
+        }
+
+        Completion completion = new Completion(inputs.toArray(new String[0]));
+        completion.setWeight(popularityScore != null ? (int) Math.min(Integer.MAX_VALUE, Math.round(popularityScore)) : 0);
+        this.suggest = completion;
+    }
+
     // 인기도 점수 계산 헬퍼 메소드
     public void calculatePopularityScore() {
-        // 가중치를 적용한 인기도 점수 계산
+        this.popularityScore = popularityScore(viewCount, likeCount);
+    }
+
+    // 가중치를 적용한 인기도 점수 (카운터 부분 업데이트에서도 같은 식 사용)
+    public static float popularityScore(Integer viewCount, Integer likeCount) {
         int views = viewCount != null ? viewCount : 0;
         int likes = likeCount != null ? likeCount : 0;
 
-        this.popularityScore = (float) ((views * 0.1) + (likes * 0.3));
+        return (float) ((views * 0.1) + (likes * 0.3));
     }
 
 
@@ -0,0 +1,132 @@
+package ImgBell.Image.ElasticSearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.elasticsearch._types.mapping.TypeMapping;
+import co.elastic.clients.elasticsearch.indices.GetMappingResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 🧩 라이브 인덱스 n-gram 매핑 확인 (분석기 마이그레이션)
+ *
+ * - ImageDocument의 .ngram/.prefix 서브필드는 새로 만든 인덱스에만 적용됨 → 기존 인덱스는 재색인 필요
+ * - 기동 시 alias가 가리키는 인덱스 매핑을 확인해서 smartSearch가 n-gram 쿼리를 쓸지 결정
+ *   (준비 전에는 기존 fuzzy/wildcard 쿼리 유지 - 매핑에 없는 필드를 조회해 결과가 비는 일이 없도록)
+ * - 재색인 alias 교체 직후 ImageReindexService가 refresh() 호출, 준비 전에는 주기적으로 재확인
+ *
+ *   imgbell.search.analyzer-migration.auto-reindex=false  (true면 기동 시 매핑이 낡았을 때 재색인 자동 시작)
+ *   imgbell.search.analyzer-migration.recheck-ms=300000
+ */
+@Slf4j
+@Component
+public class ImageIndexMappingCheck {
+
+    // 매핑 확인 기준: 이 필드들에 ngram 서브필드가 있어야 준비 완료
+    private static final List<String> NGRAM_FIELDS = List.of("imageName", "artist", "tagNames", "searchText");
+    private static final String NGRAM_SUFFIX = "ngram";
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchTemplate elasticsearchTemplate;
+    private final ObjectProvider<ImageReindexService> imageReindexService;
+    private final boolean autoReindex;
+
+    private volatile boolean ngramReady;
+
+    public ImageIndexMappingCheck(ElasticsearchClient elasticsearchClient,
+                                  ElasticsearchTemplate elasticsearchTemplate,
+                                  ObjectProvider<ImageReindexService> imageReindexService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${imgbell.search.analyzer-migration.auto-reindex:false}") boolean autoReindex) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        this.imageReindexService = imageReindexService;
+        this.autoReindex = autoReindex;
+
+        Gauge.builder("imgbell_search_index_ngram_ready", this, check -> check.ngramReady ? 1 : 0)
+                .description("1 when the live image index has the n-gram analyzer subfields")
+                .register(meterRegistry);
+    }
+
+    public boolean isNgramReady() {
+        return ngramReady;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkOnStartup() {
+        // 확인 자체가 실패했으면(ES 미기동 등) 재색인하지 않음 - 매핑이 실제로 낡은 경우에만
+        if (!Boolean.FALSE.equals(check()) || !autoReindex) {
+            return;
+        }
+        log.warn("🧩 n-gram 매핑이 없는 인덱스 - 재색인 자동 시작");
+        try {
+            imageReindexService.getObject().start();
+        } catch (Exception e) {
+            log.warn("재색인 자동 시작 실패: {}", e.getMessage());
+        }
+    }
+
+    // 준비 전에만 주기적으로 재확인 (ES가 기동 시점에 내려가 있었거나 수동 재색인 이후)
+    @Scheduled(fixedDelayString = "${imgbell.search.analyzer-migration.recheck-ms:300000}",
+            initialDelayString = "${imgbell.search.analyzer-migration.recheck-ms:300000}")
+    public void recheck() {
+        if (!ngramReady) {
+            refresh();
+        }
+    }
+
+    /**
+     * alias(또는 인덱스)의 모든 실제 인덱스가 n-gram 서브필드를 가지고 있는지 확인
+     * 확인이 실패하면(일시적인 ES 오류 등) 직전 값을 유지 - 잠깐의 장애로 비싼 fuzzy 쿼리로 돌아가지 않도록
+     */
+    public boolean refresh() {
+        check();
+        return ngramReady;
+    }
+
+    // 매핑 확인 결과, 확인 실패 시 null (ngramReady는 그대로)
+    private Boolean check() {
+        String index = elasticsearchTemplate.getIndexCoordinatesFor(ImageDocument.class).getIndexName();
+        boolean ready;
+        try {
+            GetMappingResponse response = elasticsearchClient.indices().getMapping(g -> g.index(index));
+            ready = !response.result().isEmpty() && response.result().values().stream()
+                    .allMatch(record -> hasNgramFields(record.mappings()));
+        } catch (Exception e) {
+            log.warn("🧩 인덱스 매핑 확인 실패, 이전 상태 유지({}): index={}, {}",
+                    ngramReady ? "준비됨" : "재색인 필요", index, e.getMessage());
+            return null;
+        }
+        if (ready != ngramReady) {
+            log.info("🧩 n-gram 매핑 상태: {} (index={})", ready ? "준비됨" : "재색인 필요", index);
+        }
+        ngramReady = ready;
+        if (!ready) {
+            log.warn("🧩 {} 인덱스에 n-gram 서브필드가 없습니다. 부분 검색은 기존 fuzzy 쿼리로 동작하며, 재색인(POST /api/image/sync/all) 후 전환됩니다.", index);
+        }
+        return ready;
+    }
+
+    private static boolean hasNgramFields(TypeMapping mapping) {
+        if (mapping == null) {
+            return false;
+        }
+        for (String field : NGRAM_FIELDS) {
+            Property property = mapping.properties().get(field);
+            if (property == null || !property.isText() || !property.text().fields().containsKey(NGRAM_SUFFIX)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
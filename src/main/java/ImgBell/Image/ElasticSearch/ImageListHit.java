@@ -0,0 +1,16 @@
+package ImgBell.Image.ElasticSearch;
+
+/**
+ * 🪶 목록 화면용 경량 검색 결과 (썸네일 카드에 필요한 값만)
+ * ES에서도 SOURCE_INCLUDES 필드만 가져오므로 tags/searchText 같은 큰 필드는 전송/파싱하지 않음
+ */
+public record ImageListHit(String id, String imageName, String imageUrl, Integer viewCount, Integer likeCount) {
+
+    // _source includes (id는 hit 메타데이터의 _id로 채워짐)
+    public static final String[] SOURCE_INCLUDES = {"imageName", "imageUrl", "viewCount", "likeCount"};
+
+    public static ImageListHit from(ImageDocument document) {
+        return new ImageListHit(document.getId(), document.getImageName(), document.getImageUrl(),
+                document.getViewCount(), document.getLikeCount());
+    }
+}
@@ -0,0 +1,130 @@
+package ImgBell.Image.ElasticSearch;
+
+import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch._types.query_dsl.FieldValueFactorModifier;
+import co.elastic.clients.elasticsearch._types.query_dsl.FunctionBoostMode;
+import co.elastic.clients.elasticsearch._types.query_dsl.FunctionScore;
+import co.elastic.clients.elasticsearch._types.query_dsl.FunctionScoreMode;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 🏆 검색 랭킹 프로필 (쿼리 시점 function_score)
+ *
+ * - 인기도: viewCount / likeCount에 field_value_factor (ImageStatsPropagator가 갱신하는 실시간 카운터 사용)
+ * - 최신성: createdAt 가우스 감쇠 (offset 이내는 감점 없음, offset+scale 지점에서 decay 배)
+ * - 세 함수는 score-mode(기본 multiply)로 합치고, 검색어 관련도와는 boost-mode(기본 multiply)로 결합
+ *
+ * 가중치/감쇠를 바꿔도 재색인 없이 설정 변경만으로 바로 반영됨
+ *   imgbell.search.ranking.view-factor=0.1
+ *   imgbell.search.ranking.like-factor=0.3
+ *   imgbell.search.ranking.modifier=ln2p
+ *   imgbell.search.ranking.recency-scale=30d
+ *   imgbell.search.ranking.recency-offset=1d
+ *   imgbell.search.ranking.recency-decay=0.5
+ *   imgbell.search.ranking.score-mode=multiply
+ *   imgbell.search.ranking.boost-mode=multiply
+ *
+ * 최신성 기준 시각은 기본 "now" - 커서 조회는 첫 페이지 시각을 고정해서 넘김 (페이지마다 점수가 달라지지 않도록)
+ */
+@Slf4j
+@Component
+public class ImageRankingProfile {
+
+    // createdAt 매핑 형식(date_hour_minute_second_millis)과 같은 형식, ES의 "now"처럼 UTC 기준
+    private static final DateTimeFormatter ORIGIN_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS").withZone(ZoneOffset.UTC);
+
+    private final double viewFactor;
+    private final double likeFactor;
+    private final FieldValueFactorModifier modifier;
+    private final String recencyScale;
+    private final String recencyOffset;
+    private final double recencyDecay;
+    private final FunctionScoreMode scoreMode;
+    private final FunctionBoostMode boostMode;
+
+    public ImageRankingProfile(@Value("${imgbell.search.ranking.view-factor:0.1}") double viewFactor,
+                               @Value("${imgbell.search.ranking.like-factor:0.3}") double likeFactor,
+                               @Value("${imgbell.search.ranking.modifier:ln2p}") String modifier,
+                               @Value("${imgbell.search.ranking.recency-scale:30d}") String recencyScale,
+                               @Value("${imgbell.search.ranking.recency-offset:1d}") String recencyOffset,
+                               @Value("${imgbell.search.ranking.recency-decay:0.5}") double recencyDecay,
+                               @Value("${imgbell.search.ranking.score-mode:multiply}") String scoreMode,
+                               @Value("${imgbell.search.ranking.boost-mode:multiply}") String boostMode) {
+        this.viewFactor = viewFactor;
+        this.likeFactor = likeFactor;
+        this.modifier = FieldValueFactorModifier.valueOf(enumName(modifier));
+        this.recencyScale = recencyScale;
+        this.recencyOffset = recencyOffset;
+        this.recencyDecay = recencyDecay;
+        this.scoreMode = FunctionScoreMode.valueOf(enumName(scoreMode));
+        this.boostMode = FunctionBoostMode.valueOf(enumName(boostMode));
+        log.info("🏆 검색 랭킹 프로필: views×{}, likes×{} ({}), 최신성 gauss(scale={}, offset={}, decay={}), score={}, boost={}",
+                viewFactor, likeFactor, modifier, recencyScale, recencyOffset, recencyDecay, scoreMode, boostMode);
+    }
+
+    /**
+     * 검색어 관련도 × 인기도 × 최신성 (smartSearch)
+     */
+    public Query rankRelevance(Query query) {
+        return functionScore(query, boostMode, "now");
+    }
+
+    /**
+     * 인기도 × 최신성만으로 순위 (필터만 있는 목록 - getPopularImages)
+     */
+    public Query rankPopularity(Query filter) {
+        return functionScore(filter, FunctionBoostMode.Replace, "now");
+    }
+
+    /**
+     * 인기도 × 최신성, 최신성 기준 시각 고정 (getPopularImagesAfter - 커서에 담긴 첫 페이지 시각)
+     * "now"를 쓰면 페이지 사이에 점수가 줄어 search_after 경계에서 중복/누락이 생김
+     */
+    public Query rankPopularity(Query filter, long originEpochMillis) {
+        return functionScore(filter, FunctionBoostMode.Replace, ORIGIN_FORMAT.format(Instant.ofEpochMilli(originEpochMillis)));
+    }
+
+    private Query functionScore(Query query, FunctionBoostMode mode, String origin) {
+        return Query.of(q -> q.functionScore(fs -> fs
+                .query(query)
+                .functions(functions(origin))
+                .scoreMode(scoreMode)
+                .boostMode(mode)));
+    }
+
+    private List<FunctionScore> functions(String origin) {
+        return List.of(
+                FunctionScore.of(f -> f.fieldValueFactor(v -> v
+                        .field("viewCount")
+                        .factor(viewFactor)
+                        .modifier(modifier)
+                        .missing(0.0))),
+                FunctionScore.of(f -> f.fieldValueFactor(v -> v
+                        .field("likeCount")
+                        .factor(likeFactor)
+                        .modifier(modifier)
+                        .missing(0.0))),
+                FunctionScore.of(f -> f.gauss(g -> g.date(d -> d
+                        .field("createdAt")
+                        .placement(p -> p
+                                .origin(origin)
+                                .scale(Time.of(t -> t.time(recencyScale)))
+                                .offset(Time.of(t -> t.time(recencyOffset)))
+                                .decay(recencyDecay))))));
+    }
+
+    // "ln2p" → Ln2p, "multiply" → Multiply (ES 클라이언트 enum 상수 이름)
+    private static String enumName(String value) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        return Character.toUpperCase(trimmed.charAt(0)) + trimmed.substring(1);
+    }
+}
@@ -0,0 +1,320 @@
+package ImgBell.Image.ElasticSearch;
+
+import ImgBell.GlobalErrorHandler.GlobalException;
+import ImgBell.Image.Image;
+import ImgBell.Image.ImageRepository;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🔁 무중단 전체 재색인
+ *
+ * 1. 새 버전 인덱스(images_v{시각}) 생성 - replicas 0, refresh 비활성화
+ * 2. 작업 중 라이브 변경은 ImageBulkIndexer가 새 인덱스에도 이중 쓰기
+ * 3. DB를 ID 구간별로 나눠 병렬 keyset 조회 → fork-join 풀에서 문서 변환 → create 벌크 적재
+ * 4. 작업 중 삭제된 ID를 새 인덱스에 다시 적용 (적재기가 삭제 전에 읽은 문서를 되살리지 않도록)
+ *    replicas/refresh 복구 후 refresh
+ * 5. 읽기 alias를 새 인덱스로 원자적 교체, 이전 인덱스 삭제
+ *
+ * 교체 전까지 검색은 기존 인덱스로 계속 응답하므로 "검색 결과 0건" 구간이 없음
+ */
+@Slf4j
+@Service
+public class ImageReindexService {
+
+    public enum State { IDLE, RUNNING, COMPLETED, FAILED }
+
+    private final ImageRepository imageRepository;
+    private final ImageSyncService imageSyncService;
+    private final ImageBulkIndexer imageBulkIndexer;
+    private final ElasticsearchTemplate elasticsearchTemplate;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ImageSearchResultCache imageSearchResultCache;
+    private final ImageIndexMappingCheck imageIndexMappingCheck;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final int parallelism;
+    private final int batchSize;
+    private final String replicas;
+
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "image-reindex"));
+
+    // 진행 상황 (한 번에 하나의 작업만 실행)
+    private volatile State state = State.IDLE;
+    private volatile String targetIndex;
+    private volatile String error;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile long totalEstimate;
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public ImageReindexService(ImageRepository imageRepository,
+                               ImageSyncService imageSyncService,
+                               ImageBulkIndexer imageBulkIndexer,
+                               ElasticsearchTemplate elasticsearchTemplate,
+                               ElasticsearchClient elasticsearchClient,
+                               ImageSearchResultCache imageSearchResultCache,
+                               ImageIndexMappingCheck imageIndexMappingCheck,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${imgbell.reindex.parallelism:4}") int parallelism,
+                               @Value("${imgbell.reindex.batch-size:1000}") int batchSize,
+                               @Value("${imgbell.reindex.replicas:1}") String replicas) {
+        this.imageRepository = imageRepository;
+        this.imageSyncService = imageSyncService;
+        this.imageBulkIndexer = imageBulkIndexer;
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        this.elasticsearchClient = elasticsearchClient;
+        this.imageSearchResultCache = imageSearchResultCache;
+        this.imageIndexMappingCheck = imageIndexMappingCheck;
+        this.parallelism = Math.max(1, parallelism);
+        this.batchSize = Math.max(1, batchSize);
+        this.replicas = replicas;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("imgbell_reindex_indexed_docs", indexed, AtomicLong::get)
+                .description("Documents written by the current or last reindex job")
+                .register(meterRegistry);
+        Gauge.builder("imgbell_reindex_docs_per_second", this, ImageReindexService::docsPerSecond)
+                .description("Throughput of the current or last reindex job")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 재색인 시작 (비동기) - 이미 실행 중이면 409
+     */
+    public synchronized ReindexStatus start() {
+        if (state == State.RUNNING) {
+            throw new GlobalException("이미 재색인이 진행 중입니다", "REINDEX_ALREADY_RUNNING", HttpStatus.CONFLICT);
+        }
+        String alias = imageBulkIndexer.indexName();
+        targetIndex = alias + "_v" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        state = State.RUNNING;
+        error = null;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        startNanos = System.nanoTime();
+        endNanos = 0;
+        indexed.set(0);
+        failed.set(0);
+        totalEstimate = imageRepository.count();
+
+        String index = targetIndex;
+        jobExecutor.submit(() -> run(alias, index));
+        return status();
+    }
+
+    public ReindexStatus status() {
+        long elapsedMs = elapsedNanos() / 1_000_000;
+        long done = indexed.get();
+        double percent = totalEstimate == 0 ? (state == State.COMPLETED ? 100.0 : 0.0)
+                : Math.min(100.0, done * 100.0 / totalEstimate);
+        return new ReindexStatus(state, targetIndex, totalEstimate, done, failed.get(),
+                percent, elapsedMs, docsPerSecond(), startedAt, finishedAt, error);
+    }
+
+    private void run(String alias, String index) {
+        ForkJoinPool conversionPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> new Thread(r, "image-reindex-worker"));
+        try {
+            log.info("🔁 재색인 시작: alias={}, target={}, 예상 {}건", alias, index, totalEstimate);
+            createTargetIndex(index);
+            imageBulkIndexer.startShadowWrites(index);
+
+            Long minId = imageRepository.findMinId();
+            Long maxId = imageRepository.findMaxId();
+            if (minId != null && maxId != null) {
+                List<CompletableFuture<Void>> futures = new ArrayList<>();
+                for (long[] range : splitRanges(minId - 1, maxId, parallelism)) {
+                    futures.add(CompletableFuture.runAsync(
+                            () -> loadRange(index, range[0], range[1], conversionPool), workers));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            }
+
+            if (failed.get() > 0) {
+                throw new IllegalStateException("색인 실패 문서 " + failed.get() + "건 - alias 교체 중단");
+            }
+            if (imageBulkIndexer.reapplyShadowDeletes(index).hasFailures()) {
+                throw new IllegalStateException("재색인 중 삭제된 문서 재적용 실패 - alias 교체 중단");
+            }
+
+            restoreIndexSettings(index);
+            swapAlias(alias, index);
+            imageBulkIndexer.stopShadowWrites();
+            imageSearchResultCache.bumpGeneration();
+            // 새 인덱스 매핑(분석기 등) 기준으로 검색 쿼리 전환
+            imageIndexMappingCheck.refresh();
+
+            state = State.COMPLETED;
+            log.info("🎉 재색인 완료: {}건, {}ms, {}/s", indexed.get(), elapsedNanos() / 1_000_000, Math.round(docsPerSecond()));
+        } catch (Exception e) {
+            log.error("❌ 재색인 실패: target={}", index, e);
+            imageBulkIndexer.stopShadowWrites();
+            deleteQuietly(index);
+            error = e.getMessage();
+            state = State.FAILED;
+        } finally {
+            endNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            workers.shutdown();
+            conversionPool.shutdown();
+        }
+    }
+
+    /**
+     * (fromExclusive, toInclusive] 구간을 keyset으로 순회하며 적재
+     */
+    private void loadRange(String index, long fromExclusive, long toInclusive, ForkJoinPool conversionPool) {
+        long afterId = fromExclusive;
+        while (true) {
+            List<Long> ids = imageRepository.findIdsInRange(afterId, toInclusive, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return;
+            }
+            List<ImageDocument> documents = readOnlyTransaction.execute(status -> {
+                List<Image> images = imageRepository.findAllWithTagsByIdIn(ids);
+                // 태그/업로더는 fetch join으로 이미 로딩됨 → 변환은 CPU 작업만 남음
+                return conversionPool.submit(() -> images.parallelStream()
+                        .map(imageSyncService::convertToDocument)
+                        .toList()).join();
+            });
+
+            ImageBulkIndexer.BulkResult result = imageBulkIndexer.bulkLoad(index, documents);
+            indexed.addAndGet(result.succeeded());
+            failed.addAndGet(result.failedIds().size());
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    static List<long[]> splitRanges(long fromExclusive, long toInclusive, int parts) {
+        List<long[]> ranges = new ArrayList<>();
+        long span = toInclusive - fromExclusive;
+        long step = Math.max(1, (span + parts - 1) / parts);
+        for (long start = fromExclusive; start < toInclusive; start += step) {
+            ranges.add(new long[]{start, Math.min(start + step, toInclusive)});
+        }
+        return ranges;
+    }
+
+    private void createTargetIndex(String index) {
+        IndexOperations templateOps = elasticsearchTemplate.indexOps(ImageDocument.class);
+        Settings settings = templateOps.createSettings().flatten();
+        // 적재 중에는 복제/refresh 비용 제거
+        settings.put("index.number_of_replicas", "0");
+        settings.put("index.refresh_interval", "-1");
+
+        IndexOperations targetOps = elasticsearchTemplate.indexOps(IndexCoordinates.of(index));
+        targetOps.create(settings, templateOps.createMapping());
+    }
+
+    private void restoreIndexSettings(String index) throws IOException {
+        elasticsearchClient.indices().putSettings(p -> p
+                .index(index)
+                .settings(s -> s
+                        .numberOfReplicas(replicas)
+                        .refreshInterval(t -> t.time("1s"))));
+        elasticsearchClient.indices().refresh(r -> r.index(index));
+    }
+
+    /**
+     * 읽기 alias 원자적 교체
+     * - 첫 실행: Spring Data가 만든 실제 인덱스 "images"를 remove_index로 지우면서 같은 이름의 alias 추가
+     * - 이후: 기존 인덱스에서 alias 제거 + 새 인덱스에 추가, 이전 인덱스 삭제
+     */
+    private void swapAlias(String alias, String index) throws IOException {
+        List<Action> actions = new ArrayList<>();
+        List<String> oldIndices = new ArrayList<>();
+
+        boolean aliasExists = elasticsearchClient.indices().existsAlias(e -> e.name(alias)).value();
+        if (aliasExists) {
+            oldIndices.addAll(elasticsearchClient.indices().getAlias(g -> g.name(alias)).result().keySet());
+            for (String oldIndex : oldIndices) {
+                actions.add(Action.of(a -> a.remove(r -> r.index(oldIndex).alias(alias))));
+            }
+        } else if (elasticsearchClient.indices().exists(e -> e.index(alias)).value()) {
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(alias))));
+        }
+        actions.add(Action.of(a -> a.add(add -> add.index(index).alias(alias))));
+
+        elasticsearchClient.indices().updateAliases(u -> u.actions(actions));
+        log.info("🔀 alias 교체 완료: {} → {}", alias, index);
+
+        for (String oldIndex : oldIndices) {
+            if (!oldIndex.equals(index)) {
+                deleteQuietly(oldIndex);
+            }
+        }
+    }
+
+    private void deleteQuietly(String index) {
+        try {
+            elasticsearchClient.indices().delete(d -> d.index(index).ignoreUnavailable(true));
+        } catch (Exception e) {
+            log.warn("인덱스 삭제 실패: {}, {}", index, e.getMessage());
+        }
+    }
+
+    private long elapsedNanos() {
+        if (startNanos == 0) {
+            return 0;
+        }
+        return (endNanos != 0 ? endNanos : System.nanoTime()) - startNanos;
+    }
+
+    private double docsPerSecond() {
+        long elapsed = elapsedNanos();
+        return elapsed == 0 ? 0.0 : indexed.get() / (elapsed / 1_000_000_000.0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * 재색인 진행 상황
+     */
+    public record ReindexStatus(State state,
+                                String targetIndex,
+                                long totalEstimate,
+                                long indexed,
+                                long failed,
+                                double percent,
+                                long elapsedMs,
+                                double docsPerSecond,
+                                LocalDateTime startedAt,
+                                LocalDateTime finishedAt,
+                                String error) {
+    }
+}
@@ -11,7 +11,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @RestController
@@ -21,6 +24,16 @@ import java.util.List;
 public class ImageSearchController {
     
     private final ImageSearchService imageSearchService;
+    private final HomeFeedService homeFeedService;
+
+    @Operation(
+        summary = "홈 피드",
+        description = "메인 화면의 인기/최신/일간 랭킹/태그 캐러셀을 한 번에 반환합니다. 수 초간 캐시된 결과를 공유합니다."
+    )
+    @GetMapping("/home")
+    public ResponseEntity<HomeFeedService.HomeFeed> getHomeFeed() {
+        return ResponseEntity.ok(homeFeedService.getHomeFeed());
+    }
 
     @Operation(
         summary = "스마트 이미지 검색",
@@ -31,7 +44,7 @@ public class ImageSearchController {
         @ApiResponse(responseCode = "400", description = "잘못된 요청")
     })
     @GetMapping("/smart")
-    public ResponseEntity<Page<ImageDocument>> smartSearch(
+    public ResponseEntity<Page<ImageListHit>> smartSearch(
         @Parameter(description = "검색 키워드", required = true, example = "자연")
         @RequestParam String keyword,
         
@@ -50,16 +63,53 @@ public class ImageSearchController {
         log.info("🔍 스마트 검색 요청: keyword={}, grade={}, public={}, page={}, size={}", 
                 keyword, imageGrade, isPublic, page, size);
         
-        Page<ImageDocument> results = imageSearchService.smartSearch(keyword, imageGrade, isPublic, page, size);
+        Page<ImageListHit> results = imageSearchService.smartSearch(keyword, imageGrade, isPublic, page, size);
         return ResponseEntity.ok(results);
     }
 
+    @Operation(
+        summary = "스마트 이미지 검색 + 패싯",
+        description = "스마트 검색 결과와 함께 태그/등급/작가/업로더별 건수를 한 번의 요청으로 반환합니다. size=0이면 패싯만 조회합니다."
+    )
+    @GetMapping("/smart/facets")
+    public ResponseEntity<FacetedSearchResponse> smartSearchWithFacets(
+        @Parameter(description = "검색 키워드", required = true, example = "자연")
+        @RequestParam String keyword,
+
+        @Parameter(description = "이미지 등급 필터", example = "GENERAL")
+        @RequestParam(required = false) String imageGrade,
+
+        @Parameter(description = "공개 이미지만 조회", example = "true")
+        @RequestParam(required = false) Boolean isPublic,
+
+        @Parameter(description = "집계할 패싯 (tags, grade, artist, uploader)", example = "tags,grade")
+        @RequestParam(defaultValue = "tags,grade,artist") List<String> facets,
+
+        @Parameter(description = "패싯별 버킷 수 (최대 50)", example = "10")
+        @RequestParam(defaultValue = "10") int facetSize,
+
+        @Parameter(description = "페이지 번호 (0부터 시작)", example = "0")
+        @RequestParam(defaultValue = "0") int page,
+
+        @Parameter(description = "페이지 크기 (0이면 패싯만)", example = "20")
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        log.info("🧮 패싯 검색 요청: keyword={}, facets={}, page={}, size={}", keyword, facets, page, size);
+
+        Set<SearchFacet> requested = facets.stream()
+                .map(SearchFacet::of)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(SearchFacet.class)));
+        FacetedSearchResponse response = imageSearchService.smartSearchWithFacets(
+                keyword, imageGrade, isPublic, page, Math.max(0, size), requested, Math.max(1, Math.min(facetSize, 50)));
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
         summary = "태그 기반 검색",
         description = "하나 이상의 태그명으로 이미지 검색. 페이지네이션 지원"
     )
     @PostMapping("/tags")
-    public ResponseEntity<Page<ImageDocument>> searchByTags(
+    public ResponseEntity<Page<ImageListHit>> searchByTags(
         @Parameter(description = "검색할 태그명 리스트", required = true)
         @RequestBody List<String> tagNames,
         
@@ -71,16 +121,34 @@ public class ImageSearchController {
     ) {
         log.info("🏷️ 태그 검색 요청: tags={}, page={}, size={}", tagNames, page, size);
         
-        Page<ImageDocument> results = imageSearchService.searchByTags(tagNames, page, size);
+        Page<ImageListHit> results = imageSearchService.searchByTags(tagNames, page, size);
         return ResponseEntity.ok(results);
     }
 
+    @Operation(
+        summary = "태그 기반 검색 (커서)",
+        description = "무한 스크롤용 커서 방식 태그 검색. 응답의 nextCursor를 다음 요청의 cursor로 전달합니다. 깊이와 상관없이 요청 비용이 같습니다."
+    )
+    @PostMapping("/tags/cursor")
+    public ResponseEntity<CursorPage<ImageListHit>> searchByTagsAfter(
+        @Parameter(description = "검색할 태그명 리스트", required = true)
+        @RequestBody List<String> tagNames,
+
+        @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(imageSearchService.searchByTagsAfter(tagNames, cursor, size));
+    }
+
     @Operation(
         summary = "인기 이미지 조회",
         description = "인기도 점수 기준으로 정렬된 이미지 목록. 페이지네이션 지원"
     )
     @GetMapping("/popular")
-    public ResponseEntity<Page<ImageDocument>> getPopularImages(
+    public ResponseEntity<Page<ImageListHit>> getPopularImages(
         @Parameter(description = "페이지 번호 (0부터 시작)", example = "0")
         @RequestParam(defaultValue = "0") int page,
         
@@ -89,16 +157,31 @@ public class ImageSearchController {
     ) {
         log.info("🔥 인기 이미지 요청: page={}, size={}", page, size);
         
-        Page<ImageDocument> results = imageSearchService.getPopularImages(page, size);
+        Page<ImageListHit> results = imageSearchService.getPopularImages(page, size);
         return ResponseEntity.ok(results);
     }
 
+    @Operation(
+        summary = "인기 이미지 조회 (커서)",
+        description = "무한 스크롤용 커서 방식 인기 이미지 목록. 응답의 nextCursor를 다음 요청의 cursor로 전달합니다."
+    )
+    @GetMapping("/popular/cursor")
+    public ResponseEntity<CursorPage<ImageListHit>> getPopularImagesAfter(
+        @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "페이지 크기 (최대 100)", example = "10")
+        @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(imageSearchService.getPopularImagesAfter(cursor, size));
+    }
+
     @Operation(
         summary = "최신 이미지 조회",
         description = "최근 업로드된 이미지 목록. 페이지네이션 지원"
     )
     @GetMapping("/recent")
-    public ResponseEntity<Page<ImageDocument>> getRecentImages(
+    public ResponseEntity<Page<ImageListHit>> getRecentImages(
         @Parameter(description = "페이지 번호 (0부터 시작)", example = "0")
         @RequestParam(defaultValue = "0") int page,
         
@@ -107,16 +190,31 @@ public class ImageSearchController {
     ) {
         log.info("🆕 최신 이미지 요청: page={}, size={}", page, size);
         
-        Page<ImageDocument> results = imageSearchService.getRecentImages(page, size);
+        Page<ImageListHit> results = imageSearchService.getRecentImages(page, size);
         return ResponseEntity.ok(results);
     }
 
+    @Operation(
+        summary = "최신 이미지 조회 (커서)",
+        description = "무한 스크롤용 커서 방식 최신 이미지 목록. 응답의 nextCursor를 다음 요청의 cursor로 전달합니다."
+    )
+    @GetMapping("/recent/cursor")
+    public ResponseEntity<CursorPage<ImageListHit>> getRecentImagesAfter(
+        @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "페이지 크기 (최대 100)", example = "10")
+        @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(imageSearchService.getRecentImagesAfter(cursor, size));
+    }
+
     @Operation(
         summary = "업로더별 이미지 검색",
         description = "특정 업로더가 업로드한 이미지 목록. 페이지네이션 지원"
     )
     @GetMapping("/uploader/{uploaderId}")
-    public ResponseEntity<Page<ImageDocument>> searchByUploader(
+    public ResponseEntity<Page<ImageListHit>> searchByUploader(
         @Parameter(description = "업로더 ID", required = true, example = "1")
         @PathVariable Long uploaderId,
         
@@ -128,13 +226,31 @@ public class ImageSearchController {
     ) {
         log.info("👤 업로더별 검색 요청: uploaderId={}, page={}, size={}", uploaderId, page, size);
         
-        Page<ImageDocument> results = imageSearchService.searchByUploader(uploaderId, page, size);
+        Page<ImageListHit> results = imageSearchService.searchByUploader(uploaderId, page, size);
         return ResponseEntity.ok(results);
     }
 
+    @Operation(
+        summary = "업로더별 이미지 검색 (커서)",
+        description = "무한 스크롤용 커서 방식 업로더별 이미지 목록. 응답의 nextCursor를 다음 요청의 cursor로 전달합니다."
+    )
+    @GetMapping("/uploader/{uploaderId}/cursor")
+    public ResponseEntity<CursorPage<ImageListHit>> searchByUploaderAfter(
+        @Parameter(description = "업로더 ID", required = true, example = "1")
+        @PathVariable Long uploaderId,
+
+        @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(imageSearchService.searchByUploaderAfter(uploaderId, cursor, size));
+    }
+
     @Operation(
         summary = "자동완성",
-        description = "이미지명 기반 자동완성 제안"
+        description = "이미지명, 작가명, 태그명 자동완성 제안 (인기도 순, 중복 제거)"
     )
     @GetMapping("/autocomplete")
     public ResponseEntity<List<String>> autoComplete(
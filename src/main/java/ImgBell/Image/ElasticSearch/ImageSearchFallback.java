@@ -0,0 +1,122 @@
+package ImgBell.Image.ElasticSearch;
+
+import ImgBell.Image.Image;
+import ImgBell.Image.ImageRepository;
+import ImgBell.Image.ImageSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 🧯 ES 장애 시 DB 대체 검색 (SearchCircuitBreaker fallback)
+ *
+ * - ImageSpecification 조건으로 같은 의미의 목록을 DB에서 조회 (관련도 점수 대신 조회수/최신순)
+ * - DB까지 장애가 번지지 않도록
+ *   · 페이지 크기(max-size)와 조회 깊이(max-offset) 제한 - 제한을 넘는 깊은 페이지는 빈 결과
+ *   · 동시 실행 수(max-concurrent) 제한 - 자리가 없으면 기다리지 않고 빈 결과 (차단기가 열린 동안 모든 검색이 여기로 몰림)
+ *   · COUNT 쿼리 없음 - LIKE 조건의 전체 건수 집계가 가장 비쌈. size+1건만 읽어 다음 페이지 유무만 판단하고
+ *     totalElements는 "지금까지 + 다음 페이지 있으면 1"인 하한값
+ *
+ *   imgbell.search.fallback.max-size=50
+ *   imgbell.search.fallback.max-offset=500
+ *   imgbell.search.fallback.max-concurrent=8
+ */
+@Slf4j
+@Component
+public class ImageSearchFallback {
+
+    private static final Sort POPULAR_SORT = Sort.by(Sort.Direction.DESC, "viewCount").and(Sort.by(Sort.Direction.DESC, "likeCount"));
+    private static final Sort RECENT_SORT = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private final ImageRepository imageRepository;
+    private final int maxSize;
+    private final int maxOffset;
+    private final Semaphore permits;
+
+    public ImageSearchFallback(ImageRepository imageRepository,
+                               @Value("${imgbell.search.fallback.max-size:50}") int maxSize,
+                               @Value("${imgbell.search.fallback.max-offset:500}") int maxOffset,
+                               @Value("${imgbell.search.fallback.max-concurrent:8}") int maxConcurrent) {
+        this.imageRepository = imageRepository;
+        this.maxSize = maxSize;
+        this.maxOffset = maxOffset;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    public Page<ImageListHit> smartSearch(String keyword, String imageGrade, Boolean isPublic, int page, int size) {
+        Specification<Image> spec = Specification.where(ImageSpecification.searchAll(keyword))
+                .and(ImageSpecification.hasGrade(imageGrade));
+        if (Boolean.TRUE.equals(isPublic)) {
+            spec = spec.and(ImageSpecification.isPublic());
+        }
+        return find("smart", spec, page, size, POPULAR_SORT);
+    }
+
+    public Page<ImageListHit> searchByTags(List<String> tagNames, int page, int size) {
+        Specification<Image> spec = Specification.where(ImageSpecification.isPublic())
+                .and(ImageSpecification.hasAnyTag(tagNames));
+        return find("tags", spec, page, size, POPULAR_SORT);
+    }
+
+    public Page<ImageListHit> popular(int page, int size) {
+        return find("popular", ImageSpecification.isPublic(), page, size, POPULAR_SORT);
+    }
+
+    public Page<ImageListHit> recent(int page, int size) {
+        return find("recent", ImageSpecification.isPublic(), page, size, RECENT_SORT);
+    }
+
+    public Page<ImageListHit> searchByUploader(Long uploaderId, int page, int size) {
+        Specification<Image> spec = Specification.where(ImageSpecification.isPublic())
+                .and(ImageSpecification.hasUploaderId(uploaderId));
+        return find("uploader", spec, page, size, RECENT_SORT);
+    }
+
+    private Page<ImageListHit> find(String operation, Specification<Image> spec, int page, int size, Sort sort) {
+        int boundedSize = Math.max(1, Math.min(size, maxSize));
+        Pageable pageable = PageRequest.of(Math.max(0, page), boundedSize, sort);
+        if (pageable.getOffset() >= maxOffset) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        if (!permits.tryAcquire()) {
+            log.warn("🧯 DB 대체 검색 동시 실행 상한 → 빈 결과: operation={}", operation);
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        try {
+            // offset 스크롤: size+1건만 조회해서 다음 페이지 유무 판단 (COUNT 쿼리 없음)
+            Window<Image> window = imageRepository.findBy(spec, query -> query.sortBy(sort)
+                    .limit(boundedSize)
+                    .scroll(positionAt(pageable.getOffset())));
+            List<ImageListHit> content = window.getContent().stream().map(ImageSearchFallback::toListHit).toList();
+            log.info("🧯 DB 대체 검색: operation={}, {} 개 결과", operation, content.size());
+            long total = pageable.getOffset() + content.size() + (window.hasNext() ? 1 : 0);
+            return new PageImpl<>(content, pageable, total);
+        } catch (Exception e) {
+            log.error("🚨 DB 대체 검색 실패: operation={}", operation, e);
+            return new PageImpl<>(List.of(), pageable, 0);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // OffsetScrollPosition.offset(n)은 n번째 "다음" 행부터 → offset개를 건너뛰려면 offset - 1 (0이면 처음부터)
+    private static ScrollPosition positionAt(long offset) {
+        return offset == 0 ? ScrollPosition.offset() : ScrollPosition.offset(offset - 1);
+    }
+
+    private static ImageListHit toListHit(Image image) {
+        return new ImageListHit(image.getId().toString(), image.getImageName(), image.getImageUrl(),
+                image.getViewCount(), image.getLikeCount());
+    }
+}
@@ -0,0 +1,166 @@
+package ImgBell.Image.ElasticSearch;
+
+import ImgBell.Redis.RedisService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🗂️ 검색 결과 캐시 (smartSearch)
+ *
+ * - 키: 정규화한 (keyword, grade, isPublic, page, size) + 인덱스 세대
+ * - 값: 결과 문서 ID 목록 + 전체 건수만 저장 → 조회 시 ID로 한 번에 mget (문서 본문은 항상 최신)
+ * - 색인 변경(sync 배치, alias 교체) 시 세대 번호를 올려 이전 결과를 한 번에 무효화 (키 삭제 없이 TTL로 소멸)
+ * - TTL은 짧게 (조회수/좋아요 변동에 따른 정렬 차이는 TTL 동안만 허용)
+ *
+ * 세대 키(search:index:generation)는 읽기가 매우 잦으므로
+ * imgbell.redis.tracking.prefixes 에 search:index: 를 넣으면 로컬 캐시에서 응답
+ */
+@Slf4j
+@Component
+public class ImageSearchResultCache {
+
+    public static final String GENERATION_KEY = "search:index:generation";
+    private static final String RESULT_KEY_PREFIX = "search:result:";
+
+    private final RedisService redisService;
+    private final boolean enabled;
+    private final long ttlSeconds;
+    private final int maxPage;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ImageSearchResultCache(RedisService redisService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${imgbell.search.cache.enabled:true}") boolean enabled,
+                                  @Value("${imgbell.search.cache.ttl-seconds:30}") long ttlSeconds,
+                                  @Value("${imgbell.search.cache.max-page:4}") int maxPage) {
+        this.redisService = redisService;
+        this.enabled = enabled;
+        this.ttlSeconds = ttlSeconds;
+        this.maxPage = maxPage;
+
+        this.hitCounter = Counter.builder("imgbell_search_cache_requests_total")
+                .description("smartSearch result cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("imgbell_search_cache_requests_total")
+                .description("smartSearch result cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        // 히트 1건 = ES 검색 쿼리 1건 절감 (mget으로 대체)
+        FunctionCounter.builder("imgbell_search_es_queries_saved_total", hitCounter, Counter::count)
+                .description("Elasticsearch search queries avoided by the result cache")
+                .register(meterRegistry);
+        Gauge.builder("imgbell_search_cache_hit_ratio", this, cache -> cache.stats().hitRatio())
+                .description("smartSearch result cache hit ratio since startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 대상 여부 - 앞쪽 몇 페이지만 캐시 (깊은 페이지는 재사용률이 낮음)
+     */
+    public boolean isCacheable(int page) {
+        return enabled && page < maxPage;
+    }
+
+    public CachedIds get(String key) {
+        try {
+            CachedIds cached = redisService.getCompact(key, CachedIds.class);
+            (cached != null ? hitCounter : missCounter).increment();
+            return cached;
+        } catch (Exception e) {
+            log.warn("검색 결과 캐시 조회 실패: {}", e.getMessage());
+            missCounter.increment();
+            return null;
+        }
+    }
+
+    public void put(String key, List<String> ids, long totalHits) {
+        try {
+            redisService.setCompact(key, new CachedIds(ids, totalHits), ttlSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("검색 결과 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 정규화된 검색 조건 + 현재 세대로 캐시 키 생성
+     */
+    public String keyOf(SearchKey searchKey) {
+        String raw = String.join("\u0000",
+                searchKey.keyword(),
+                String.valueOf(searchKey.imageGrade()),
+                String.valueOf(searchKey.isPublic()),
+                String.valueOf(searchKey.page()),
+                String.valueOf(searchKey.size()));
+        return RESULT_KEY_PREFIX + currentGeneration() + ":" + sha256(raw);
+    }
+
+    /**
+     * 색인 내용이 바뀌었을 때 호출 - 이전 세대 캐시는 모두 무시됨
+     */
+    public void bumpGeneration() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisService.increment(GENERATION_KEY);
+        } catch (Exception e) {
+            // 실패해도 TTL이 지나면 자연히 갱신됨
+            log.warn("검색 인덱스 세대 증가 실패: {}", e.getMessage());
+        }
+    }
+
+    public CacheStats stats() {
+        double hits = hitCounter.count();
+        double misses = missCounter.count();
+        double total = hits + misses;
+        return new CacheStats((long) hits, (long) misses, total == 0 ? 0 : hits / total);
+    }
+
+    private String currentGeneration() {
+        String generation = redisService.getValueTracked(GENERATION_KEY);
+        return generation != null ? generation : "0";
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 검색 조건 정규화 - 대소문자/공백 차이만 있는 검색어는 같은 키로
+     */
+    public record SearchKey(String keyword, String imageGrade, Boolean isPublic, int page, int size) {
+
+        public static SearchKey of(String keyword, String imageGrade, Boolean isPublic, int page, int size) {
+            String normalizedKeyword = keyword == null ? "" : keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            String normalizedGrade = imageGrade == null || imageGrade.isBlank() ? null : imageGrade.trim().toUpperCase(Locale.ROOT);
+            return new SearchKey(normalizedKeyword, normalizedGrade, isPublic, page, size);
+        }
+    }
+
+    public record CachedIds(List<String> ids, long totalHits) {
+    }
+
+    public record CacheStats(long hits, long misses, double hitRatio) {
+    }
+}
@@ -1,7 +1,16 @@
 package ImgBell.Image.ElasticSearch;
 
 
+import ImgBell.GlobalErrorHandler.GlobalException;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.QueryBuilders;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.CompletionSuggestOption;
+import co.elastic.clients.elasticsearch.core.search.Suggestion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -9,15 +18,28 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.MultiGetItem;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.elasticsearch.core.query.SourceFilter;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +49,28 @@ public class ImageSearchService {
 
     private final ImageSearchRepository imageSearchRepository;
     private final ElasticsearchTemplate elasticsearchTemplate; // Spring Data Elasticsearch의 핵심 클래스로 ES 작업을 수행
+    private final ElasticsearchClient elasticsearchClient;
+    private final ImageSearchResultCache imageSearchResultCache;
+    private final ImageRankingProfile imageRankingProfile;
+    private final SearchCircuitBreaker searchCircuitBreaker;
+    private final ImageSearchFallback imageSearchFallback;
+    private final ImageIndexMappingCheck imageIndexMappingCheck;
+    private final SearchPointInTimeLimiter searchPointInTimeLimiter;
+
+    // 목록 응답은 카드에 필요한 필드만 _source에서 가져옴 (tags/tagNames/searchText/source 제외)
+    private static final SourceFilter LIST_SOURCE = new FetchSourceFilterBuilder().withIncludes(ImageListHit.SOURCE_INCLUDES).build();
+    private static final String SUGGESTER_NAME = "image-suggest";
+
+    // 스마트 검색 정렬: 관련도 → 인기도 → 최신순
+    private static final List<SortOptions> SMART_SEARCH_SORT = List.of(
+            SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc))),
+            sortDesc("popularityScore"),
+            sortDesc("createdAt"));
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    // 목록 페이지 크기 상한 / ES index.max_result_window 기본값
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_RESULT_WINDOW = 10_000;
 
     /**
      * 🎯 스마트 이미지 검색 (페이지네이션 지원)
@@ -35,317 +79,606 @@ public class ImageSearchService {
      * - 인기도 기반 정렬
      * - 페이지네이션 지원
      */
-    public Page<ImageDocument> smartSearch(String keyword, String imageGrade, Boolean isPublic, int page, int size) {
-        try {
-            log.info("🚀 이미지 검색 시작: keyword={}, grade={}, public={}, page={}, size={}", 
-                    keyword, imageGrade, isPublic, page, size);
-            
-            // Pageable 객체 생성
-            Pageable pageable = PageRequest.of(page, size);
-            
-            // NativeQuery: Elasticsearch의 네이티브 쿼리를 Java로 작성할 수 있게 해주는 Spring Data Elasticsearch 클래스
-            Query query = NativeQuery.builder()
-                    // withQuery(): 검색 쿼리를 정의하는 메서드
-                    // q -> q.bool(): 람다식으로 BoolQuery를 생성 (q는 QueryBuilders의 인스턴스)
-                    .withQuery(q -> q.bool(b -> {
-                        /**
-                         * bool 쿼리 설명:
-                         * - Elasticsearch의 복합 쿼리로 여러 조건을 조합
-                         * - must: AND 조건 (반드시 만족해야 함)
-                         * - should: OR 조건 (하나 이상 만족하면 됨, 점수에 영향)
-                         * - must_not: NOT 조건 (만족하지 않아야 함)
-                         * - filter: 점수에 영향 없이 필터링만
-                         */
-                        
-                        // should(): OR 조건들을 정의 (여러 조건 중 하나라도 만족하면 됨)
-                        // s -> s.multiMatch(): 람다식으로 MultiMatchQuery 생성 (s는 QueryBuilders)
-                        b.should(s -> s.multiMatch(m -> m
-                                        /**
-                                         * multiMatch 쿼리 설명:
-                                         * - 하나의 검색어로 여러 필드를 동시에 검색
-                                         * - fields()에서 ^숫자는 boost 값 (가중치)
-                                         * - imageName^3: 이미지명 매치시 점수 3배
-                                         * - artist^2: 작가명 매치시 점수 2배  
-                                         * - searchText^1.5: 검색텍스트 매치시 점수 1.5배
-                                         */
-                                        .query(keyword) // 검색할 키워드
-                                        .fields("imageName^3", "artist^2", "searchText^1.5") // 검색 대상 필드들과 가중치
-                                        .boost(3.0f) // 이 쿼리 전체의 점수를 3배로 증가
-                                ))
-                                // 두 번째 should 조건: 오타 허용 검색
-                                .should(s -> s
-                                        .multiMatch(m -> m
-                                                .query(keyword)
-                                                .fields("imageName^2", "artist^1.5", "uploaderName^1")
-                                                .fuzziness("AUTO") // 🎯 오타 허용: AUTO는 문자열 길이에 따라 자동으로 편집거리 설정
-                                                .boost(2.0f)
-                                        )
-                                )
-                                // 🏷️ 태그 검색 (Nested 쿼리)
-                                .should(s -> s
-                                        /**
-                                         * nested 쿼리 설명:
-                                         * - 중첩된 객체(배열) 내에서 검색할 때 사용
-                                         * - tags는 ImageDocument 내의 중첩된 Tag 객체들
-                                         * - path("tags"): 중첩 객체의 경로 지정
-                                         */
-                                        .nested(n -> n
-                                                .path("tags") // 중첩 객체 경로
-                                                .query(nq -> nq // 중첩 객체 내에서 실행할 쿼리
-                                                        .multiMatch(tm -> tm
-                                                                .query(keyword)
-                                                                .fields("tags.name^2", "tags.category^1"))
-                                                )
-                                                .boost(2.5f) // 🎯 태그 매치는 높은 점수
-                                        )
-                                )
-                                // 🔍 태그명 직접 검색 (빠른 검색용)
-                                .should(s -> s
-                                        /**
-                                         * match 쿼리 설명:
-                                         * - 단일 필드에서 텍스트 검색
-                                         * - 분석기를 통해 텍스트를 분석한 후 검색
-                                         * - tagNames는 태그명들을 평면화한 필드
-                                         */
-                                        .match(m -> m
-                                                .field("tagNames")
-                                                .query(keyword)
-                                                .boost(2.0f)
-                                        )
-                                )
-                                // 🌟 부분 검색 (와일드카드)
-                                .should(s -> s
-                                        /**
-                                         * wildcard 쿼리 설명:
-                                         * - 와일드카드(*,?) 패턴을 사용한 검색
-                                         * - *keyword*: 키워드를 포함하는 모든 문자열 매치
-                                         * - 성능상 느릴 수 있으므로 신중히 사용
-                                         */
-                                        .wildcard(w -> w
-                                                .field("imageName")
-                                                .value("*" + keyword.toLowerCase() + "*")
-                                                .boost(1.0f)
-                                        )
-                                )
-                                /**
-                                 * minimumShouldMatch 설명:
-                                 * - should 조건 중 최소 몇 개가 만족되어야 하는지 지정
-                                 * - "1": 최소 1개의 should 조건이 만족되어야 함
-                                 * - 숫자 또는 퍼센트로 지정 가능
-                                 */
-                                .minimumShouldMatch("1"); // 최소 하나는 매치
-
-                        /**
-                         * must(): AND 조건들을 정의 (모든 조건이 반드시 만족되어야 함)
-                         * term 쿼리: 정확한 값 매치 (분석되지 않은 키워드 검색)
-                         */
-                        // 🎯 필수 조건들 (must = AND 조건)
-                        if (imageGrade != null) {
-                            b.must(m -> m.term(t -> t.field("imageGrade").value(imageGrade)));
-                        }
-                        if (isPublic != null) {
-                            b.must(m -> m.term(t -> t.field("isPublic").value(isPublic)));
-                        }
-
-                        return b; // BoolQuery.Builder 반환
-                    }))
-                    /**
-                     * withSort(): 정렬 조건들을 정의
-                     * - _score: Elasticsearch가 계산한 관련도 점수
-                     * - DESC: 내림차순 정렬
-                     * - 여러 정렬 조건을 체이닝하면 1차, 2차, 3차 정렬 기준이 됨
-                     */
-                    .withSort(Sort.by(Sort.Direction.DESC, "_score")) // 🏆 관련도 순 (1차)
-                    .withSort(Sort.by(Sort.Direction.DESC, "popularityScore")) // 🌟 인기도 순 (2차)
-                    .withSort(Sort.by(Sort.Direction.DESC, "createdAt")) // 📅 최신순 (3차)
-                    .withPageable(pageable) // 페이지네이션 적용
-                    .build(); // Query 객체 생성
-
-            // elasticsearchTemplate.search(): 실제 검색 실행
-            SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(query, ImageDocument.class);
-
-            // Stream API를 사용하여 검색 결과를 처리
-            List<ImageDocument> results = searchHits.stream()
-                    .map(hit -> {
-                        ImageDocument image = hit.getContent(); // 검색된 문서 내용
-                        log.info("🎯 점수: {:.2f} - 이미지: {} (작가: {})",
-                                hit.getScore(), image.getImageName(), image.getArtist()); // 검색 점수 로깅
-                        return image;
-                    })
-                    .collect(Collectors.toList());
-
-            // Page 객체 생성 (전체 결과 수는 searchHits.getTotalHits()에서 가져옴)
-            Page<ImageDocument> resultPage = new PageImpl<>(results, pageable, searchHits.getTotalHits());
+    public Page<ImageListHit> smartSearch(String keyword, String imageGrade, Boolean isPublic, int page, int size) {
+        int pageSize = validPageSize(page, size);
+        return searchCircuitBreaker.page("smart",
+                () -> smartSearchFromEs(keyword, imageGrade, isPublic, page, pageSize),
+                () -> imageSearchFallback.smartSearch(keyword, imageGrade, isPublic, page, pageSize));
+    }
 
-            log.info("🚀 이미지 검색 완료: {} 개 결과 (전체: {}, 페이지: {}/{})", 
-                    results.size(), searchHits.getTotalHits(), page + 1, resultPage.getTotalPages());
-            
-            return resultPage;
+    /**
+     * 페이지 인자 검증 - 잘못된 값은 ES 호출 전에 400으로 끝냄 (서킷 브레이커 실패로 집계되지 않도록)
+     * 크기는 MAX_PAGE_SIZE로 자르고, ES result window(10000건)를 넘는 깊은 페이지는 거절
+     */
+    private static int validPageSize(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new GlobalException("페이지 번호는 0 이상, 크기는 1 이상이어야 합니다", "INVALID_PAGE_REQUEST", HttpStatus.BAD_REQUEST);
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        if ((long) (page + 1) * pageSize > MAX_RESULT_WINDOW) {
+            throw new GlobalException("검색 결과는 " + MAX_RESULT_WINDOW + "건까지만 조회할 수 있습니다", "SEARCH_WINDOW_EXCEEDED", HttpStatus.BAD_REQUEST);
+        }
+        return pageSize;
+    }
 
-        } catch (Exception e) {
-            log.error("🚨 이미지 검색 실패: ", e);
-            return new PageImpl<>(new ArrayList<>(), PageRequest.of(page, size), 0);
+    private Page<ImageListHit> smartSearchFromEs(String keyword, String imageGrade, Boolean isPublic, int page, int size) throws IOException {
+        log.info("🚀 이미지 검색 시작: keyword={}, grade={}, public={}, page={}, size={}", 
+                keyword, imageGrade, isPublic, page, size);
+        
+        // Pageable 객체 생성
+        Pageable pageable = PageRequest.of(page, size);
+
+        // 🗂️ 결과 캐시 조회 (정규화된 조건 + 인덱스 세대) - 히트면 ID로 mget 한 번만, 미스면 일반 검색 후 ID 저장
+        ImageSearchResultCache.SearchKey searchKey = ImageSearchResultCache.SearchKey.of(keyword, imageGrade, isPublic, page, size);
+        String cacheKey = null;
+        if (imageSearchResultCache.isCacheable(page)) {
+            cacheKey = imageSearchResultCache.keyOf(searchKey);
+            ImageSearchResultCache.CachedIds cached = imageSearchResultCache.get(cacheKey);
+            if (cached != null) {
+                List<ImageListHit> hydrated = hydrate(cached.ids());
+                log.info("🗂️ 검색 캐시 히트: {} 개 결과 (전체: {})", hydrated.size(), cached.totalHits());
+                return new PageImpl<>(hydrated, pageable, cached.totalHits());
+            }
+        }
+        
+        // NativeQuery: Elasticsearch의 네이티브 쿼리를 Java로 작성할 수 있게 해주는 Spring Data Elasticsearch 클래스
+        NativeQueryBuilder queryBuilder = NativeQuery.builder()
+                // withQuery(): 검색 쿼리를 정의하는 메서드
+                .withQuery(smartQuery(searchKey, isPublic))
+                /**
+                 * withSort(): 정렬 조건들을 정의
+                 * - _score: Elasticsearch가 계산한 관련도 점수
+                 * - DESC: 내림차순 정렬
+                 * - 여러 정렬 조건을 체이닝하면 1차, 2차, 3차 정렬 기준이 됨
+                 */
+                .withPageable(pageable) // 페이지네이션 적용
+                .withSourceFilter(LIST_SOURCE); // 목록 필드만 _source에서 가져옴
+        // 🏆 관련도 순 (1차) → 🌟 인기도 순 (2차) → 📅 최신순 (3차)
+        SMART_SEARCH_SORT.forEach(queryBuilder::withSort);
+        NativeQuery query = queryBuilder.build(); // Query 객체 생성
+
+        // elasticsearchTemplate.search(): 실제 검색 실행
+        SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(query, ImageDocument.class);
+
+        // 🗂️ 캐시 채우기: 같은 응답의 히트 ID만 저장 (미스일 때 검색 1회로 끝, mget은 캐시 히트에서만)
+        if (cacheKey != null) {
+            imageSearchResultCache.put(cacheKey,
+                    searchHits.stream().map(SearchHit::getId).collect(Collectors.toList()),
+                    searchHits.getTotalHits());
         }
+
+        // Stream API를 사용하여 검색 결과를 처리
+        List<ImageListHit> results = searchHits.stream()
+                .map(hit -> {
+                    ImageDocument image = hit.getContent(); // 검색된 문서 내용
+                    log.debug("🎯 점수: {} - 이미지: {}", hit.getScore(), image.getImageName()); // 검색 점수 로깅
+                    return ImageListHit.from(image);
+                })
+                .collect(Collectors.toList());
+
+        // Page 객체 생성 (전체 결과 수는 searchHits.getTotalHits()에서 가져옴)
+        Page<ImageListHit> resultPage = new PageImpl<>(results, pageable, searchHits.getTotalHits());
+
+        log.info("🚀 이미지 검색 완료: {} 개 결과 (전체: {}, 페이지: {}/{})", 
+                results.size(), searchHits.getTotalHits(), page + 1, resultPage.getTotalPages());
+        
+        return resultPage;
     }
 
     /**
-     * 🏷️ 태그 기반 검색 (페이지네이션 지원)
-     * terms 쿼리를 사용하여 여러 태그 중 하나라도 포함된 이미지 검색
+     * 🧮 스마트 검색 + 패싯 (태그/등급/작가/업로더 건수)
+     * - 검색과 terms/nested 집계를 요청 1회로 처리 (패싯마다 따로 조회하거나 DB GROUP BY 하지 않음)
+     * - size=0 이면 히트 없이 집계만 (패싯 전용 호출)
+     * - 결과 캐시는 사용하지 않음
      */
-    public Page<ImageDocument> searchByTags(List<String> tagNames, int page, int size) {
-        try {
-            log.info("🏷️ 태그 검색: {}, page={}, size={}", tagNames, page, size);
+    public FacetedSearchResponse smartSearchWithFacets(String keyword, String imageGrade, Boolean isPublic,
+                                                       int page, int size, Set<SearchFacet> facets, int facetSize) {
+        boolean facetOnly = size == 0;
+        // 패싯 전용도 페이지 정보는 직렬화되어야 하므로 Pageable.unpaged() 대신 크기 1의 빈 페이지로 응답
+        int pageSize = validPageSize(page, facetOnly ? 1 : size);
+        ImageSearchResultCache.SearchKey searchKey = ImageSearchResultCache.SearchKey.of(keyword, imageGrade, isPublic, page, facetOnly ? 0 : pageSize);
+        Pageable pageable = PageRequest.of(page, pageSize);
+        // ES 장애 시 패싯 없이 DB 대체 결과만 (degraded)
+        return searchCircuitBreaker.call("facets",
+                () -> facetsFromEs(searchKey, isPublic, pageable, facetOnly, facets, facetSize),
+                () -> new FacetedSearchResponse(facetOnly
+                        ? new DegradablePage<>(List.of(), pageable, 0, true)
+                        : DegradablePage.of(imageSearchFallback.smartSearch(keyword, imageGrade, isPublic, page, pageSize), true),
+                        Map.of()));
+    }
+
+    private FacetedSearchResponse facetsFromEs(ImageSearchResultCache.SearchKey searchKey, Boolean isPublic, Pageable pageable,
+                                               boolean facetOnly, Set<SearchFacet> facets, int facetSize) {
+        NativeQueryBuilder queryBuilder = NativeQuery.builder()
+                .withQuery(smartQuery(searchKey, isPublic))
+                .withSourceFilter(LIST_SOURCE);
+        if (facetOnly) {
+            queryBuilder.withMaxResults(0);
+        } else {
+            queryBuilder.withPageable(pageable);
+            SMART_SEARCH_SORT.forEach(queryBuilder::withSort);
+        }
+        for (SearchFacet facet : facets) {
+            queryBuilder.withAggregation(facet.key(), facet.aggregation(facetSize));
+        }
+
+        SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(queryBuilder.build(), ImageDocument.class);
+        List<ImageListHit> results = searchHits.stream()
+                .map(hit -> ImageListHit.from(hit.getContent()))
+                .collect(Collectors.toList());
+
+        Map<String, List<FacetedSearchResponse.FacetBucket>> facetBuckets = new LinkedHashMap<>();
+        if (searchHits.getAggregations() instanceof ElasticsearchAggregations aggregations) {
+            for (SearchFacet facet : facets) {
+                ElasticsearchAggregation aggregation = aggregations.get(facet.key());
+                if (aggregation != null) {
+                    facetBuckets.put(facet.key(), facet.buckets(aggregation.aggregation().getAggregate()));
+                }
+            }
+        }
 
-            Pageable pageable = PageRequest.of(page, size);
+        log.info("🧮 패싯 검색 완료: {} 개 결과 (전체: {}), 패싯 {}", results.size(), searchHits.getTotalHits(), facetBuckets.keySet());
+        return new FacetedSearchResponse(new DegradablePage<>(results, pageable, searchHits.getTotalHits(), false), facetBuckets);
+    }
 
-            Query query = NativeQuery.builder()
-                    .withQuery(q -> q.bool(b -> b
+    /**
+     * 🎯 스마트 검색 쿼리 - 일반 검색 / 패싯 검색 공용
+     */
+    private co.elastic.clients.elasticsearch._types.query_dsl.Query smartQuery(ImageSearchResultCache.SearchKey searchKey, Boolean isPublic) {
+        // QueryBuilders.bool(): 람다식으로 BoolQuery를 생성
+        // 🏆 rankRelevance(): 관련도 점수에 인기도(실시간 카운터) × 최신성 감쇠를 곱함 (function_score)
+        return imageRankingProfile.rankRelevance(QueryBuilders.bool(b -> {
+            /**
+             * bool 쿼리 설명:
+             * - Elasticsearch의 복합 쿼리로 여러 조건을 조합
+             * - must: AND 조건 (반드시 만족해야 함)
+             * - should: OR 조건 (하나 이상 만족하면 됨, 점수에 영향)
+             * - must_not: NOT 조건 (만족하지 않아야 함)
+             * - filter: 점수에 영향 없이 필터링만
+             */
+            
+            // should(): OR 조건들을 정의 (여러 조건 중 하나라도 만족하면 됨)
+            // s -> s.multiMatch(): 람다식으로 MultiMatchQuery 생성 (s는 QueryBuilders)
+            b.should(s -> s.multiMatch(m -> m
                             /**
-                             * terms 쿼리 설명:
-                             * - 하나의 필드에서 여러 값 중 하나라도 일치하는 문서 검색
-                             * - SQL의 IN 절과 유사
-                             * - tagNames.stream().map(FieldValue::of): 문자열을 FieldValue로 변환
+                             * multiMatch 쿼리 설명:
+                             * - 하나의 검색어로 여러 필드를 동시에 검색
+                             * - fields()에서 ^숫자는 boost 값 (가중치)
+                             * - imageName^3: 이미지명 매치시 점수 3배
+                             * - artist^2: 작가명 매치시 점수 2배  
+                             * - searchText^1.5: 검색텍스트 매치시 점수 1.5배
                              */
-                            .must(m -> m.terms(t -> t.field("tagNames").terms(terms -> terms.value(
-                                    tagNames.stream().map(FieldValue::of).collect(Collectors.toList())
-                            ))))
-                            .must(m -> m.term(t -> t.field("isPublic").value(true))) // 공개 이미지만
+                            .query(searchKey.keyword()) // 검색할 키워드
+                            .fields("imageName^3", "artist^2", "searchText^1.5") // 검색 대상 필드들과 가중치
+                            .boost(3.0f) // 이 쿼리 전체의 점수를 3배로 증가
                     ))
-                    .withSort(Sort.by(Sort.Direction.DESC, "popularityScore"))
-                    .withSort(Sort.by(Sort.Direction.DESC, "likeCount"))
-                    .withPageable(pageable)
-                    .build();
-
-            SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(query, ImageDocument.class);
-            List<ImageDocument> results = searchHits.stream()
-                    .map(SearchHit::getContent) // 메서드 참조로 검색 결과에서 문서 내용만 추출
-                    .collect(Collectors.toList());
+                    // 🏷️ 태그 검색 (Nested 쿼리)
+                    .should(s -> s
+                            /**
+                             * nested 쿼리 설명:
+                             * - 중첩된 객체(배열) 내에서 검색할 때 사용
+                             * - tags는 ImageDocument 내의 중첩된 Tag 객체들
+                             * - path("tags"): 중첩 객체의 경로 지정
+                             */
+                            .nested(n -> n
+                                    .path("tags") // 중첩 객체 경로
+                                    .query(nq -> nq // 중첩 객체 내에서 실행할 쿼리
+                                            .multiMatch(tm -> tm
+                                                    .query(searchKey.keyword())
+                                                    .fields("tags.name^2", "tags.category^1"))
+                                    )
+                                    .boost(2.5f) // 🎯 태그 매치는 높은 점수
+                            )
+                    )
+                    // 🔍 태그명 직접 검색 (빠른 검색용)
+                    .should(s -> s
+                            /**
+                             * match 쿼리 설명:
+                             * - 단일 필드에서 텍스트 검색
+                             * - 분석기를 통해 텍스트를 분석한 후 검색
+                             * - tagNames는 태그명들을 평면화한 필드
+                             */
+                            .match(m -> m
+                                    .field("tagNames")
+                                    .query(searchKey.keyword())
+                                    .boost(2.0f)
+                            )
+                    )
+                    /**
+                     * minimumShouldMatch 설명:
+                     * - should 조건 중 최소 몇 개가 만족되어야 하는지 지정
+                     * - "1": 최소 1개의 should 조건이 만족되어야 함
+                     * - 숫자 또는 퍼센트로 지정 가능
+                     */
+                    .minimumShouldMatch("1"); // 최소 하나는 매치
+
+            if (imageIndexMappingCheck.isNgramReady()) {
+                // 🧩 부분 검색 (n-gram): "우식", "렉산" 같은 복합어 일부도 색인된 gram 조회만으로 매치
+                // 검색어도 같은 n-gram으로 쪼개고 operator AND → 모든 gram이 있어야 매치 (퍼지 확장 없음)
+                b.should(s -> s.multiMatch(m -> m
+                        .query(searchKey.keyword())
+                        .fields("imageName.ngram^2", "artist.ngram^1.5", "tagNames.ngram^2", "searchText.ngram")
+                        .operator(Operator.And)
+                        .boost(2.0f)));
+                // 🔤 접두어 검색 (edge n-gram): 한 글자 입력도 매치
+                b.should(s -> s.multiMatch(m -> m
+                        .query(searchKey.keyword())
+                        .fields("imageName.prefix^1.5", "tagNames.prefix^1.5")
+                        .operator(Operator.And)
+                        .boost(1.5f)));
+                // 오타 허용은 한글이 없는 검색어(영문 작가명 등)에만 - 한글은 n-gram으로 충분
+                if (!containsHangul(searchKey.keyword())) {
+                    b.should(s -> s.multiMatch(m -> m
+                            .query(searchKey.keyword())
+                            .fields("imageName^2", "artist^1.5", "uploaderName^1")
+                            .fuzziness("AUTO")
+                            .prefixLength(1)
+                            .boost(2.0f)));
+                }
+            } else {
+                // n-gram 매핑 이전 인덱스 (재색인 전): 기존 오타 허용 + 와일드카드 부분 검색
+                b.should(s -> s
+                        .multiMatch(m -> m
+                                .query(searchKey.keyword())
+                                .fields("imageName^2", "artist^1.5", "uploaderName^1")
+                                .fuzziness("AUTO") // 🎯 오타 허용: AUTO는 문자열 길이에 따라 자동으로 편집거리 설정
+                                .boost(2.0f)
+                        )
+                );
+                /**
+                 * wildcard 쿼리 설명:
+                 * - 와일드카드(*,?) 패턴을 사용한 검색
+                 * - *keyword*: 키워드를 포함하는 모든 문자열 매치
+                 * - 성능상 느릴 수 있으므로 신중히 사용
+                 */
+                b.should(s -> s
+                        .wildcard(w -> w
+                                .field("imageName")
+                                .value("*" + searchKey.keyword() + "*")
+                                .boost(1.0f)
+                        )
+                );
+            }
+
+            /**
+             * must(): AND 조건들을 정의 (모든 조건이 반드시 만족되어야 함)
+             * term 쿼리: 정확한 값 매치 (분석되지 않은 키워드 검색)
+             */
+            // 🎯 필수 조건들 (must = AND 조건)
+            if (searchKey.imageGrade() != null) {
+                b.must(m -> m.term(t -> t.field("imageGrade").value(searchKey.imageGrade())));
+            }
+            if (isPublic != null) {
+                b.must(m -> m.term(t -> t.field("isPublic").value(isPublic)));
+            }
+
+            return b; // BoolQuery.Builder 반환
+        }));
+    }
 
-            return new PageImpl<>(results, pageable, searchHits.getTotalHits());
+    private static boolean containsHangul(String text) {
+        return text.codePoints().anyMatch(c -> Character.UnicodeScript.of(c) == Character.UnicodeScript.HANGUL);
+    }
 
-        } catch (Exception e) {
-            log.error("🚨 태그 검색 실패: ", e);
-            return new PageImpl<>(new ArrayList<>(), PageRequest.of(page, size), 0);
+    /**
+     * ID 순서대로 목록 필드만 조회 (mget 1회) - 그 사이 삭제된 문서는 빠짐
+     */
+    private List<ImageListHit> hydrate(List<String> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
+        Query query = NativeQuery.builder()
+                .withIds(ids)
+                .withSourceFilter(LIST_SOURCE)
+                .build();
+        // mget 응답은 요청한 ID 순서를 유지함
+        return elasticsearchTemplate.multiGet(query, ImageDocument.class).stream()
+                .filter(MultiGetItem::hasItem)
+                .map(item -> ImageListHit.from(item.getItem()))
+                .collect(Collectors.toList());
     }
 
     /**
-     * 🔥 인기 이미지 검색 (페이지네이션 지원)
-     * 단순한 필터링과 정렬만 사용
+     * 🏷️ 태그 기반 검색 (페이지네이션 지원)
+     * terms 쿼리를 사용하여 여러 태그 중 하나라도 포함된 이미지 검색
      */
-    public Page<ImageDocument> getPopularImages(int page, int size) {
-        try {
-            Pageable pageable = PageRequest.of(page, size);
+    public Page<ImageListHit> searchByTags(List<String> tagNames, int page, int size) {
+        int pageSize = validPageSize(page, size);
+        return searchCircuitBreaker.page("tags",
+                () -> searchByTagsFromEs(tagNames, page, pageSize),
+                () -> imageSearchFallback.searchByTags(tagNames, page, pageSize));
+    }
 
-            Query query = NativeQuery.builder()
-                    .withQuery(q -> q.bool(b -> b
-                            .must(m -> m.term(t -> t.field("isPublic").value(true))) // 공개 이미지만 필터링
-                    ))
-                    .withSort(Sort.by(Sort.Direction.DESC, "popularityScore")) // 인기도 순 정렬
-                    .withSort(Sort.by(Sort.Direction.DESC, "viewCount")) // 조회수 순 정렬
-                    .withPageable(pageable)
-                    .build();
-
-            SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(query, ImageDocument.class);
-            List<ImageDocument> results = searchHits.stream()
-                    .map(SearchHit::getContent)
-                    .collect(Collectors.toList());
+    private Page<ImageListHit> searchByTagsFromEs(List<String> tagNames, int page, int size) {
+        log.info("🏷️ 태그 검색: {}, page={}, size={}", tagNames, page, size);
 
-            return new PageImpl<>(results, pageable, searchHits.getTotalHits());
+        Pageable pageable = PageRequest.of(page, size);
 
-        } catch (Exception e) {
-            log.error("🚨 인기 이미지 검색 실패: ", e);
-            return new PageImpl<>(new ArrayList<>(), PageRequest.of(page, size), 0);
-        }
+        Query query = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b
+                        /**
+                         * terms 쿼리 설명:
+                         * - 하나의 필드에서 여러 값 중 하나라도 일치하는 문서 검색
+                         * - SQL의 IN 절과 유사
+                         * - tagNames.stream().map(FieldValue::of): 문자열을 FieldValue로 변환
+                         */
+                        .must(m -> m.terms(t -> t.field("tagNames").terms(terms -> terms.value(
+                                tagNames.stream().map(FieldValue::of).collect(Collectors.toList())
+                        ))))
+                        .must(m -> m.term(t -> t.field("isPublic").value(true))) // 공개 이미지만
+                ))
+                .withSort(Sort.by(Sort.Direction.DESC, "popularityScore"))
+                .withSort(Sort.by(Sort.Direction.DESC, "likeCount"))
+                .withPageable(pageable)
+                .withSourceFilter(LIST_SOURCE)
+                .build();
+
+        SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(query, ImageDocument.class);
+        List<ImageListHit> results = searchHits.stream()
+                .map(hit -> ImageListHit.from(hit.getContent())) // 검색 결과에서 목록 필드만 추출
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(results, pageable, searchHits.getTotalHits());
+    }
+
+    /**
+     * 🔥 인기 이미지 검색 (페이지네이션 지원)
+     * 공개 이미지 필터 + 랭킹 프로필 점수(인기도 × 최신성) 순
+     */
+    public Page<ImageListHit> getPopularImages(int page, int size) {
+        int pageSize = validPageSize(page, size);
+        return searchCircuitBreaker.page("popular",
+                () -> getPopularImagesFromEs(page, pageSize),
+                () -> imageSearchFallback.popular(page, pageSize));
+    }
+
+    private Page<ImageListHit> getPopularImagesFromEs(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+
+        Query query = NativeQuery.builder()
+                .withQuery(imageRankingProfile.rankPopularity(QueryBuilders.bool(b -> b
+                        .filter(f -> f.term(t -> t.field("isPublic").value(true))) // 공개 이미지만 필터링
+                )))
+                .withSort(Sort.by(Sort.Direction.DESC, "_score")) // 랭킹 점수 순 정렬
+                .withSort(Sort.by(Sort.Direction.DESC, "viewCount")) // 조회수 순 정렬
+                .withPageable(pageable)
+                .withSourceFilter(LIST_SOURCE)
+                .build();
+
+        SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(query, ImageDocument.class);
+        List<ImageListHit> results = searchHits.stream()
+                .map(hit -> ImageListHit.from(hit.getContent()))
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(results, pageable, searchHits.getTotalHits());
     }
 
     /**
      * 🆕 최신 이미지 검색 (페이지네이션 지원)
      * 생성일시 기준 내림차순 정렬
      */
-    public Page<ImageDocument> getRecentImages(int page, int size) {
-        try {
-            Pageable pageable = PageRequest.of(page, size);
+    public Page<ImageListHit> getRecentImages(int page, int size) {
+        int pageSize = validPageSize(page, size);
+        return searchCircuitBreaker.page("recent",
+                () -> getRecentImagesFromEs(page, pageSize),
+                () -> imageSearchFallback.recent(page, pageSize));
+    }
 
-            Query query = NativeQuery.builder()
-                    .withQuery(q -> q.bool(b -> b
-                            .must(m -> m.term(t -> t.field("isPublic").value(true)))
-                    ))
-                    .withSort(Sort.by(Sort.Direction.DESC, "createdAt")) // 최신순 정렬
-                    .withPageable(pageable)
-                    .build();
+    private Page<ImageListHit> getRecentImagesFromEs(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
 
-            SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(query, ImageDocument.class);
-            List<ImageDocument> results = searchHits.stream()
-                    .map(SearchHit::getContent)
-                    .collect(Collectors.toList());
+        Query query = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b
+                        .must(m -> m.term(t -> t.field("isPublic").value(true)))
+                ))
+                .withSort(Sort.by(Sort.Direction.DESC, "createdAt")) // 최신순 정렬
+                .withPageable(pageable)
+                .withSourceFilter(LIST_SOURCE)
+                .build();
 
-            return new PageImpl<>(results, pageable, searchHits.getTotalHits());
+        SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(query, ImageDocument.class);
+        List<ImageListHit> results = searchHits.stream()
+                .map(hit -> ImageListHit.from(hit.getContent()))
+                .collect(Collectors.toList());
 
-        } catch (Exception e) {
-            log.error("🚨 최신 이미지 검색 실패: ", e);
-            return new PageImpl<>(new ArrayList<>(), PageRequest.of(page, size), 0);
-        }
+        return new PageImpl<>(results, pageable, searchHits.getTotalHits());
     }
 
     /**
      * 👤 특정 업로더의 이미지 검색 (페이지네이션 지원)
      * uploaderId로 필터링하여 특정 사용자가 업로드한 이미지만 검색
      */
-    public Page<ImageDocument> searchByUploader(Long uploaderId, int page, int size) {
-        try {
-            Pageable pageable = PageRequest.of(page, size);
+    public Page<ImageListHit> searchByUploader(Long uploaderId, int page, int size) {
+        int pageSize = validPageSize(page, size);
+        return searchCircuitBreaker.page("uploader",
+                () -> searchByUploaderFromEs(uploaderId, page, pageSize),
+                () -> imageSearchFallback.searchByUploader(uploaderId, page, pageSize));
+    }
 
-            Query query = NativeQuery.builder()
-                    .withQuery(q -> q.bool(b -> b
-                            .must(m -> m.term(t -> t.field("uploaderId").value(uploaderId))) // 특정 업로더 필터링
-                            .must(m -> m.term(t -> t.field("isPublic").value(true)))
-                    ))
-                    .withSort(Sort.by(Sort.Direction.DESC, "createdAt"))
-                    .withPageable(pageable)
-                    .build();
+    private Page<ImageListHit> searchByUploaderFromEs(Long uploaderId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+
+        Query query = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b
+                        .must(m -> m.term(t -> t.field("uploaderId").value(uploaderId))) // 특정 업로더 필터링
+                        .must(m -> m.term(t -> t.field("isPublic").value(true)))
+                ))
+                .withSort(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .withPageable(pageable)
+                .withSourceFilter(LIST_SOURCE)
+                .build();
+
+        SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(query, ImageDocument.class);
+        List<ImageListHit> results = searchHits.stream()
+                .map(hit -> ImageListHit.from(hit.getContent()))
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(results, pageable, searchHits.getTotalHits());
+    }
+
+    // === 📜 커서 기반 조회 (search_after + point-in-time) ===
+
+    /**
+     * 🏷️ 태그 기반 검색 - 커서 방식
+     */
+    public CursorPage<ImageListHit> searchByTagsAfter(List<String> tagNames, String cursor, int size) {
+        return searchAfter(origin -> QueryBuilders.bool(b -> b
+                        .must(m -> m.terms(t -> t.field("tagNames").terms(terms -> terms.value(
+                                tagNames.stream().map(FieldValue::of).collect(Collectors.toList())
+                        ))))
+                        .must(m -> m.term(t -> t.field("isPublic").value(true)))),
+                List.of(sortDesc("popularityScore"), sortDesc("likeCount")),
+                cursor, size);
+    }
+
+    /**
+     * 🔥 인기 이미지 - 커서 방식
+     */
+    public CursorPage<ImageListHit> getPopularImagesAfter(String cursor, int size) {
+        // 최신성 기준 시각을 커서에 고정 (페이지 사이 점수 변동 방지)
+        return searchAfter(origin -> imageRankingProfile.rankPopularity(QueryBuilders.bool(b -> b
+                        .filter(f -> f.term(t -> t.field("isPublic").value(true)))), origin),
+                List.of(SortOptions.of(so -> so.score(sc -> sc.order(SortOrder.Desc))), sortDesc("viewCount")),
+                cursor, size);
+    }
+
+    /**
+     * 🆕 최신 이미지 - 커서 방식
+     */
+    public CursorPage<ImageListHit> getRecentImagesAfter(String cursor, int size) {
+        return searchAfter(origin -> QueryBuilders.bool(b -> b
+                        .must(m -> m.term(t -> t.field("isPublic").value(true)))),
+                List.of(sortDesc("createdAt")),
+                cursor, size);
+    }
+
+    /**
+     * 👤 업로더별 이미지 - 커서 방식
+     */
+    public CursorPage<ImageListHit> searchByUploaderAfter(Long uploaderId, String cursor, int size) {
+        return searchAfter(origin -> QueryBuilders.bool(b -> b
+                        .must(m -> m.term(t -> t.field("uploaderId").value(uploaderId)))
+                        .must(m -> m.term(t -> t.field("isPublic").value(true)))),
+                List.of(sortDesc("createdAt")),
+                cursor, size);
+    }
 
-            SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(query, ImageDocument.class);
-            List<ImageDocument> results = searchHits.stream()
-                    .map(SearchHit::getContent)
+    /**
+     * search_after 공통 로직
+     * - 첫 요청(cursor 없음)에서 PIT를 열고, 이후에는 커서에 담긴 PIT + 마지막 정렬 값으로 이어서 조회
+     *   PIT 유지 시간은 짧게(요청마다 연장), 노드별로 열린 PIT 수를 제한 (SearchPointInTimeLimiter) - 넘으면 503
+     * - from을 쓰지 않으므로 몇 페이지째든 요청 비용이 같고 max_result_window(10,000) 제한도 없음
+     * - 마지막 정렬 키는 _shard_doc (PIT 안에서 문서마다 유일) → 정렬 값이 같은 문서도 중복/누락 없음
+     * - size+1건을 조회해 다음 페이지 여부를 판단, 마지막 페이지면 PIT를 바로 닫음
+     * - query는 기준 시각(epoch ms)을 받아 쿼리를 만듦 - 첫 페이지 시각을 커서에 담아 이후 페이지도 같은 값으로 점수 계산
+     */
+    private CursorPage<ImageListHit> searchAfter(LongFunction<co.elastic.clients.elasticsearch._types.query_dsl.Query> query,
+                                                  List<SortOptions> sorts, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        SearchCursor current = cursor != null && !cursor.isBlank() ? SearchCursor.decode(cursor) : null;
+        String pit = current != null ? current.pit() : null;
+        long origin = current != null && current.origin() != null ? current.origin() : System.currentTimeMillis();
+        Duration keepAlive = searchPointInTimeLimiter.keepAlive();
+        if (pit == null && !searchPointInTimeLimiter.canOpen()) {
+            throw new GlobalException("검색 요청이 많습니다. 잠시 후 다시 시도해주세요", "SEARCH_CURSOR_BUSY", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        try {
+            if (pit == null) {
+                pit = elasticsearchTemplate.openPointInTime(elasticsearchTemplate.getIndexCoordinatesFor(ImageDocument.class), keepAlive, true);
+            }
+            NativeQueryBuilder builder = NativeQuery.builder()
+                    .withQuery(query.apply(origin))
+                    .withPointInTime(new Query.PointInTime(pit, keepAlive))
+                    .withSourceFilter(LIST_SOURCE)
+                    .withMaxResults(pageSize + 1);
+            for (SortOptions sort : sorts) {
+                builder.withSort(sort);
+            }
+            builder.withSort(s -> s.field(f -> f.field("_shard_doc").order(SortOrder.Asc)));
+            if (current != null) {
+                builder.withSearchAfter(current.after());
+            }
+
+            SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(builder.build(), ImageDocument.class);
+            // ES가 PIT ID를 갱신해 돌려줄 수 있으므로 응답의 ID를 다음 커서에 사용
+            String nextPit = searchHits.getPointInTimeId() != null ? searchHits.getPointInTimeId() : pit;
+            List<SearchHit<ImageDocument>> hits = searchHits.getSearchHits();
+            boolean hasNext = hits.size() > pageSize;
+            List<SearchHit<ImageDocument>> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+            List<ImageListHit> results = pageHits.stream()
+                    .map(hit -> ImageListHit.from(hit.getContent()))
                     .collect(Collectors.toList());
 
-            return new PageImpl<>(results, pageable, searchHits.getTotalHits());
+            searchPointInTimeLimiter.touch(pit, nextPit);
+            if (!hasNext) {
+                closePointInTimeQuietly(nextPit);
+                return new CursorPage<>(results, pageSize, null, false);
+            }
+            List<Object> after = pageHits.get(pageHits.size() - 1).getSortValues();
+            return new CursorPage<>(results, pageSize, new SearchCursor(nextPit, after, origin).encode(), true);
+
+        } catch (Exception e) {
+            if (current == null && pit != null) {
+                closePointInTimeQuietly(pit);
+            }
+            if (isSearchContextMissing(e)) {
+                throw new GlobalException("검색 커서가 만료되었습니다. 처음부터 다시 조회해주세요", "SEARCH_CURSOR_EXPIRED", HttpStatus.GONE);
+            }
+            log.error("🚨 커서 검색 실패: ", e);
+            return CursorPage.empty(pageSize);
+        }
+    }
 
+    private static SortOptions sortDesc(String field) {
+        return SortOptions.of(s -> s.field(f -> f.field(field).order(SortOrder.Desc)));
+    }
+
+    private void closePointInTimeQuietly(String pit) {
+        searchPointInTimeLimiter.closed(pit);
+        try {
+            elasticsearchTemplate.closePointInTime(pit);
         } catch (Exception e) {
-            log.error("🚨 업로더별 검색 실패: ", e);
-            return new PageImpl<>(new ArrayList<>(), PageRequest.of(page, size), 0);
+            // 닫기 실패해도 keep-alive가 지나면 ES가 정리함
+            log.debug("PIT 닫기 실패: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isSearchContextMissing(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            String message = t.getMessage();
+            if (message != null && (message.contains("search_context_missing") || message.contains("No search context found"))) {
+                return true;
+            }
         }
+        return false;
     }
 
     /**
-     * 🔍 자동완성 (이미지명 기반)
-     * prefix 쿼리를 사용하여 입력한 문자로 시작하는 이미지명들 검색
+     * 🔍 자동완성 (completion suggester)
+     * - suggest 필드(이미지명/작가/태그명, 인기도 가중치)의 FST에서 접두사 조회 → 쿼리 시점 term 확장 없음
+     * - skipDuplicates로 같은 제안어는 한 번만, 문서 _source는 가져오지 않음
      */
     public List<String> autoComplete(String prefix, int size) {
+        if (prefix == null || prefix.isBlank()) {
+            return new ArrayList<>();
+        }
         try {
-            Query query = NativeQuery.builder()
-                    .withQuery(q -> q.bool(b -> b
-                            /**
-                             * prefix 쿼리 설명:
-                             * - 지정한 접두사로 시작하는 텍스트를 검색
-                             * - 자동완성 기능에 주로 사용
-                             * - 검색 성능이 좋음
-                             */
-                            .must(m -> m.prefix(p -> p
-                                    .field("imageName")
-                                    .value(prefix.toLowerCase()) // 소문자로 변환하여 대소문자 구분 없이 검색
-                            ))
-                            .must(m -> m.term(t -> t.field("isPublic").value(true)))
-                    ))
-                    .withSort(Sort.by(Sort.Direction.DESC, "popularityScore")) // 인기도 순으로 자동완성 제안
-                    .withMaxResults(size)
-                    .build();
-
-            SearchHits<ImageDocument> searchHits = elasticsearchTemplate.search(query, ImageDocument.class);
-            return searchHits.stream()
-                    .map(hit -> hit.getContent().getImageName()) // 이미지명만 추출
-                    .distinct() // 중복 제거
+            SearchResponse<Void> response = elasticsearchClient.search(r -> r
+                    .index(elasticsearchTemplate.getIndexCoordinatesFor(ImageDocument.class).getIndexName())
+                    .suggest(sg -> sg.suggesters(SUGGESTER_NAME, fs -> fs
+                            .prefix(prefix.trim())
+                            .completion(c -> c
+                                    .field("suggest")
+                                    .size(size)
+                                    .skipDuplicates(true))))
+                    .source(src -> src.fetch(false))
+                    .size(0), Void.class);
+
+            return response.suggest().getOrDefault(SUGGESTER_NAME, List.of()).stream()
+                    .filter(Suggestion::isCompletion)
+                    .flatMap(suggestion -> suggestion.completion().options().stream())
+                    .map(CompletionSuggestOption::text)
+                    .distinct()
                     .collect(Collectors.toList());
 
         } catch (Exception e) {
@@ -0,0 +1,123 @@
+package ImgBell.Image.ElasticSearch;
+
+import ImgBell.Image.Image;
+import ImgBell.Image.ImageRepository;
+import ImgBell.Redis.RedisBatch;
+import ImgBell.Redis.RedisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📈 조회수/좋아요 카운터 → ES 부분 업데이트
+ *
+ * 카운터가 바뀐 이미지 ID는 image:dirty-stats Set에 표시됨 (조회수 증가, 좋아요 토글 스크립트)
+ * 주기적으로 SPOP으로 꺼내 image:stats 해시를 HMGET 파이프라인 1회로 읽고
+ * viewCount / likeCount / popularityScore만 _bulk update 1회로 반영
+ *
+ * - 같은 이미지가 주기 안에서 여러 번 바뀌어도 Set이라 업데이트는 1회
+ * - 해시에 값이 없는 이미지는 DB 값 사용 (조회 1회)
+ * - 반영 실패 시 ID를 다시 Set에 넣어 다음 주기에 재시도
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageStatsPropagator {
+
+    public static final String DIRTY_KEY = "image:dirty-stats";
+    private static final int BATCH_SIZE = 1000;
+
+    private final RedisService redisService;
+    private final ImageRepository imageRepository;
+    private final ImageBulkIndexer imageBulkIndexer;
+
+    @Scheduled(fixedDelayString = "${imgbell.search.stats-propagation-ms:15000}")
+    public void propagate() {
+        List<String> members;
+        do {
+            members = redisService.popFromSet(DIRTY_KEY, BATCH_SIZE);
+            if (members.isEmpty()) {
+                return;
+            }
+            List<String> batch = members;
+            try {
+                List<ImageBulkIndexer.CounterUpdate> updates = readCounters(batch);
+                ImageBulkIndexer.BulkResult result = imageBulkIndexer.updateCounters(updates);
+                if (result.hasFailures()) {
+                    redisService.addToSet(DIRTY_KEY, result.failedIds().toArray(new String[0]));
+                }
+                log.debug("📈 ES 카운터 반영: {}건 (실패 {}건)", updates.size(), result.failedIds().size());
+            } catch (Exception e) {
+                log.error("ES 카운터 반영 실패, 다음 주기에 재시도: count={}", batch.size(), e);
+                redisService.addToSet(DIRTY_KEY, batch.toArray(new String[0]));
+                return;
+            }
+        } while (members.size() == BATCH_SIZE);
+    }
+
+    private List<ImageBulkIndexer.CounterUpdate> readCounters(List<String> members) {
+        RedisBatch batch = redisService.batch();
+        Map<Long, RedisBatch.Response<List<String>>> responses = new LinkedHashMap<>();
+        for (String member : members) {
+            Long imageId = parseId(member);
+            if (imageId != null) {
+                responses.put(imageId, batch.hMGet("image:stats:" + imageId, "viewCount", "likeCount"));
+            }
+        }
+        batch.execute();
+
+        List<ImageBulkIndexer.CounterUpdate> updates = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        responses.forEach((imageId, response) -> {
+            List<String> values = response.get();
+            Integer views = values != null ? parseCount(values.get(0)) : null;
+            Integer likes = values != null ? parseCount(values.get(1)) : null;
+            if (views == null || likes == null) {
+                missing.add(imageId);
+            } else {
+                updates.add(new ImageBulkIndexer.CounterUpdate(imageId, views, likes));
+            }
+        });
+
+        if (!missing.isEmpty()) {
+            Map<Long, Image> images = new HashMap<>();
+            imageRepository.findAllById(missing).forEach(image -> images.put(image.getId(), image));
+            for (Long imageId : missing) {
+                Image image = images.get(imageId);
+                // DB에도 없으면 삭제된 이미지 → 삭제 이벤트가 인덱스에서 제거함
+                if (image != null) {
+                    updates.add(new ImageBulkIndexer.CounterUpdate(imageId,
+                            image.getViewCount() != null ? image.getViewCount() : 0,
+                            image.getLikeCount() != null ? image.getLikeCount() : 0));
+                }
+            }
+        }
+        return updates;
+    }
+
+    private static Long parseId(String member) {
+        try {
+            return Long.valueOf(member);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Integer parseCount(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
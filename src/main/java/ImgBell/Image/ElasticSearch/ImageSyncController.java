@@ -18,26 +18,30 @@ import org.springframework.web.bind.annotation.*;
 public class ImageSyncController {
     
     private final ImageSyncService imageSyncService;
+    private final ImageReindexService imageReindexService;
+    private final ImageSearchResultCache imageSearchResultCache;
 
     @Operation(
-        summary = "전체 이미지 동기화",
-        description = "Image 테이블의 모든 데이터를 ElasticSearch에 동기화합니다."
+        summary = "전체 이미지 재색인",
+        description = "새 버전 인덱스에 병렬로 전체 재색인한 뒤 alias를 원자적으로 교체합니다. 작업은 비동기로 진행되며 진행 상황은 /reindex/status로 확인합니다."
     )
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "동기화 성공"),
-        @ApiResponse(responseCode = "500", description = "동기화 실패")
+        @ApiResponse(responseCode = "202", description = "재색인 시작"),
+        @ApiResponse(responseCode = "409", description = "이미 재색인 진행 중")
     })
     @PostMapping("/all")
-    public ResponseEntity<String> syncAllImages() {
-        try {
-            log.info("🚀 전체 이미지 동기화 요청");
-            imageSyncService.syncAllImages();
-            return ResponseEntity.ok("전체 이미지 동기화가 완료되었습니다.");
-        } catch (Exception e) {
-            log.error("❌ 전체 동기화 실패: {}", e.getMessage());
-            return ResponseEntity.internalServerError()
-                    .body("동기화 실패: " + e.getMessage());
-        }
+    public ResponseEntity<ImageReindexService.ReindexStatus> syncAllImages() {
+        log.info("🚀 전체 이미지 재색인 요청");
+        return ResponseEntity.accepted().body(imageReindexService.start());
+    }
+
+    @Operation(
+        summary = "재색인 진행 상황",
+        description = "진행 중이거나 마지막으로 실행된 재색인 작업의 진행률과 처리량을 확인합니다."
+    )
+    @GetMapping("/reindex/status")
+    public ResponseEntity<ImageReindexService.ReindexStatus> getReindexStatus() {
+        return ResponseEntity.ok(imageReindexService.status());
     }
 
     @Operation(
@@ -115,4 +119,13 @@ public class ImageSyncController {
             return ResponseEntity.internalServerError().build();
         }
     }
-} 
\ No newline at end of file
+
+    @Operation(
+        summary = "검색 결과 캐시 통계",
+        description = "스마트 검색 결과 캐시의 히트/미스 수와 히트율을 확인합니다. 히트 수만큼 ES 검색 쿼리가 절감됩니다."
+    )
+    @GetMapping("/search-cache/stats")
+    public ResponseEntity<ImageSearchResultCache.CacheStats> getSearchCacheStats() {
+        return ResponseEntity.ok(imageSearchResultCache.stats());
+    }
+}
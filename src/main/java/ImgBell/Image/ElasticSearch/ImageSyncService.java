@@ -5,13 +5,14 @@ import ImgBell.Image.Tag.Tag;
 import ImgBell.GlobalErrorHandler.GlobalException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +22,8 @@ public class ImageSyncService {
 
     private final ImageRepository imageRepository;
     private final ImageSearchRepository imageSearchRepository;
+    private final ImageBulkIndexer imageBulkIndexer;
+    private final ImageSearchResultCache imageSearchResultCache;
 
     /**
      * 🔄 Image 엔티티를 ImageDocument로 변환
@@ -74,9 +77,10 @@ public class ImageSyncService {
             document.setTagNames(tagNames);
         }
         
-        // 검색 텍스트와 인기도 점수 생성
+        // 검색 텍스트, 인기도 점수, 자동완성 제안 생성
         document.generateSearchText();
         document.calculatePopularityScore();
+        document.buildSuggest();
         
         return document;
     }
@@ -91,7 +95,8 @@ public class ImageSyncService {
                     .orElseThrow(() -> new GlobalException("이미지를 찾을 수 없습니다", "IMAGE_NOT_FOUND", HttpStatus.NOT_FOUND));
             
             ImageDocument document = convertToDocument(image);
-            imageSearchRepository.save(document);
+            imageBulkIndexer.bulk(List.of(document), List.of());
+            imageSearchResultCache.bumpGeneration();
             
             log.info("✅ 이미지 동기화 완료: id={}, name={}", imageId, image.getImageName());
         } catch (Exception e) {
@@ -100,47 +105,28 @@ public class ImageSyncService {
     }
 
     /**
-     * 🔄 전체 이미지 일괄 동기화
+     * 📦 여러 이미지 일괄 동기화 (Kafka 배치 소비용)
+     * fetch join 쿼리 1회로 로딩 → _bulk 요청 1회로 색인/삭제
+     * 동기화 요청됐지만 DB에 없는 이미지는 삭제로 처리
+     * 배치마다 검색 결과 캐시 세대를 올림 (배치 단위라 이벤트마다 무효화되지 않음)
      */
-    @Transactional
-    public void syncAllImages() {
-        log.info("🚀 전체 이미지 동기화 시작");
-        
-        int pageSize = 100;
-        int pageNumber = 0;
-        int totalSynced = 0;
-        
-        try {
-            // 기존 인덱스 클리어
-            imageSearchRepository.deleteAll();
-            log.info("🗑️ 기존 ElasticSearch 인덱스 클리어 완료");
-            
-            Page<Image> imagePage;
-            do {
-                imagePage = imageRepository.findAll(PageRequest.of(pageNumber, pageSize));
-                
-                List<ImageDocument> documents = imagePage.getContent().stream()
-                        .map(this::convertToDocument)
-                        .collect(Collectors.toList());
-                
-                if (!documents.isEmpty()) {
-                    imageSearchRepository.saveAll(documents);
-                    totalSynced += documents.size();
-                    log.info("📦 배치 동기화 완료: {} ~ {} (총 {}개)", 
-                            pageNumber * pageSize + 1, 
-                            pageNumber * pageSize + documents.size(),
-                            totalSynced);
-                }
-                
-                pageNumber++;
-            } while (imagePage.hasNext());
-            
-            log.info("🎉 전체 이미지 동기화 완료! 총 {}개 이미지 처리", totalSynced);
-            
-        } catch (Exception e) {
-            log.error("❌ 전체 이미지 동기화 실패: {}", e.getMessage());
-            throw new GlobalException("ElasticSearch 동기화 실패", "ELASTICSEARCH_SYNC_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
+    @Transactional(readOnly = true)
+    public ImageBulkIndexer.BulkResult syncBatch(Collection<Long> syncIds, Collection<Long> deleteIds) {
+        List<Image> images = syncIds.isEmpty() ? List.of() : imageRepository.findAllWithTagsByIdIn(syncIds);
+
+        Set<Long> deletes = new HashSet<>(deleteIds);
+        Set<Long> found = images.stream().map(Image::getId).collect(Collectors.toSet());
+        syncIds.stream().filter(id -> !found.contains(id)).forEach(deletes::add);
+
+        List<ImageDocument> documents = images.stream()
+                .map(this::convertToDocument)
+                .collect(Collectors.toList());
+
+        ImageBulkIndexer.BulkResult result = imageBulkIndexer.bulk(documents, deletes);
+        if (!documents.isEmpty() || !deletes.isEmpty()) {
+            imageSearchResultCache.bumpGeneration();
         }
+        return result;
     }
 
     /**
@@ -151,10 +137,11 @@ public class ImageSyncService {
         try {
             List<Image> images = imageRepository.findByTagsId(tagId);
             
-            for (Image image : images) {
-                ImageDocument document = convertToDocument(image);
-                imageSearchRepository.save(document);
-            }
+            List<ImageDocument> documents = images.stream()
+                    .map(this::convertToDocument)
+                    .collect(Collectors.toList());
+            imageBulkIndexer.bulk(documents, List.of());
+            imageSearchResultCache.bumpGeneration();
             
             log.info("🏷️ 태그 관련 이미지 동기화 완료: tagId={}, 이미지 {}개", tagId, images.size());
         } catch (Exception e) {
@@ -168,7 +155,8 @@ public class ImageSyncService {
     @Transactional
     public void deleteFromIndex(Long imageId) {
         try {
-            imageSearchRepository.deleteById(imageId.toString());
+            imageBulkIndexer.bulk(List.of(), List.of(imageId));
+            imageSearchResultCache.bumpGeneration();
             log.info("🗑️ ElasticSearch에서 이미지 삭제 완료: id={}", imageId);
         } catch (Exception e) {
             log.error("❌ ElasticSearch 이미지 삭제 실패: id={}, error={}", imageId, e.getMessage());
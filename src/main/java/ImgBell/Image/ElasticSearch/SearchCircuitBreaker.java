@@ -0,0 +1,226 @@
+package ImgBell.Image.ElasticSearch;
+
+import ImgBell.GlobalErrorHandler.GlobalException;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 🛡️ ES 검색 서킷 브레이커
+ *
+ * - ES 호출은 전용 스레드 풀에서 실행하고 timeout-ms 까지만 기다림 → 클라이언트 소켓 타임아웃(수십 초)만큼 Tomcat 스레드가 묶이지 않음
+ * - 실패뿐 아니라 느린 호출(slow-call-ms 초과) 비율로도 OPEN 전환 (resilience4j slow call 판정)
+ * - OPEN / 타임아웃 / 실패 / 풀 포화 시 즉시 fallback (DB 제한 조회) 결과 반환
+ * - 실패로 집계하는 예외는 연결/IO 오류, 타임아웃, ES 5xx 뿐
+ *   잘못된 요청(IllegalArgumentException, ES 4xx - result window 초과 등)은 집계하지 않고 fallback 없이 400
+ *   → 익명 요청 몇십 건으로 브레이커가 열려 모든 사용자가 DB 대체 결과를 받는 일이 없도록
+ *
+ * 설정
+ *   imgbell.search.breaker.timeout-ms=1000
+ *   imgbell.search.breaker.slow-call-ms=500
+ *   imgbell.search.breaker.slow-call-rate=50
+ *   imgbell.search.breaker.failure-rate=50
+ *   imgbell.search.breaker.window-size=50
+ *   imgbell.search.breaker.min-calls=20
+ *   imgbell.search.breaker.open-seconds=10
+ *   imgbell.search.breaker.half-open-calls=5
+ *   imgbell.search.breaker.pool-size=16
+ *   imgbell.search.breaker.queue-size=32
+ *
+ * 메트릭: resilience4j_circuitbreaker_* (name=elasticsearch), imgbell_search_fallback_total{operation,reason}
+ */
+@Slf4j
+@Component
+public class SearchCircuitBreaker {
+
+    private static final String BREAKER_NAME = "elasticsearch";
+
+    private final CircuitBreaker circuitBreaker;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final MeterRegistry meterRegistry;
+
+    public SearchCircuitBreaker(MeterRegistry meterRegistry,
+                                @Value("${imgbell.search.breaker.timeout-ms:1000}") long timeoutMillis,
+                                @Value("${imgbell.search.breaker.slow-call-ms:500}") long slowCallMillis,
+                                @Value("${imgbell.search.breaker.slow-call-rate:50}") float slowCallRate,
+                                @Value("${imgbell.search.breaker.failure-rate:50}") float failureRate,
+                                @Value("${imgbell.search.breaker.window-size:50}") int windowSize,
+                                @Value("${imgbell.search.breaker.min-calls:20}") int minCalls,
+                                @Value("${imgbell.search.breaker.open-seconds:10}") long openSeconds,
+                                @Value("${imgbell.search.breaker.half-open-calls:5}") int halfOpenCalls,
+                                @Value("${imgbell.search.breaker.pool-size:16}") int poolSize,
+                                @Value("${imgbell.search.breaker.queue-size:32}") int queueSize) {
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(minCalls)
+                .failureRateThreshold(failureRate)
+                .slowCallRateThreshold(slowCallRate)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallMillis))
+                .waitDurationInOpenState(Duration.ofSeconds(openSeconds))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(SearchCircuitBreaker::isServerFault)
+                .ignoreException(error -> !isServerFault(error))
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        this.circuitBreaker = registry.circuitBreaker(BREAKER_NAME);
+        this.circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("🛡️ ES 서킷 브레이커 상태 변경: {}", event.getStateTransition()));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "es-search-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 목록 검색용: 결과를 항상 DegradablePage로 감싸서 degraded 여부를 응답에 포함
+     */
+    public <T> Page<T> page(String operation, Callable<Page<T>> search, Supplier<Page<T>> fallback) {
+        return call(operation,
+                () -> DegradablePage.of(search.call(), false),
+                () -> DegradablePage.of(fallback.get(), true));
+    }
+
+    public <T> T call(String operation, Callable<T> search, Supplier<T> fallback) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return fallback(operation, "open", fallback);
+        }
+
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(search);
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.releasePermission();
+            return fallback(operation, "rejected", fallback);
+        }
+
+        try {
+            T result = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            log.warn("⏱️ ES 검색 타임아웃: operation={}, timeout={}ms", operation, timeoutMillis);
+            return fallback(operation, "timeout", fallback);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            // 무시 대상 예외는 resilience4j가 permission만 반환하고 집계하지 않음
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, cause);
+            if (isClientError(cause)) {
+                log.warn("🙅 잘못된 검색 요청: operation={}, reason={}", operation, cause.getMessage());
+                throw cause instanceof GlobalException globalException ? globalException
+                        : new GlobalException("잘못된 검색 요청입니다", "INVALID_SEARCH_REQUEST", HttpStatus.BAD_REQUEST);
+            }
+            log.error("🚨 ES 검색 실패: operation={}", operation, cause);
+            return fallback(operation, "error", fallback);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            circuitBreaker.releasePermission();
+            return fallback(operation, "interrupted", fallback);
+        }
+    }
+
+    /**
+     * 브레이커 실패로 집계할 예외 - 연결/IO 오류, 타임아웃, ES 5xx
+     */
+    static boolean isServerFault(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof IOException || t instanceof DataAccessResourceFailureException) {
+                return true;
+            }
+            Integer status = statusOf(t);
+            if (status != null) {
+                return status >= 500;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 요청 자체가 잘못된 경우 - 잘못된 페이지 인자, ES 4xx, 4xx GlobalException
+     */
+    static boolean isClientError(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof GlobalException globalException) {
+                return globalException.getHttpStatus().is4xxClientError();
+            }
+            if (t instanceof IllegalArgumentException) {
+                return true;
+            }
+            Integer status = statusOf(t);
+            if (status != null) {
+                return status >= 400 && status < 500;
+            }
+        }
+        return false;
+    }
+
+    private static Integer statusOf(Throwable error) {
+        if (error instanceof UncategorizedElasticsearchException e) {
+            return e.getStatusCode();
+        }
+        if (error instanceof ElasticsearchException e) {
+            return e.status();
+        }
+        return null;
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T fallback(String operation, String reason, Supplier<T> fallback) {
+        Counter.builder("imgbell_search_fallback_total")
+                .description("Search requests served by the DB fallback instead of Elasticsearch")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return fallback.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,40 @@
+package ImgBell.Image.ElasticSearch;
+
+import ImgBell.GlobalErrorHandler.GlobalException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 🧭 search_after 커서 (클라이언트에는 base64url 문자열로만 노출)
+ *
+ * - pit: point-in-time ID → 스크롤하는 동안 같은 스냅샷을 봄 (중간에 색인돼도 중복/누락 없음)
+ * - after: 마지막 문서의 정렬 값 (마지막 값은 _shard_doc 타이브레이커)
+ * - origin: 첫 페이지 조회 시각(epoch ms) → 최신성 점수 기준을 고정해 페이지마다 점수가 바뀌지 않도록
+ */
+public record SearchCursor(String pit, List<Object> after, Long origin) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(this));
+        } catch (Exception e) {
+            throw new IllegalStateException("검색 커서 인코딩 실패", e);
+        }
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            SearchCursor decoded = OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), SearchCursor.class);
+            if (decoded.pit() == null || decoded.after() == null || decoded.after().isEmpty()) {
+                throw new IllegalArgumentException("빈 커서");
+            }
+            return decoded;
+        } catch (Exception e) {
+            throw new GlobalException("유효하지 않은 검색 커서입니다", "INVALID_SEARCH_CURSOR", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ImgBell.Image.ElasticSearch;
+
+import ImgBell.GlobalErrorHandler.GlobalException;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsAggregate;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 🧮 검색 패싯 (검색 요청 하나에 집계로 함께 계산)
+ * - TAGS: nested(tags) → terms(tags.name.keyword)
+ * - GRADE / ARTIST / UPLOADER: keyword 필드 terms
+ */
+public enum SearchFacet {
+
+    TAGS("tags", "tags.name.keyword", true),
+    GRADE("grade", "imageGrade", false),
+    ARTIST("artist", "artist.keyword", false),
+    UPLOADER("uploader", "uploaderName.keyword", false);
+
+    private static final String NESTED_TERMS = "names";
+
+    private final String key;
+    private final String field;
+    private final boolean nested;
+
+    SearchFacet(String key, String field, boolean nested) {
+        this.key = key;
+        this.field = field;
+        this.nested = nested;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public Aggregation aggregation(int size) {
+        Aggregation terms = Aggregation.of(a -> a.terms(t -> t.field(field).size(size)));
+        if (!nested) {
+            return terms;
+        }
+        return Aggregation.of(a -> a
+                .nested(n -> n.path("tags"))
+                .aggregations(NESTED_TERMS, terms));
+    }
+
+    public List<FacetedSearchResponse.FacetBucket> buckets(Aggregate aggregate) {
+        StringTermsAggregate terms = nested
+                ? aggregate.nested().aggregations().get(NESTED_TERMS).sterms()
+                : aggregate.sterms();
+        return terms.buckets().array().stream()
+                .map(bucket -> new FacetedSearchResponse.FacetBucket(bucket.key().stringValue(), bucket.docCount()))
+                .toList();
+    }
+
+    public static SearchFacet of(String value) {
+        for (SearchFacet facet : values()) {
+            if (facet.key.equals(value.trim().toLowerCase(Locale.ROOT))) {
+                return facet;
+            }
+        }
+        throw new GlobalException("지원하지 않는 패싯입니다: " + value, "UNSUPPORTED_SEARCH_FACET", HttpStatus.BAD_REQUEST);
+    }
+}
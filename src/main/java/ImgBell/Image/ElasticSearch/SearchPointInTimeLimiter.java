@@ -0,0 +1,79 @@
+package ImgBell.Image.ElasticSearch;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🧭 커서 조회용 PIT(point-in-time) 개수 제한
+ *
+ * - 커서 엔드포인트는 익명 호출 가능 → 첫 페이지마다 PIT를 열면 스크롤을 버린 요청의 PIT가 keep-alive 동안 쌓여
+ *   ES의 search context 한도를 소진할 수 있음
+ * - 이 노드가 연 PIT를 만료 시각과 함께 추적하고, 살아 있는 PIT가 max-open 이상이면 새로 열지 않음
+ *   (동시에 열리는 몇 건은 넘칠 수 있는 느슨한 상한, 노드별 기준)
+ * - keep-alive는 짧게: 다음 페이지를 요청할 때마다 연장되므로 계속 스크롤하는 사용자는 영향 없음
+ *
+ *   imgbell.search.cursor.keep-alive-seconds=30
+ *   imgbell.search.cursor.max-open=200
+ */
+@Slf4j
+@Component
+public class SearchPointInTimeLimiter {
+
+    // PIT ID → 만료 예상 시각 (epoch ms)
+    private final Map<String, Long> expiresAt = new ConcurrentHashMap<>();
+    private final Duration keepAlive;
+    private final int maxOpen;
+
+    public SearchPointInTimeLimiter(MeterRegistry meterRegistry,
+                                    @Value("${imgbell.search.cursor.keep-alive-seconds:30}") long keepAliveSeconds,
+                                    @Value("${imgbell.search.cursor.max-open:200}") int maxOpen) {
+        this.keepAlive = Duration.ofSeconds(keepAliveSeconds);
+        this.maxOpen = maxOpen;
+
+        Gauge.builder("imgbell_search_open_pits", this, SearchPointInTimeLimiter::openCount)
+                .description("Point-in-time contexts opened by this node for cursor queries and not yet expired")
+                .register(meterRegistry);
+    }
+
+    public Duration keepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * 새 PIT를 열어도 되는지 (만료된 항목은 여기서 정리)
+     */
+    public boolean canOpen() {
+        boolean allowed = openCount() < maxOpen;
+        if (!allowed) {
+            log.warn("🧭 열린 PIT가 상한에 도달: {}개", maxOpen);
+        }
+        return allowed;
+    }
+
+    /**
+     * PIT 사용(열기/연장) 기록 - ES가 새 PIT ID를 돌려주면 이전 ID는 제거
+     */
+    public void touch(String previousPit, String pit) {
+        if (previousPit != null && !previousPit.equals(pit)) {
+            expiresAt.remove(previousPit);
+        }
+        expiresAt.put(pit, System.currentTimeMillis() + keepAlive.toMillis());
+    }
+
+    public void closed(String pit) {
+        expiresAt.remove(pit);
+    }
+
+    private int openCount() {
+        long now = System.currentTimeMillis();
+        expiresAt.values().removeIf(expiry -> expiry <= now);
+        return expiresAt.size();
+    }
+}
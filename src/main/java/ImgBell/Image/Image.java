@@ -52,6 +52,9 @@ public class Image {
     private Integer likeCount = 0;
     private Integer downloadCount = 0;
 
+    // 지각 해시 (64bit dHash) - 재업로드/재압축된 유사 이미지 탐지용. 디코딩 불가 파일은 null
+    private Long perceptualHash;
+
 
     public enum ImageGrade {
         GENERAL,
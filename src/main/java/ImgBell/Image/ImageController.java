@@ -1,5 +1,6 @@
 package ImgBell.Image;
 
+import ImgBell.Image.Duplicate.ImageDuplicateService;
 import ImgBell.Redis.RateLimit;
 import ImgBell.Member.CustomUserDetails;
 import ImgBell.GlobalErrorHandler.GlobalException;
@@ -41,6 +42,7 @@ public class ImageController {
     private final RankingService rankingService;
     private final ImageService imageService;
     private final ImageAIService imageAIService;
+    private final ImageDuplicateService imageDuplicateService;
     @Value("${spring.cloud.aws.s3.bucket}")
     private String bucket;
 
@@ -84,10 +86,10 @@ public class ImageController {
 
     @Operation(
         summary = "이미지 정보 DB 저장",
-        description = "업로드된 이미지들의 메타데이터를 데이터베이스에 저장합니다."
+        description = "업로드된 이미지들의 메타데이터를 데이터베이스에 저장합니다. 기존 이미지와 유사한 업로드가 있으면 저장 후 duplicates 경고를 함께 반환합니다."
     )
     @ApiResponses({
-        @ApiResponse(responseCode = "201", description = "이미지 정보 저장 성공"),
+        @ApiResponse(responseCode = "201", description = "이미지 정보 저장 성공 (유사 이미지가 없으면 \"Added\", 있으면 message + duplicates)"),
         @ApiResponse(responseCode = "400", description = "잘못된 요청")
     })
     @RateLimit(
@@ -105,7 +107,12 @@ public class ImageController {
         try {
             // DB에 파일 정보 저장
             System.out.println("이미지 업로드");
-            imageService.saveFileInfoToDb(images);
+            // 지각 해시는 저장소 조회가 필요하므로 DB 트랜잭션 전에 계산
+            Map<String, Long> fingerprints = imageDuplicateService.fingerprintAll(images);
+            List<ImageDuplicateService.DuplicateWarning> duplicates = imageService.saveFileInfoToDb(images, fingerprints);
+            if (!duplicates.isEmpty()) {
+                return new ResponseEntity<>(Map.of("message", "Added", "duplicates", duplicates), HttpStatus.CREATED);
+            }
             return new ResponseEntity<>("Added", HttpStatus.CREATED);
         } catch (GlobalException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -185,6 +192,38 @@ public class ImageController {
         return ResponseEntity.ok(imageService.getImageDetail(id, increaseView, auth));
     }
 
+    @Operation(
+        summary = "유사 이미지 조회",
+        description = "지각 해시(dHash) 해밍 거리 기준으로 재업로드/재압축/크기 변경된 유사 공개 이미지를 거리 순으로 반환합니다. 비공개 이미지는 업로더 본인만 조회할 수 있습니다."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "404", description = "이미지를 찾을 수 없음 (다른 사람의 비공개 이미지 포함)"),
+        @ApiResponse(responseCode = "422", description = "해시를 계산할 수 없는 파일 형식"),
+        @ApiResponse(responseCode = "429", description = "요청 한도 초과")
+    })
+    @RateLimit(
+        windowSeconds = 60,
+        maxRequests = 30,
+        identifierType = RateLimit.IdentifierType.IP,
+        type = RateLimit.RateLimitType.SLIDING_WINDOW,
+        message = "유사 이미지 조회 요청이 너무 많습니다. 1분 후 다시 시도해주세요."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/{id}/duplicates")
+    public ResponseEntity<List<ImageDuplicateService.DuplicateMatch>> getDuplicates(
+        @Parameter(description = "이미지 ID", required = true, example = "1")
+        @PathVariable Long id,
+
+        @Parameter(description = "최대 해밍 거리 (0 이상, 서버 설정 imgbell.duplicate.max-distance(기본 10)를 넘으면 그 값으로 제한, 생략 시 서버 설정값)", example = "10")
+        @RequestParam(required = false) Integer maxDistance,
+        Authentication auth
+    ) {
+        Long viewerId = auth != null && auth.isAuthenticated() && auth.getPrincipal() instanceof CustomUserDetails user
+                ? user.getId() : null;
+        return ResponseEntity.ok(imageDuplicateService.findDuplicates(id, maxDistance, viewerId));
+    }
+
     @Operation(
         summary = "이미지 삭제",
         description = "본인이 업로드한 이미지를 삭제합니다."
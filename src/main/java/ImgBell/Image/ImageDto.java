@@ -70,6 +70,9 @@ public class ImageDto {
     
     @Schema(description = "댓글 리스트")
     private List<CommentDto> comments;
+
+    @Schema(description = "현재 로그인 사용자의 좋아요 여부 (비로그인 시 생략)", example = "true")
+    private Boolean likedByMe;
 }
 
 
@@ -4,10 +4,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 public interface ImageRepository extends JpaRepository<Image, Long>, JpaSpecificationExecutor<Image> {
@@ -40,4 +43,44 @@ public interface ImageRepository extends JpaRepository<Image, Long>, JpaSpecific
     Page<Image> findAllByOrderByViewCountDesc(Pageable pageable);
 
     List<Image> findTop5ByOrderByCreatedAtDesc();
+
+    /**
+     * 좋아요 수 증감 (0 미만으로 내려가지 않음) - 엔티티 로딩 없이 UPDATE 1회
+     */
+    @Modifying
+    @Query("UPDATE Image i SET i.likeCount = CASE WHEN i.likeCount + :delta < 0 THEN 0 ELSE i.likeCount + :delta END WHERE i.id = :imageId")
+    int adjustLikeCount(@Param("imageId") Long imageId, @Param("delta") int delta);
+
+    /**
+     * 색인용 일괄 조회 - 태그와 업로더를 함께 가져와 이미지별 지연 로딩 없음
+     */
+    @Query("SELECT DISTINCT i FROM Image i LEFT JOIN FETCH i.tags LEFT JOIN FETCH i.uploader WHERE i.id IN :ids")
+    List<Image> findAllWithTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // === 재색인용 keyset 조회 ===
+    @Query("SELECT MIN(i.id) FROM Image i")
+    Long findMinId();
+
+    @Query("SELECT MAX(i.id) FROM Image i")
+    Long findMaxId();
+
+    /**
+     * (afterId, maxId] 범위의 ID를 오름차순으로 - limit은 Pageable(0, size)로 전달
+     */
+    @Query("SELECT i.id FROM Image i WHERE i.id > :afterId AND i.id <= :maxId ORDER BY i.id")
+    List<Long> findIdsInRange(@Param("afterId") Long afterId, @Param("maxId") Long maxId, Pageable limit);
+
+    /**
+     * 유사 이미지 인덱스 적재용 - [id, perceptualHash] 쌍만 조회
+     */
+    @Query("SELECT i.id, i.perceptualHash FROM Image i WHERE i.perceptualHash IS NOT NULL")
+    List<Object[]> findAllPerceptualHashes();
+
+    /**
+     * 지각 해시만 갱신 (조회수/좋아요 등 다른 컬럼은 건드리지 않음)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Image i SET i.perceptualHash = :hash WHERE i.id = :imageId")
+    int updatePerceptualHash(@Param("imageId") Long imageId, @Param("hash") Long hash);
 }
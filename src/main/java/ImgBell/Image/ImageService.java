@@ -3,15 +3,19 @@ package ImgBell.Image;
 import ImgBell.GlobalErrorHandler.GlobalException;
 import ImgBell.Image.Comment.Comment;
 import ImgBell.Image.Comment.CommentDto;
+import ImgBell.Image.Duplicate.ImageDuplicateService;
+import ImgBell.Image.ElasticSearch.ImageStatsPropagator;
 import ImgBell.Image.ElasticSearch.ImageSyncService;
 import ImgBell.Image.Tag.Tag;
 import ImgBell.Image.Tag.TagDto;
 import ImgBell.Image.Tag.TagRepository;
 import ImgBell.ImageLike.ImageLikeRepository;
-import ImgBell.Kafka.Producer.ElasticSearchProducerService;
+import ImgBell.ImageLike.MemberLikeStore;
+import ImgBell.Kafka.Outbox.SearchIndexOutboxService;
 import ImgBell.Member.CustomUserDetails;
 import ImgBell.Member.Member;
 import ImgBell.Member.MemberRepository;
+import ImgBell.Redis.RedisBatch;
 import ImgBell.Redis.RedisService;
 import io.micrometer.core.instrument.Counter;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +23,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.Response;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
@@ -38,8 +43,13 @@ import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignReques
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 
@@ -56,7 +66,9 @@ public class ImageService {
     private final RankingService rankingService;
     private final RedisService redisService;
     private final ImageSyncService imageSyncService;
-    private final ElasticSearchProducerService elasticSearchProducerService;
+    private final SearchIndexOutboxService searchIndexOutboxService;
+    private final MemberLikeStore memberLikeStore;
+    private final ImageDuplicateService imageDuplicateService;
     
     // 🔥 Prometheus 메트릭 추가
     private final Counter imageUploadCounter;
@@ -85,8 +97,16 @@ public class ImageService {
     }
 
 
+    /**
+     * 업로드된 이미지 정보 저장
+     * fingerprints: ImageDuplicateService.fingerprintAll 결과 (imageUrl → 지각 해시, 트랜잭션 밖에서 미리 계산)
+     * 반환: 기존 이미지와 유사한 업로드에 대한 경고 (등록은 그대로 진행)
+     */
     @Transactional
-    public void saveFileInfoToDb(List<ImageDto> imageDtos) {
+    public List<ImageDuplicateService.DuplicateWarning> saveFileInfoToDb(List<ImageDto> imageDtos, Map<String, Long> fingerprints) {
+        List<ImageDuplicateService.DuplicateWarning> warnings = new ArrayList<>();
+        // 이번 요청에서 저장한 이미지 (커밋 전이라 유사 이미지 인덱스에 아직 없음)
+        List<Image> savedInBatch = new ArrayList<>();
         for (ImageDto dto : imageDtos) {
             try {
                 Image image = Image.builder()
@@ -102,6 +122,7 @@ public class ImageService {
                         .likeCount(0)
                         .downloadCount(0)
                         .viewCount(0)
+                        .perceptualHash(fingerprints.get(dto.getImageUrl()))
                         .build();
 
                 // uploader 설정
@@ -132,18 +153,26 @@ public class ImageService {
                 imageUploadCounter.increment();
                 log.info("이미지 업로드 메트릭 증가: {}", savedImage.getId());
 
-                // 🔄 ElasticSearch 동기화
-                try {
-                    //imageSyncService.syncSingleImage(savedImage.getId());
-                    log.info("elasticSearchProducerService발동");
-                    elasticSearchProducerService.sendSyncEvent(savedImage.getId());
-                } catch (Exception syncError) {
-                    System.out.println("ElasticSearch 동기화 실패: " + syncError.getMessage());
+                // 🔄 ElasticSearch 동기화 - 같은 트랜잭션에 outbox 기록, 커밋 후 전송
+                searchIndexOutboxService.enqueueSync(savedImage.getId());
+
+                // 👯 유사 이미지 경고 + 커밋 후 유사 이미지 인덱스에 추가
+                Long hash = savedImage.getPerceptualHash();
+                if (hash != null) {
+                    List<ImageDuplicateService.DuplicateMatch> similar = new ArrayList<>(imageDuplicateService.findSimilar(hash, savedImage.getId(), Integer.MAX_VALUE));
+                    similar.addAll(imageDuplicateService.findSimilarInBatch(hash, savedInBatch));
+                    if (!similar.isEmpty()) {
+                        similar.sort(Comparator.comparingInt(ImageDuplicateService.DuplicateMatch::distance));
+                        warnings.add(new ImageDuplicateService.DuplicateWarning(dto.getImageUrl(), savedImage.getId(), similar));
+                    }
+                    imageDuplicateService.register(savedImage.getId(), hash);
+                    savedInBatch.add(savedImage);
                 }
             } catch (Exception e) {
                 System.out.println("이미지 저장 오류남: " + e.getMessage());
             }
         }
+        return warnings;
     }
 
 
@@ -192,15 +221,10 @@ public class ImageService {
         }
 
         imageRepository.delete(deleteTargetImage);
+        imageDuplicateService.unregister(id);
         
-        // 🗑️ ElasticSearch에서도 삭제 
-        // ==============이거 나중에 Kafka써서 비동기로 교체
-        try {
-            // imageSyncService.deleteFromIndex(id); /**카프카 비동기로 교체*/
-            elasticSearchProducerService.sendDeleteEvent(id);
-        } catch (Exception syncError) {
-            System.out.println("ElasticSearch 삭제 동기화 실패: " + syncError.getMessage());
-        }
+        // 🗑️ ElasticSearch에서도 삭제 - 같은 트랜잭션에 outbox 기록, 커밋 후 전송
+        searchIndexOutboxService.enqueueDelete(id);
         
         return ResponseEntity.ok().body("이미지가 성공적으로 삭제되었습니다");
     }
@@ -237,13 +261,8 @@ public class ImageService {
 
         Image savedImage = imageRepository.save(targetImage);
 
-        // 🔄 ElasticSearch 동기화 // ==============이거 나중에 Kafka써서 비동기로 교체
-        try {
-            // imageSyncService.syncSingleImage(savedImage.getId());
-            elasticSearchProducerService.sendSyncEvent(savedImage.getId());
-        } catch (Exception syncError) {
-            throw new GlobalException("ElasticSearch 업데이트 동기화 실패", "ELASTICSEARCH_SYNC_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+        // 🔄 ElasticSearch 동기화 - 같은 트랜잭션에 outbox 기록, 커밋 후 전송
+        searchIndexOutboxService.enqueueSync(savedImage.getId());
 
         // Entity를 DTO로 변환
         ImageDto responseDto = convertToRequestDto(savedImage);
@@ -324,14 +343,31 @@ public class ImageService {
 
         Page<Image> images = imageRepository.findAll(spec, pageable);
 
-        // Entity -> DTO 변환
-        return images.map(this::convertToLightDto);
+        // Entity -> DTO 변환 (통계는 페이지 단위로 한 번에 조회)
+        Page<ImageDto> dtoPage = convertToLightDtoPage(images);
+        fillLikedByMe(dtoPage.getContent(), auth);
+        return dtoPage;
+    }
+
+    /**
+     * 현재 사용자의 좋아요 여부를 DTO 목록 전체에 채움 - Redis 호출 1회 (SMISMEMBER / 비트맵 probe)
+     */
+    public void fillLikedByMe(List<ImageDto> dtos, Authentication auth) {
+        if (dtos.isEmpty() || auth == null || !auth.isAuthenticated()
+                || !(auth.getPrincipal() instanceof CustomUserDetails user)) {
+            return;
+        }
+        List<Long> imageIds = dtos.stream().map(ImageDto::getId).toList();
+        Map<Long, Boolean> flags = memberLikeStore.likedFlags(user.getId(), imageIds);
+        for (ImageDto dto : dtos) {
+            dto.setLikedByMe(flags.getOrDefault(dto.getId(), false));
+        }
     }
 
     @Transactional
     public Page<ImageDto> getPopularImages(Pageable pageable) {
         Page<Image> images = imageRepository.findAllByOrderByViewCountDesc(pageable);
-        return images.map(this::convertToLightDto);
+        return convertToLightDtoPage(images);
     }
 
     // Service
@@ -375,7 +411,9 @@ public class ImageService {
                 recentViewService.addRecentView(userId, id, image.getImageUrl());
             }
 
-            return convertToRequestDto(image);
+            ImageDto dto = convertToRequestDto(image);
+            fillLikedByMe(List.of(dto), auth);
+            return dto;
     }
 
 
@@ -385,16 +423,86 @@ public class ImageService {
      * Image Entity를 ImageResponseDto로 변환하는 메서드
      */
     public ImageDto convertToLightDto(Image image) {
-        return ImageDto.builder()
-                .id(image.getId())
-                .imageUrl(image.getImageUrl())
-                .imageName(image.getImageName())
-                .uploaderName(image.getUploader() != null ? image.getUploader().getUsername() : "Unknown")
-                .likeCount(this.getLikeCount(image.getId()).intValue())
-                .viewCount(this.getViewCount(image.getId()).intValue())
-                .imageGrade(image.getImageGrade())
-                .isPublic(image.getIsPublic())
-                .build();
+        return convertToLightDtos(List.of(image)).get(0);
+    }
+
+    public Page<ImageDto> convertToLightDtoPage(Page<Image> images) {
+        return new PageImpl<>(convertToLightDtos(images.getContent()), images.getPageable(), images.getTotalElements());
+    }
+
+    /**
+     * 목록용 DTO 일괄 변환
+     * - 이미지별 HGET 2회 → 전체 HMGET을 파이프라인 한 번으로 조회
+     * - Redis에 없는 통계는 이미 로딩된 엔티티 값을 쓰고 HSETNX로 채워둠 (findById 재조회 없음)
+     */
+    public List<ImageDto> convertToLightDtos(List<Image> images) {
+        if (images.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        RedisBatch batch = redisService.batch();
+        Map<Long, Map<String, String>> localStats = new LinkedHashMap<>();
+        Map<Long, RedisBatch.Response<List<String>>> statsById = new LinkedHashMap<>();
+        // 트래킹 대상 키는 해시 전체를 읽어 로컬 캐시에 채움 (다음 목록 조회부터 로컬 히트)
+        Map<Long, RedisBatch.Response<Map<String, String>>> trackedById = new LinkedHashMap<>();
+        Map<Long, Object> trackedTokens = new HashMap<>();
+        for (Image image : images) {
+            String key = "image:stats:" + image.getId();
+            // 클라이언트 사이드 캐시(트래킹)에 있으면 Redis 조회 생략
+            Map<String, String> local = redisService.peekHashTracked(key);
+            if (local != null) {
+                localStats.put(image.getId(), local);
+                continue;
+            }
+            Object token = redisService.beginTrackedLoad(key);
+            if (token != null) {
+                trackedTokens.put(image.getId(), token);
+                trackedById.put(image.getId(), batch.hGetAll(key));
+            } else {
+                statsById.put(image.getId(), batch.hMGet(key, "viewCount", "likeCount"));
+            }
+        }
+        batch.execute();
+        trackedById.forEach((imageId, response) -> {
+            Map<String, String> loaded = response.get();
+            redisService.completeTrackedHash("image:stats:" + imageId, trackedTokens.get(imageId), loaded);
+            localStats.put(imageId, loaded != null ? loaded : Map.of());
+        });
+
+        RedisBatch backfill = redisService.batch();
+        List<ImageDto> dtos = new ArrayList<>(images.size());
+        for (Image image : images) {
+            Map<String, String> local = localStats.get(image.getId());
+            List<String> stats = local != null
+                    ? Arrays.asList(local.get("viewCount"), local.get("likeCount"))
+                    : statsById.get(image.getId()).get();
+            int viewCount = resolveStat(backfill, image.getId(), "viewCount", stats.get(0), image.getViewCount());
+            int likeCount = resolveStat(backfill, image.getId(), "likeCount", stats.get(1), image.getLikeCount());
+
+            dtos.add(ImageDto.builder()
+                    .id(image.getId())
+                    .imageUrl(image.getImageUrl())
+                    .imageName(image.getImageName())
+                    .uploaderName(image.getUploader() != null ? image.getUploader().getUsername() : "Unknown")
+                    .likeCount(likeCount)
+                    .viewCount(viewCount)
+                    .imageGrade(image.getImageGrade())
+                    .isPublic(image.getIsPublic())
+                    .build());
+        }
+        if (!backfill.isEmpty()) {
+            backfill.execute();
+        }
+        return dtos;
+    }
+
+    private int resolveStat(RedisBatch backfill, Long imageId, String field, String cached, Integer dbValue) {
+        if (cached != null) {
+            return Integer.parseInt(cached);
+        }
+        int value = dbValue != null ? dbValue : 0;
+        backfill.hSetIfAbsent("image:stats:" + imageId, field, value);
+        return value;
     }
 
     public ImageDto convertToRequestDto(Image image) {
@@ -510,6 +618,7 @@ public class ImageService {
         
         // Redis 캐시 업데이트
         redisService.incrementHashValue("image:stats:" + imageId, "likeCount", 1);
+        redisService.addToSet(ImageStatsPropagator.DIRTY_KEY, String.valueOf(imageId));
         
         // 랭킹 점수 업데이트
         rankingService.updateLikeScore(imageId);
@@ -528,6 +637,7 @@ public class ImageService {
         
         // Redis 캐시 업데이트
         redisService.incrementHashValue("image:stats:" + imageId, "likeCount", -1);
+        redisService.addToSet(ImageStatsPropagator.DIRTY_KEY, String.valueOf(imageId));
         // 랭킹 점수 업데이트 (감소)
         rankingService.updateImageScore(imageId, -3); // 좋아요 취소는 -3점
     }
@@ -545,6 +655,7 @@ public class ImageService {
         
         // Redis 캐시 업데이트
         redisService.incrementHashValue("image:stats:" + imageId, "viewCount", 1);
+        redisService.addToSet(ImageStatsPropagator.DIRTY_KEY, String.valueOf(imageId));
         
         // 랭킹 점수 업데이트
         rankingService.updateViewScore(imageId);
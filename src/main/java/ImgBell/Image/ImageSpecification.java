@@ -27,6 +27,26 @@ public class ImageSpecification {
         };
     }
 
+    public static Specification<Image> hasAnyTag(List<String> tags) {
+        return (root, query, cb) -> {
+            if (tags == null || tags.isEmpty()) {
+                return null;
+            }
+            query.distinct(true);
+            Join<Image, Tag> tagJoin = root.join("tags", JoinType.INNER);
+            return tagJoin.get("name").in(tags);
+        };
+    }
+
+    public static Specification<Image> hasUploaderId(Long uploaderId) {
+        return (root, query, cb) -> {
+            if (uploaderId == null) {
+                return null;
+            }
+            return cb.equal(root.get("uploader").get("id"), uploaderId);
+        };
+    }
+
     public static Specification<Image> hasGrade(String grade) {
         return (root, query, cb) -> {
             if (grade == null || grade.isEmpty()) {
@@ -1,5 +1,6 @@
 package ImgBell.Image;
 
+import ImgBell.Redis.RedisBatch;
 import ImgBell.Redis.RedisService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.ZSetOperations;
@@ -21,28 +22,46 @@ public class RankingService {
     
     // 점수 가중치 설정
     private static final int VIEW_SCORE = 1;
-    private static final int LIKE_SCORE = 3;
+    public static final int LIKE_SCORE = 3;
     private static final int DOWNLOAD_SCORE = 2;
+
+    // 일/주/월 랭킹 키 TTL (currentRankingKeys 순서와 동일)
+    public static final List<Long> RANKING_TTL_SECONDS = List.of(
+            TimeUnit.DAYS.toSeconds(2), TimeUnit.DAYS.toSeconds(8), TimeUnit.DAYS.toSeconds(32));
     
     /**
      * 점수 업데이트 (범용 메소드)
+     * 일/주/월 ZINCRBY 3회 + EXPIRE 3회를 파이프라인 한 번으로 실행
      */
     public void updateScore(String table, Long id, int score) {
+        RedisBatch batch = redisService.batch();
+        appendScoreUpdate(batch, table, id, score);
+        batch.execute();
+    }
+
+    /**
+     * 호출 측 배치에 랭킹 점수 갱신 명령을 추가 (통계 갱신 등과 같은 왕복으로 묶을 때 사용)
+     */
+    public void appendScoreUpdate(RedisBatch batch, String table, Long id, int score) {
+        List<String> keys = currentRankingKeys(table);
+        for (int i = 0; i < keys.size(); i++) {
+            // Sorted Set을 사용하여 점수 증가 (더 효율적)
+            batch.zIncrBy(keys.get(i), id, score);
+            // TTL 설정 (메모리 최적화)
+            batch.expire(keys.get(i), RANKING_TTL_SECONDS.get(i), TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 현재 일/주/월 랭킹 키 (Lua 스크립트 등에서 직접 갱신할 때 사용)
+     */
+    public List<String> currentRankingKeys(String table) {
         String today = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        String thisWeek = getWeekKey();
-        String thisMonth = getMonthKey();
-        
         String prefix = table.equals("forum") ? "forum:" : "";
-        
-        // Sorted Set을 사용하여 점수 증가 (더 효율적)
-        redisService.incrementScoreInSortedSet(prefix + DAILY_RANKING_KEY + today, id.toString(), score);
-        redisService.incrementScoreInSortedSet(prefix + WEEKLY_RANKING_KEY + thisWeek, id.toString(), score);
-        redisService.incrementScoreInSortedSet(prefix + MONTHLY_RANKING_KEY + thisMonth, id.toString(), score);
-        
-        // TTL 설정 (메모리 최적화)
-        redisService.expire(prefix + DAILY_RANKING_KEY + today, 2, TimeUnit.DAYS);
-        redisService.expire(prefix + WEEKLY_RANKING_KEY + thisWeek, 8, TimeUnit.DAYS);
-        redisService.expire(prefix + MONTHLY_RANKING_KEY + thisMonth, 32, TimeUnit.DAYS);
+        return List.of(
+                prefix + DAILY_RANKING_KEY + today,
+                prefix + WEEKLY_RANKING_KEY + getWeekKey(),
+                prefix + MONTHLY_RANKING_KEY + getMonthKey());
     }
     
     /**
@@ -87,7 +106,7 @@ public class RankingService {
      */
     public List<Long> getTop(String table, String period, int limit) {
         String key;
-        Set<Object> topRankers;
+        Set<String> topRankers;
 
         if (table.equals("image")) {
             key = getRankingKey(period);
@@ -97,7 +116,7 @@ public class RankingService {
         topRankers = redisService.getTopRanking(key, limit);
 
         return topRankers.stream()
-                .map(id -> Long.valueOf(id.toString()))
+                .map(RankingService::parseMemberId)
                 .collect(Collectors.toList());
     }
 
@@ -112,12 +131,12 @@ public class RankingService {
             key = getRankingKeyForForum(period);
         }
         
-        Set<ZSetOperations.TypedTuple<Object>> rankingWithScores = 
+        Set<ZSetOperations.TypedTuple<String>> rankingWithScores = 
             redisService.getRangeWithScores(key, 0, limit - 1);
         
         return rankingWithScores.stream()
                 .map(tuple -> new RankingEntry(
-                    Long.valueOf(tuple.getValue().toString()),
+                    parseMemberId(tuple.getValue()),
                     tuple.getScore().intValue()
                 ))
                 .collect(Collectors.toList());
@@ -166,6 +185,18 @@ public class RankingService {
         };
     }
     
+    /**
+     * 랭킹 멤버 → ID 변환
+     * 코덱 마이그레이션 전 키는 멤버가 JSON 문자열("\"123\"")로 남아있을 수 있어 따옴표를 제거
+     */
+    static Long parseMemberId(String member) {
+        String raw = member;
+        if (raw.length() >= 2 && raw.startsWith("\"") && raw.endsWith("\"")) {
+            raw = raw.substring(1, raw.length() - 1);
+        }
+        return Long.valueOf(raw);
+    }
+
     private String getWeekKey() {
         return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-'W'ww"));
     }
@@ -1,21 +1,16 @@
 package ImgBell.Image;
 
+import ImgBell.Redis.RedisBatch;
 import ImgBell.Redis.RedisService;
-import ImgBell.GlobalErrorHandler.GlobalException;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,79 +18,35 @@ public class RecentViewService {
     
     private final RedisService redisService;
     private static final String RECENT_VIEW_KEY = "user:recent:";
-    private final ObjectMapper objectMapper;
     private static final int MAX_RECENT_ITEMS = 10;
     private static final int RECENT_VIEW_TTL = 7; // 7일
     
     /**
      * 최근 본 항목 추가 (Redis List 직접 활용)
+     * - 항목은 CompactRedisCodec(Smile)으로 저장
+     * - 현재 목록(최대 10건)을 한 번 읽고, LREM → LPUSH → LTRIM → EXPIRE 를 파이프라인 한 번으로 실행
      */
-    @Transactional
     public void addRecentView(Long userId, Long imageId, String imageUrl) {
         String key = RECENT_VIEW_KEY + userId;
-
-        try {
-            // RecentViewItem 객체를 JSON 문자열로 변환
-            RecentViewItem item = new RecentViewItem(imageId, imageUrl);
-            String jsonValue = objectMapper.writeValueAsString(item);
-
-            // 기존 동일한 imageId 항목 제거 (중복 방지)
-            removeExistingItem(key, imageId);
-
-            // 맨 앞에 추가
-            redisService.leftPush(key, jsonValue);
-
-            // 최대 개수 제한
-            redisService.trimList(key, 0, MAX_RECENT_ITEMS - 1);
-
-            // TTL 설정
-            redisService.expire(key, RECENT_VIEW_TTL, TimeUnit.DAYS);
-
-        } catch (JsonProcessingException e) {
-            throw new GlobalException("최근 본 항목 저장 중 오류가 발생했습니다", "RECENT_VIEW_SAVE_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
-        }
-    }
-    
-
-    /**
-     * 최근 본 항목에서 특정 이미지 제거
-     */
-    private void removeExistingItem(String key, Long imageId) {
-        List<Object> allItems = redisService.getListRange(key, 0, -1);
-        if (allItems != null) {
-            for (Object item : allItems) {
-                try {
-                    RecentViewItem recentItem = objectMapper.readValue(item.toString(), RecentViewItem.class);
-                    if (recentItem.getImageId().equals(imageId)) {
-                        redisService.removeFromList(key, 0, item.toString());
-                        break;
-                    }
-                } catch (JsonProcessingException e) {
-                    // 파싱 실패한 항목은 제거
-                    redisService.removeFromList(key, 0, item.toString());
-                }
-            }
-        }
+        RecentViewItem item = new RecentViewItem(imageId, imageUrl);
+        List<RecentViewItem> current = getRecentViews(userId);
+
+        RedisBatch batch = redisService.batch();
+        // 기존 동일한 imageId 항목 제거 (중복 방지)
+        removeExisting(batch, key, current, imageId);
+        // 맨 앞에 추가
+        batch.lPushCompact(key, item);
+        // 최대 개수 제한
+        batch.lTrim(key, 0, MAX_RECENT_ITEMS - 1);
+        // TTL 설정
+        batch.expire(key, RECENT_VIEW_TTL, TimeUnit.DAYS);
+        batch.execute();
     }
 
     public List<RecentViewItem> getRecentViews(Long userId) {
         String key = RECENT_VIEW_KEY + userId;
-        List<Object> result = redisService.getListRange(key, 0, MAX_RECENT_ITEMS - 1);
-
-        if (result == null || result.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        return result.stream()
-                .map(item -> {
-                    try {
-                        return objectMapper.readValue(item.toString(), RecentViewItem.class);
-                    } catch (JsonProcessingException e) {
-                        return null; // 파싱 실패한 항목은 null로 처리
-                    }
-                })
-                .filter(Objects::nonNull) // null 제거
-                .collect(Collectors.toList());
+        // 디코딩 실패 항목(코덱 마이그레이션 전 JSON)은 RedisService에서 걸러짐
+        return redisService.getCompactListRange(key, 0, MAX_RECENT_ITEMS - 1, RecentViewItem.class);
     }
 
     
@@ -119,19 +70,36 @@ public class RecentViewService {
      */
     public void addMultipleRecentViews(Long userId, List<Long> imageIds) {
         String key = RECENT_VIEW_KEY + userId;
+        List<RecentViewItem> current = getRecentViews(userId);
+        RedisBatch batch = redisService.batch();
         
         for (Long imageId : imageIds) {
+            RecentViewItem item = new RecentViewItem(imageId, null);
             // 중복 제거
-            redisService.removeFromList(key, 0, imageId.toString());
+            removeExisting(batch, key, current, imageId);
+            batch.lRemCompact(key, 0, item);
             // 앞에 추가
-            redisService.leftPush(key, imageId.toString());
+            batch.lPushCompact(key, item);
         }
         
         // 최대 개수 제한
-        redisService.trimList(key, 0, MAX_RECENT_ITEMS - 1);
+        batch.lTrim(key, 0, MAX_RECENT_ITEMS - 1);
         
         // TTL 설정
-        redisService.expire(key, RECENT_VIEW_TTL, TimeUnit.DAYS);
+        batch.expire(key, RECENT_VIEW_TTL, TimeUnit.DAYS);
+        batch.execute();
+    }
+
+    /**
+     * 같은 imageId 항목 제거 - URL 유무가 달라도 같은 이미지면 제거
+     * LREM은 바이트 일치로만 지우므로 읽어온 항목을 그대로 다시 인코딩해서 지움 (같은 객체 = 같은 바이트)
+     */
+    private void removeExisting(RedisBatch batch, String key, List<RecentViewItem> current, Long imageId) {
+        for (RecentViewItem existing : current) {
+            if (Objects.equals(existing.getImageId(), imageId)) {
+                batch.lRemCompact(key, 0, existing);
+            }
+        }
     }
 }
 
@@ -0,0 +1,18 @@
+package ImgBell.Image.Storage;
+
+import java.io.IOException;
+
+/**
+ * 🗄️ 업로드된 이미지 원본 저장소
+ * 운영은 S3 (S3ImageStorage), 로컬/테스트는 디렉터리 (LocalImageStorage)
+ *
+ *   imgbell.storage.type=s3 | local
+ */
+public interface ImageStorage {
+
+    /**
+     * DB에 저장된 imageUrl이 가리키는 원본 바이트
+     * 실제 저장된 크기가 maxBytes를 넘으면 본문을 읽지 않고 IOException (클라이언트가 보낸 fileSize는 신뢰하지 않음)
+     */
+    byte[] read(String imageUrl, long maxBytes) throws IOException;
+}
@@ -0,0 +1,42 @@
+package ImgBell.Image.Storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 📁 로컬 디렉터리 저장소 (개발/테스트용 S3 대체)
+ * imageUrl의 경로 부분을 root 아래 상대 경로로 사용 (https://host/image/a.png → {root}/image/a.png)
+ *
+ *   imgbell.storage.type=local
+ *   imgbell.storage.local-root=./storage
+ */
+@Component
+@ConditionalOnProperty(name = "imgbell.storage.type", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    private final Path root;
+
+    public LocalImageStorage(@Value("${imgbell.storage.local-root:./storage}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public byte[] read(String imageUrl, long maxBytes) throws IOException {
+        String path = imageUrl.contains("://") ? URI.create(imageUrl).getPath() : imageUrl;
+        Path file = root.resolve(path.replaceFirst("^/+", "")).normalize();
+        if (!file.startsWith(root)) {
+            throw new IOException("저장소 밖의 경로입니다: " + imageUrl);
+        }
+        long size = Files.size(file);
+        if (size > maxBytes) {
+            throw new IOException("파일이 너무 큽니다: " + size + " bytes > " + maxBytes);
+        }
+        return Files.readAllBytes(file);
+    }
+}
@@ -0,0 +1,49 @@
+package ImgBell.Image.Storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.IOException;
+
+@Component
+@ConditionalOnProperty(name = "imgbell.storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3ImageStorage implements ImageStorage {
+
+    private final S3Client s3Client;
+    private final String bucket;
+
+    public S3ImageStorage(S3Client s3Client, @Value("${spring.cloud.aws.s3.bucket}") String bucket) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public byte[] read(String imageUrl, long maxBytes) throws IOException {
+        // 응답 헤더의 Content-Length를 먼저 보고, 크면 본문을 받지 않고 연결을 끊음 (abort)
+        try (ResponseInputStream<GetObjectResponse> object = s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(keyOf(imageUrl))
+                .build())) {
+            Long contentLength = object.response().contentLength();
+            if (contentLength == null || contentLength > maxBytes) {
+                object.abort();
+                throw new IOException("파일이 너무 큽니다: " + contentLength + " bytes > " + maxBytes);
+            }
+            return object.readNBytes(contentLength.intValue());
+        } catch (SdkException e) {
+            throw new IOException("S3 객체 조회 실패: " + imageUrl, e);
+        }
+    }
+
+    // https://{bucket}.s3.amazonaws.com/{key} → {key} (ImageService.extractS3Key와 같은 규칙)
+    static String keyOf(String imageUrl) {
+        int index = imageUrl.indexOf(".com/");
+        return index >= 0 ? imageUrl.substring(index + 5) : imageUrl;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/imagelike")
@@ -17,8 +18,10 @@ public class ImageLikeController {
 
     @PostMapping
     public ResponseEntity<?> likeImage(@RequestBody ImageLikeDto dto) {
-        imageLikeService.likeProduct(dto.getMemberId(), dto.getImageId());
-        return ResponseEntity.ok("좋아요 성공");
+        boolean liked = imageLikeService.likeProduct(dto.getMemberId(), dto.getImageId());
+        return ResponseEntity.ok(Map.of(
+                "message", liked ? "좋아요 성공" : "좋아요 취소",
+                "liked", liked));
     }
 
     @GetMapping("/member/{memberId}")
@@ -26,6 +29,14 @@ public class ImageLikeController {
         List<ImageDto> likedProducts = imageLikeService.getLikedProducts(memberId);
         return ResponseEntity.ok(likedProducts);
     }
+
+    // 좋아요 목록 keyset 페이지 - 다음 페이지는 응답의 nextCursor를 cursor로 전달
+    @GetMapping("/member/{memberId}/page")
+    public ResponseEntity<LikedSlice<ImageDto>> getLikedProductsPage(@PathVariable Long memberId,
+                                                                     @RequestParam(required = false) Long cursor,
+                                                                     @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(imageLikeService.getLikedProducts(memberId, cursor, size));
+    }
 }
 
 
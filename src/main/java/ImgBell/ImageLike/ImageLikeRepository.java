@@ -2,7 +2,9 @@ package ImgBell.ImageLike;
 
 import ImgBell.Image.Image;
 import ImgBell.Member.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -18,4 +20,21 @@ public interface ImageLikeRepository extends JpaRepository<ImageLike, Long> {
 
     @Query("SELECT il.image.id FROM ImageLike il WHERE il.member.id = :memberId")
     List<Long> findLikedImageIdsByMemberId(@Param("memberId") Long memberId);
+
+    /**
+     * 좋아요 목록 keyset 페이지 (좋아요 ID 내림차순 = 최근 좋아요 순)
+     * 이미지와 업로더를 함께 가져와 추가 select 없음 - limit은 Pageable(0, size + 1)로 전달
+     */
+    @Query("SELECT il FROM ImageLike il JOIN FETCH il.image i LEFT JOIN FETCH i.uploader " +
+            "WHERE il.member.id = :memberId AND il.id < :cursor ORDER BY il.id DESC")
+    List<ImageLike> findLikedPage(@Param("memberId") Long memberId, @Param("cursor") Long cursor, Pageable limit);
+
+    // write-behind 반영용 - (member_id, image_id) 유니크 제약에 기대어 멱등 처리, 영향 행 수 반환
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO image_like (member_id, image_id) VALUES (:memberId, :imageId)", nativeQuery = true)
+    int insertIgnore(@Param("memberId") Long memberId, @Param("imageId") Long imageId);
+
+    @Modifying
+    @Query(value = "DELETE FROM image_like WHERE member_id = :memberId AND image_id = :imageId", nativeQuery = true)
+    int deleteByMemberIdAndImageId(@Param("memberId") Long memberId, @Param("imageId") Long imageId);
 }
@@ -1,17 +1,14 @@
 package ImgBell.ImageLike;
 
 import ImgBell.Image.*;
-import ImgBell.Member.Member;
 import ImgBell.Member.MemberRepository;
 import ImgBell.GlobalErrorHandler.GlobalException;
-import ImgBell.Redis.RedisService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,58 +19,50 @@ public class ImageLikeService {
     private final ImageRepository imageRepository;
     private final ImageLikeRepository imageLikeRepository;
     private final ImageService imageService;
-    private final RedisService redisService;
+    private final MemberLikeStore memberLikeStore;
 
-    public void likeProduct(Long memberId, Long imageId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new GlobalException("회원을 찾을 수 없습니다", "MEMBER_NOT_FOUND", HttpStatus.NOT_FOUND));
-        Image image = imageRepository.findById(imageId)
-                .orElseThrow(() -> new GlobalException("이미지를 찾을 수 없습니다", "IMAGE_NOT_FOUND", HttpStatus.NOT_FOUND));
-
-        // 🔒 분산락 적용: 같은 사용자가 같은 이미지에 대한 좋아요 작업을 동시에 할 수 없도록 제한
-        String lockKey = "like_lock:" + memberId + ":" + imageId;
-        
-        redisService.executeWithLock(lockKey, 5, TimeUnit.SECONDS, () -> {
-            // 락이 걸린 상태에서 안전하게 실행
-            processLikeToggle(member, image, imageId);
-        });
-    }
-    
-    private void processLikeToggle(Member member, Image image, Long imageId) {
-        // 중복 좋아요 체크 (락 안에서 실행되므로 안전)
-        Optional<ImageLike> existingLike = imageLikeRepository.findByMemberAndImage(member, image);
-
-        if (existingLike.isPresent()) {
-            // 이미 좋아요 누름 → 취소
-            System.out.println("좋아요취소");
-            imageLikeRepository.delete(existingLike.get());
-            
-            // ✅ ImageService의 통합 메서드 사용 (DB + Redis + 랭킹 한번에 처리)
-            imageService.decrementLikeCount(imageId);
-
-        } else {
-            // 좋아요 등록
-            System.out.println("좋아용");
-            ImageLike like = ImageLike.builder()
-                    .member(member)
-                    .image(image)
-                    .build();
-            imageLikeRepository.save(like);
-            
-            // ✅ ImageService의 통합 메서드 사용 (DB + Redis + 랭킹 한번에 처리)
-            imageService.incrementLikeCount(imageId);
+    /**
+     * 좋아요 토글 - 요청 경로에서는 Redis 스크립트 1회 호출
+     * DB의 image_like 행과 like_count는 ImageLikeWriteBehindService가 비동기로 반영
+     * 없는 이미지는 토글 전에 거름 (PK 존재 확인 1회) - 유령 ID가 Set/랭킹/outbox에 쌓이지 않도록
+     *
+     * @return 토글 후 좋아요 상태
+     */
+    public boolean likeProduct(Long memberId, Long imageId) {
+        if (imageId == null || !imageRepository.existsById(imageId)) {
+            throw new GlobalException("이미지를 찾을 수 없습니다", "IMAGE_NOT_FOUND", HttpStatus.NOT_FOUND);
         }
+        return memberLikeStore.toggle(memberId, imageId);
     }
 
-    public List<ImageDto> getLikedProducts(Long memberId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new GlobalException("회원을 찾을 수 없습니다", "MEMBER_NOT_FOUND", HttpStatus.NOT_FOUND));
+    /**
+     * 좋아요한 이미지 keyset 페이지
+     * 쿼리 1회(이미지+업로더 fetch join) + 통계 배치 조회 1회로 페이지 크기와 무관하게 고정
+     */
+    public LikedSlice<ImageDto> getLikedProducts(Long memberId, Long cursor, Integer size) {
+        if (!memberRepository.existsById(memberId)) {
+            throw new GlobalException("회원을 찾을 수 없습니다", "MEMBER_NOT_FOUND", HttpStatus.NOT_FOUND);
+        }
+        int limit = LikedSlice.clampSize(size);
+        List<ImageLike> likes = imageLikeRepository.findLikedPage(
+                memberId, LikedSlice.cursorOrFirst(cursor), PageRequest.of(0, limit + 1));
 
-        List<ImageLike> likes = imageLikeRepository.findAllByMember(member);
+        boolean hasNext = likes.size() > limit;
+        List<ImageLike> page = hasNext ? likes.subList(0, limit) : likes;
 
-        return likes.stream()
+        List<ImageDto> dtos = imageService.convertToLightDtos(page.stream()
                 .map(ImageLike::getImage)
-                .map(imageService::convertToLightDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+        dtos.forEach(dto -> dto.setLikedByMe(true));
+
+        Long nextCursor = hasNext ? page.get(page.size() - 1).getId() : null;
+        return new LikedSlice<>(dtos, nextCursor, hasNext);
+    }
+
+    /**
+     * 기존 목록 API - 최근 좋아요 MAX_SIZE개까지만 반환 (전체는 페이지 API 사용)
+     */
+    public List<ImageDto> getLikedProducts(Long memberId) {
+        return getLikedProducts(memberId, null, LikedSlice.MAX_SIZE).getContent();
     }
 }
@@ -0,0 +1,118 @@
+package ImgBell.ImageLike;
+
+import ImgBell.Image.ImageRepository;
+import ImgBell.Redis.RedisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✍️ 좋아요 write-behind
+ * MemberLikeStore가 Redis outbox에 쌓은 토글 이벤트를 주기적으로 DB에 반영
+ *
+ * - 같은 (회원, 이미지)가 배치 안에서 여러 번 토글되면 마지막 상태만 반영
+ * - INSERT IGNORE / DELETE 의 영향 행 수만큼만 like_count 조정 → 중복 반영돼도 결과 동일 (멱등)
+ * - drain 전체를 Redis 락으로 감싸 한 번에 한 노드만 반영
+ *   (노드 두 개가 연속된 배치를 하나씩 꺼내 역순으로 커밋하면 like → unlike 순서가 뒤집혀 DB가 Redis와 반대 상태가 됨,
+ *    실패 배치 재적재도 다른 노드의 배치와 순서가 섞일 수 있음)
+ * - 락 TTL 안에 끝나도록 한 주기의 drain 시간을 제한, 남은 항목은 다음 주기에
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageLikeWriteBehindService {
+
+    private static final String DRAIN_LOCK_KEY = "lock:image-like-write-behind";
+    private static final long DRAIN_LOCK_SECONDS = 60;
+    private static final long DRAIN_TIME_BUDGET_MILLIS = 30_000;
+    private static final int DRAIN_BATCH_SIZE = 500;
+
+    // LRANGE + LTRIM 원자 실행
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> POP_SCRIPT = new DefaultRedisScript<>(
+            "local items = redis.call('lrange', KEYS[1], 0, tonumber(ARGV[1]) - 1)\n" +
+            "if #items > 0 then redis.call('ltrim', KEYS[1], #items, -1) end\n" +
+            "return items",
+            List.class);
+
+    private final RedisService redisService;
+    private final ImageLikeRepository imageLikeRepository;
+    private final ImageRepository imageRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${imgbell.like.flush-interval-ms:1000}")
+    public void drain() {
+        String lockValue = UUID.randomUUID().toString();
+        if (!redisService.acquireLock(DRAIN_LOCK_KEY, lockValue, DRAIN_LOCK_SECONDS, TimeUnit.SECONDS)) {
+            return;
+        }
+        try {
+            long deadline = System.currentTimeMillis() + DRAIN_TIME_BUDGET_MILLIS;
+            List<String> entries;
+            do {
+                entries = popBatch();
+                if (entries.isEmpty()) {
+                    return;
+                }
+                List<String> batch = entries;
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(batch));
+                } catch (Exception e) {
+                    // DB 반영 실패 → 원래 순서대로 outbox 앞에 되돌리고 다음 주기에 재시도
+                    log.error("좋아요 DB 반영 실패, outbox 재적재: count={}", batch.size(), e);
+                    redisService.requeueToFront(MemberLikeStore.LIKE_OUTBOX_KEY, batch);
+                    return;
+                }
+            } while (entries.size() == DRAIN_BATCH_SIZE && System.currentTimeMillis() < deadline);
+        } finally {
+            redisService.releaseLock(DRAIN_LOCK_KEY, lockValue);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> popBatch() {
+        List<String> entries = redisService.executeScript(POP_SCRIPT,
+                List.of(MemberLikeStore.LIKE_OUTBOX_KEY), String.valueOf(DRAIN_BATCH_SIZE));
+        return entries != null ? entries : List.of();
+    }
+
+    private void persist(List<String> entries) {
+        // (memberId, imageId) → 마지막 상태
+        Map<String, Boolean> lastState = new LinkedHashMap<>();
+        for (String entry : entries) {
+            int lastColon = entry.lastIndexOf(':');
+            lastState.put(entry.substring(0, lastColon), "1".equals(entry.substring(lastColon + 1)));
+        }
+
+        Map<Long, Integer> likeCountDeltas = new HashMap<>();
+        for (Map.Entry<String, Boolean> state : lastState.entrySet()) {
+            String[] ids = state.getKey().split(":");
+            Long memberId = Long.valueOf(ids[0]);
+            Long imageId = Long.valueOf(ids[1]);
+
+            int affected = state.getValue()
+                    ? imageLikeRepository.insertIgnore(memberId, imageId)
+                    : -imageLikeRepository.deleteByMemberIdAndImageId(memberId, imageId);
+            if (affected != 0) {
+                likeCountDeltas.merge(imageId, affected, Integer::sum);
+            }
+        }
+
+        likeCountDeltas.forEach((imageId, delta) -> {
+            if (delta != 0) {
+                imageRepository.adjustLikeCount(imageId, delta);
+            }
+        });
+        log.debug("좋아요 DB 반영: events={}, pairs={}, images={}", entries.size(), lastState.size(), likeCountDeltas.size());
+    }
+}
@@ -0,0 +1,40 @@
+package ImgBell.ImageLike;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 좋아요 목록 keyset 페이지 응답
+ * 다음 페이지는 nextCursor를 cursor 파라미터로 넘겨서 조회 (OFFSET 없이 좋아요 ID 기준)
+ */
+@Getter
+@AllArgsConstructor
+@Schema(description = "좋아요 목록 페이지")
+public class LikedSlice<T> {
+
+    @Schema(description = "목록")
+    private List<T> content;
+
+    @Schema(description = "다음 페이지 커서 (마지막 페이지면 null)", example = "1523")
+    private Long nextCursor;
+
+    @Schema(description = "다음 페이지 존재 여부", example = "true")
+    private boolean hasNext;
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public static int clampSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    public static long cursorOrFirst(Long cursor) {
+        return cursor != null ? cursor : Long.MAX_VALUE;
+    }
+}
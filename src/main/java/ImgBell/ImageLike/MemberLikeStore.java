@@ -0,0 +1,224 @@
+package ImgBell.ImageLike;
+
+import ImgBell.GlobalErrorHandler.GlobalException;
+import ImgBell.Image.ElasticSearch.ImageStatsPropagator;
+import ImgBell.Image.RankingService;
+import ImgBell.Member.MemberRepository;
+import ImgBell.Redis.RedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ❤️ 회원별 좋아요 상태 저장소 (Redis가 기준, DB는 write-behind)
+ *
+ * 저장 구조
+ * - 일반 회원: Set  member:likes:{memberId}     (이미지 ID 문자열)
+ * - 좋아요가 많은 회원: 비트맵 member:likes:bm:{memberId} (offset = 이미지 ID)
+ *   Set 크기가 bitmap-threshold를 넘으면 토글 스크립트 안에서 비트맵으로 전환
+ *   (Set 원소당 수십 바이트 vs 비트맵은 최대 이미지 ID / 8 바이트 고정)
+ *
+ * 두 구조 모두 "로딩 완료" 표시로 이미지 ID 0(존재하지 않음)을 넣어둠
+ * → 마지막 좋아요를 취소해도 키가 사라지지 않아 DB 미반영 상태로 재로딩되는 일이 없음
+ */
+@Slf4j
+@Component
+public class MemberLikeStore {
+
+    public static final String MEMBER_LIKES_KEY = "member:likes:";
+    public static final String MEMBER_LIKES_BITMAP_KEY = "member:likes:bm:";
+    // DB 반영 대기열 ("memberId:imageId:1|0")
+    public static final String LIKE_OUTBOX_KEY = "image:like:outbox";
+    static final String LOADED_SENTINEL = "0";
+
+    /**
+     * 좋아요 토글 (원자적)
+     * KEYS: [1] Set, [2] 비트맵, [3] image:stats 해시, [4] outbox, [5..7] 일/주/월 랭킹, [8] ES 반영 대기 Set
+     * ARGV: [1] imageId, [2] memberId, [3] 랭킹 가중치, [4] 비트맵 전환 기준, [5..7] 랭킹 TTL(초)
+     * 반환: 1 = 좋아요, 0 = 취소, -1 = 미로딩 (DB에서 로딩 후 재시도)
+     */
+    private static final DefaultRedisScript<Long> TOGGLE_SCRIPT = new DefaultRedisScript<>(
+            "local liked = 1\n" +
+            "if redis.call('exists', KEYS[2]) == 1 then\n" +
+            "    liked = 1 - redis.call('getbit', KEYS[2], ARGV[1])\n" +
+            "    redis.call('setbit', KEYS[2], ARGV[1], liked)\n" +
+            "elseif redis.call('exists', KEYS[1]) == 1 then\n" +
+            "    if redis.call('sismember', KEYS[1], ARGV[1]) == 1 then\n" +
+            "        redis.call('srem', KEYS[1], ARGV[1])\n" +
+            "        liked = 0\n" +
+            "    else\n" +
+            "        redis.call('sadd', KEYS[1], ARGV[1])\n" +
+            // 좋아요가 많은 회원은 비트맵으로 전환
+            "        if redis.call('scard', KEYS[1]) > tonumber(ARGV[4]) then\n" +
+            "            for _, id in ipairs(redis.call('smembers', KEYS[1])) do\n" +
+            "                redis.call('setbit', KEYS[2], id, 1)\n" +
+            "            end\n" +
+            "            redis.call('del', KEYS[1])\n" +
+            "        end\n" +
+            "    end\n" +
+            "else\n" +
+            "    return -1\n" +
+            "end\n" +
+            "local delta = liked == 1 and 1 or -1\n" +
+            // 통계 해시에 값이 없으면 건드리지 않음 (다음 조회 때 DB 값으로 채워짐)
+            "if redis.call('hexists', KEYS[3], 'likeCount') == 1 then\n" +
+            "    redis.call('hincrby', KEYS[3], 'likeCount', delta)\n" +
+            "end\n" +
+            "redis.call('rpush', KEYS[4], ARGV[2] .. ':' .. ARGV[1] .. ':' .. liked)\n" +
+            "redis.call('sadd', KEYS[8], ARGV[1])\n" +
+            "for i = 5, 7 do\n" +
+            "    redis.call('zincrby', KEYS[i], delta * tonumber(ARGV[3]), ARGV[1])\n" +
+            "    redis.call('expire', KEYS[i], ARGV[i])\n" +
+            "end\n" +
+            "return liked",
+            Long.class);
+
+    /**
+     * DB 좋아요 목록으로 Set 초기화 - 그 사이 토글로 이미 생성됐으면 덮어쓰지 않음
+     * KEYS: [1] Set, [2] 비트맵 / ARGV: 이미지 ID들 (센티널 포함)
+     * unpack()은 Lua 스택 한도(약 8000개)를 넘으면 실패하므로 1000개씩 나눠서 SADD
+     */
+    private static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 or redis.call('exists', KEYS[2]) == 1 then return 0 end\n" +
+            "for i = 1, #ARGV, 1000 do\n" +
+            "    redis.call('sadd', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV)))\n" +
+            "end\n" +
+            "return 1",
+            Long.class);
+
+    /**
+     * 여러 이미지의 좋아요 여부를 한 번에 조회 (SMISMEMBER 또는 BITFIELD GET u1 ...)
+     * 조회 ID가 많아도 unpack() 한도를 넘지 않도록 1000개씩 나눠 호출하고 결과를 이어붙임
+     * 반환: 이미지 순서대로 0/1, 미로딩이면 {-1}
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> PROBE_SCRIPT = new DefaultRedisScript<>(
+            "local bitmap = redis.call('exists', KEYS[2]) == 1\n" +
+            "if not bitmap and redis.call('exists', KEYS[1]) == 0 then return {-1} end\n" +
+            "local result = {}\n" +
+            "for i = 1, #ARGV, 1000 do\n" +
+            "    local last = math.min(i + 999, #ARGV)\n" +
+            "    local flags\n" +
+            "    if bitmap then\n" +
+            "        local args = {}\n" +
+            "        for j = i, last do\n" +
+            "            table.insert(args, 'GET')\n" +
+            "            table.insert(args, 'u1')\n" +
+            "            table.insert(args, ARGV[j])\n" +
+            "        end\n" +
+            "        flags = redis.call('bitfield', KEYS[2], unpack(args))\n" +
+            "    else\n" +
+            "        flags = redis.call('smismember', KEYS[1], unpack(ARGV, i, last))\n" +
+            "    end\n" +
+            "    for _, flag in ipairs(flags) do\n" +
+            "        table.insert(result, flag)\n" +
+            "    end\n" +
+            "end\n" +
+            "return result",
+            List.class);
+
+    private final RedisService redisService;
+    private final RankingService rankingService;
+    private final ImageLikeRepository imageLikeRepository;
+    private final MemberRepository memberRepository;
+    private final long bitmapThreshold;
+
+    public MemberLikeStore(RedisService redisService,
+                           RankingService rankingService,
+                           ImageLikeRepository imageLikeRepository,
+                           MemberRepository memberRepository,
+                           @Value("${imgbell.like.bitmap-threshold:2000}") long bitmapThreshold) {
+        this.redisService = redisService;
+        this.rankingService = rankingService;
+        this.imageLikeRepository = imageLikeRepository;
+        this.memberRepository = memberRepository;
+        this.bitmapThreshold = bitmapThreshold;
+    }
+
+    /**
+     * 좋아요 토글 - Redis 스크립트 1회 (미로딩 회원의 첫 요청만 DB 조회 1회 추가)
+     * @return 토글 후 좋아요 상태
+     */
+    public boolean toggle(Long memberId, Long imageId) {
+        Long liked = runToggle(memberId, imageId);
+        if (liked != null && liked == -1L) {
+            load(memberId);
+            liked = runToggle(memberId, imageId);
+        }
+        if (liked == null || liked == -1L) {
+            throw new GlobalException("좋아요 처리에 실패했습니다", "LIKE_TOGGLE_FAILED", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return liked == 1L;
+    }
+
+    /**
+     * 이미지 목록의 좋아요 여부 일괄 조회 - Redis 호출 1회
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, Boolean> likedFlags(Long memberId, List<Long> imageIds) {
+        Map<Long, Boolean> flags = new HashMap<>();
+        if (imageIds.isEmpty()) {
+            return flags;
+        }
+        String[] args = imageIds.stream().map(String::valueOf).toArray(String[]::new);
+
+        List<Object> result = redisService.executeScript(PROBE_SCRIPT, keys(memberId), args);
+        if (isNotLoaded(result)) {
+            load(memberId);
+            result = redisService.executeScript(PROBE_SCRIPT, keys(memberId), args);
+        }
+        if (result == null || result.size() != imageIds.size()) {
+            return flags;
+        }
+        for (int i = 0; i < imageIds.size(); i++) {
+            flags.put(imageIds.get(i), Long.valueOf(1L).equals(result.get(i)));
+        }
+        return flags;
+    }
+
+    private boolean isNotLoaded(List<Object> result) {
+        return result != null && result.size() == 1 && Long.valueOf(-1L).equals(result.get(0));
+    }
+
+    private Long runToggle(Long memberId, Long imageId) {
+        List<String> keys = new ArrayList<>(keys(memberId));
+        keys.add("image:stats:" + imageId);
+        keys.add(LIKE_OUTBOX_KEY);
+        keys.addAll(rankingService.currentRankingKeys("image"));
+        keys.add(ImageStatsPropagator.DIRTY_KEY);
+
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(imageId));
+        args.add(String.valueOf(memberId));
+        args.add(String.valueOf(RankingService.LIKE_SCORE));
+        args.add(String.valueOf(bitmapThreshold));
+        RankingService.RANKING_TTL_SECONDS.forEach(ttl -> args.add(String.valueOf(ttl)));
+
+        return redisService.executeScript(TOGGLE_SCRIPT, keys, args.toArray(new String[0]));
+    }
+
+    private void load(Long memberId) {
+        if (!memberRepository.existsById(memberId)) {
+            throw new GlobalException("회원을 찾을 수 없습니다", "MEMBER_NOT_FOUND", HttpStatus.NOT_FOUND);
+        }
+        List<String> members = new ArrayList<>();
+        members.add(LOADED_SENTINEL);
+        imageLikeRepository.findLikedImageIdsByMemberId(memberId)
+                .forEach(id -> members.add(String.valueOf(id)));
+
+        // 로딩 시점에 이미 많으면 다음 토글에서 비트맵으로 전환됨
+        redisService.executeScript(LOAD_SCRIPT, keys(memberId), members.toArray(new String[0]));
+        log.debug("회원 좋아요 Set 로딩: memberId={}, count={}", memberId, members.size() - 1);
+    }
+
+    private List<String> keys(Long memberId) {
+        return List.of(MEMBER_LIKES_KEY + memberId, MEMBER_LIKES_BITMAP_KEY + memberId);
+    }
+}
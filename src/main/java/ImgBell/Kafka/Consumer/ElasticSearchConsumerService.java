@@ -1,44 +1,174 @@
 package ImgBell.Kafka.Consumer;
 
+import ImgBell.Image.ElasticSearch.ImageBulkIndexer;
 import ImgBell.Kafka.Event.ElasticSearchEvent;
 import ImgBell.Image.ElasticSearch.ImageSyncService;
-import ImgBell.GlobalErrorHandler.GlobalException;
+import ImgBell.Kafka.Metrics.KafkaPipelineMetrics;
+import ImgBell.Kafka.Producer.ElasticSearchProducerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ElasticSearchConsumerService {
+    private static final long RETRY_SEND_TIMEOUT_SECONDS = 30;
+
     private final ImageSyncService imageSyncService;
+    private final ElasticSearchProducerService elasticSearchProducerService;
+    private final MeterRegistry meterRegistry;
+    private final KafkaPipelineMetrics kafkaPipelineMetrics;
 
+    /**
+     * 📦 ES 동기화 이벤트 배치 처리
+     * - 같은 이미지에 대한 이벤트는 배치 안에서 마지막 action만 남김 (연속 수정 → 색인 1회)
+     * - 남은 이미지는 fetch join 쿼리 1회 + _bulk 요청 1회로 반영
+     * - 실패한 이미지는 재시도 토픽으로 넘기고 배치는 ack → 문제 이벤트 하나가 파티션을 막지 않음
+     *   (재시도 토픽 전송까지 실패하면 예외 → 배치 재전달)
+     */
     @KafkaListener(
             topics = "${spring.kafka.topics.es-sending}",
-            groupId = "${spring.kafka.es.consumer.group-id}"
+            groupId = "${spring.kafka.es.consumer.group-id}",
+            containerFactory = "esBatchListenerContainerFactory",
+            properties = "max.poll.records:${spring.kafka.es.consumer.max-poll-records:500}"
     )
-    public void handleElasticSearchEvent(
-            @Payload ElasticSearchEvent event,
+    public void handleElasticSearchEvents(
+            @Payload List<ElasticSearchEvent> events,
             Acknowledgment acknowledgment) {
 
-        try {
+        long startedAt = System.nanoTime();
+        // imageId → 마지막 이벤트
+        Map<Long, ElasticSearchEvent> lastEvents = new LinkedHashMap<>();
+        for (ElasticSearchEvent event : events) {
+            if (event == null || event.getImageId() == null) {
+                continue;
+            }
+            if (!"sync".equals(event.getAction()) && !"delete".equals(event.getAction())) {
+                log.warn("알 수 없는 ElasticSearch 작업 타입 무시: {}", event);
+                continue;
+            }
+            lastEvents.put(event.getImageId(), event);
+        }
+
+        List<Long> syncIds = new ArrayList<>();
+        List<Long> deleteIds = new ArrayList<>();
+        lastEvents.forEach((imageId, event) -> {
             if ("sync".equals(event.getAction())) {
-                imageSyncService.syncSingleImage(event.getImageId());
-                acknowledgment.acknowledge();
-                log.info("ElasticSearch 동기화 완료: {}", event.getImageId());
-            } else if ("delete".equals(event.getAction())) {
-                imageSyncService.deleteFromIndex(event.getImageId());
-                acknowledgment.acknowledge();
-                log.info("ElasticSearch 인덱스 삭제 완료: {}", event.getImageId());
+                syncIds.add(imageId);
             } else {
-                throw new GlobalException("알 수 없는 ElasticSearch 작업 타입", "ELASTICSEARCH_UNKNOWN_ACTION");
+                deleteIds.add(imageId);
             }
+        });
+
+        Set<String> failedIds = Set.of();
+        try {
+            ImageBulkIndexer.BulkResult result = imageSyncService.syncBatch(syncIds, deleteIds);
+            if (result.hasFailures()) {
+                log.error("ElasticSearch 벌크 일부 실패 → 재시도 토픽으로: {}", result.failedIds());
+                failedIds = new HashSet<>(result.failedIds());
+            }
+        } catch (Exception e) {
+            // 배치 전체 실패 (ES/DB 장애 등) → 전부 재시도 토픽으로 넘기고 파티션은 계속 진행
+            log.error("ElasticSearch 배치 동기화 실패 → 재시도 토픽으로: {}건", lastEvents.size(), e);
+            failedIds = null;
+        }
+        List<ElasticSearchEvent> retries = new ArrayList<>();
+        for (ElasticSearchEvent event : lastEvents.values()) {
+            if (failedIds == null || failedIds.contains(event.getImageId().toString())) {
+                retries.add(event);
+            } else {
+                kafkaPipelineMetrics.recordLatency(KafkaPipelineMetrics.ES_PIPELINE, event.getCreatedAt());
+            }
+        }
+        forwardToRetry(retries);
+        acknowledgment.acknowledge();
+        kafkaPipelineMetrics.recordBatch(KafkaPipelineMetrics.ES_PIPELINE, events.size(), System.nanoTime() - startedAt);
+        log.info("ElasticSearch 배치 동기화 완료: 이벤트 {}건 → 이미지 {}건 (sync {}, delete {})",
+                events.size(), lastEvents.size(), syncIds.size(), deleteIds.size());
+    }
+
+    /**
+     * 🔁 재시도 토픽 - 이미지 1건씩 지수 백오프로 재시도, 끝내 실패하면 DLT
+     * 재시도 토픽은 각각 다른 대기 시간을 가진 별도 토픽이라 원래 토픽 처리와 무관하게 진행됨
+     */
+    @RetryableTopic(
+            attempts = "${spring.kafka.es.retry.attempts:5}",
+            backoff = @Backoff(
+                    delayExpression = "${spring.kafka.es.retry.initial-delay-ms:1000}",
+                    multiplierExpression = "${spring.kafka.es.retry.multiplier:4}",
+                    maxDelayExpression = "${spring.kafka.es.retry.max-delay-ms:300000}"),
+            kafkaTemplate = "kafkaTemplate",
+            dltTopicSuffix = "-dlt"
+    )
+    @KafkaListener(
+            topics = "${spring.kafka.topics.es-sending}" + ElasticSearchProducerService.RETRY_TOPIC_SUFFIX,
+            groupId = "${spring.kafka.es.consumer.group-id}"
+    )
+    public void handleElasticSearchRetry(@Payload ElasticSearchEvent event, Acknowledgment acknowledgment) {
+        List<Long> syncIds = "sync".equals(event.getAction()) ? List.of(event.getImageId()) : List.of();
+        List<Long> deleteIds = "delete".equals(event.getAction()) ? List.of(event.getImageId()) : List.of();
+
+        ImageBulkIndexer.BulkResult result = imageSyncService.syncBatch(syncIds, deleteIds);
+        if (result.hasFailures()) {
+            throw new IllegalStateException("ElasticSearch 재시도 실패: " + event);
+        }
+        acknowledgment.acknowledge();
+        kafkaPipelineMetrics.recordLatency(KafkaPipelineMetrics.ES_PIPELINE, event.getCreatedAt());
+        log.info("ElasticSearch 재시도 성공: {}", event);
+    }
+
+    @DltHandler
+    public void handleElasticSearchDlt(@Payload ElasticSearchEvent event,
+                                       @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                       Acknowledgment acknowledgment) {
+        log.error("☠️ ElasticSearch 이벤트 DLT 적재: topic={}, event={}", topic, event);
+        deadLetterCounter(topic).increment();
+        acknowledgment.acknowledge();
+    }
+
+    // 원래 이벤트 그대로 넘김 → 재시도 후 성공해도 최초 발생 시각 기준으로 지연 측정
+    // 전부 보낸 뒤 함께 대기 (1건씩 join하면 건마다 linger를 기다리고, 브로커 장애 시 배치가 무기한 멈춤)
+    private void forwardToRetry(List<ElasticSearchEvent> retries) {
+        if (retries.isEmpty()) {
+            return;
+        }
+        CompletableFuture<?>[] sends = retries.stream()
+                .map(elasticSearchProducerService::publishRetry)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).get(RETRY_SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("ElasticSearch 재시도 토픽 적재 대기 중 인터럽트", e);
         } catch (Exception e) {
-            log.error("ElasticSearchConsumer 처리 실패", e);
-            throw new GlobalException("ElasticSearchConsumer 처리 실패", "ELASTICSEARCH_CONSUMER_ERROR");
+            throw new IllegalStateException("ElasticSearch 재시도 토픽 적재 실패: " + retries.size() + "건", e);
         }
     }
+
+    private Counter deadLetterCounter(String topic) {
+        return Counter.builder("imgbell_kafka_dlt_total")
+                .description("Events that exhausted retries and were parked in a dead-letter topic")
+                .tag("topic", topic)
+                .register(meterRegistry);
+    }
 }
@@ -1,18 +1,30 @@
 package ImgBell.Kafka.Consumer;
 
-import ImgBell.GlobalErrorHandler.GlobalException;
+import ImgBell.Email.EmailDispatcher;
 import ImgBell.Kafka.Event.EmailEvent;
+import ImgBell.Kafka.Metrics.KafkaPipelineMetrics;
+import ImgBell.Kafka.Producer.EmailProducerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 
-import jakarta.mail.internet.MimeMessage;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 📧 이메일 발송 Consumer 서비스
@@ -23,172 +35,109 @@ import jakarta.mail.internet.MimeMessage;
 @Slf4j
 public class EmailConsumerService {
 
-    private final JavaMailSender mailSender;
+    private static final long RETRY_SEND_TIMEOUT_SECONDS = 30;
+
+    private final EmailDispatcher emailDispatcher;
+    private final EmailProducerService emailProducerService;
+    private final MeterRegistry meterRegistry;
+    private final KafkaPipelineMetrics kafkaPipelineMetrics;
 
     /**
-     * 이메일 발송 토픽에서 메시지 수신 및 처리
+     * 이메일 발송 토픽 배치 처리
+     * - EmailDispatcher가 도메인별 묶음 + 가상 스레드로 병렬 발송
+     * - 실패한 이메일만 재시도 토픽으로 넘기고 배치는 ack → 실패한 이메일이 뒤의 발송을 막지 않음
+     *   (재시도 토픽 전송까지 실패하면 예외 → 배치 재전달)
      */
     @KafkaListener(
             topics = "${spring.kafka.topics.email-sending}",
-            groupId = "${spring.kafka.email.consumer.group-id}"
+            groupId = "${spring.kafka.email.consumer.group-id}",
+            containerFactory = "emailBatchListenerContainerFactory",
+            properties = "max.poll.records:${spring.kafka.email.consumer.max-poll-records:500}"
     )
     public void handleEmailSending(
-            @Payload EmailEvent emailEvent,
+            @Payload List<EmailEvent> emailEvents,
             Acknowledgment acknowledgment) {
 
-        try {
-            log.info("📨 이메일 발송 이벤트 수신: Type={}, To={}",
-                    emailEvent.getEmailType(), emailEvent.getToEmail());
-
-            // 실제 이메일 발송 처리
-            sendActualEmail(emailEvent);
-
-            // 수동 커밋 (이메일 발송 성공 시에만)
-            acknowledgment.acknowledge();
-
-            log.info("✅ 이메일 발송 완료: {} → {}", emailEvent.getEmailType(), emailEvent.getToEmail());
+        long startedAt = System.nanoTime();
+        List<EmailEvent> events = emailEvents.stream().filter(Objects::nonNull).toList();
+        log.info("📨 이메일 발송 이벤트 수신: {}건", events.size());
 
-        } catch (Exception e) {
-            log.error("❌ 이메일 발송 실패: {} → {}, 오류: {}",
-                    emailEvent.getEmailType(), emailEvent.getToEmail(), e.getMessage(), e);
+        List<EmailEvent> failed = emailDispatcher.dispatch(events);
+        awaitRetries(failed);
 
-            // 실패 시 재시도 로직이나 DLQ(Dead Letter Queue)로 전송 가능
-            // 여기서는 단순히 로그만 남김
-        }
-    }
+        // 수동 커밋 (발송 성공 + 실패분 재시도 토픽 적재 후)
+        acknowledgment.acknowledge();
 
-    /**
-     * 실제 이메일 발송 처리
-     *
-     * @param emailEvent 이메일 이벤트 정보
-     */
-    private void sendActualEmail(EmailEvent emailEvent) {
-        // 이메일 이벤트 유효성 검증
-        validateEmailEvent(emailEvent);
+        Set<EmailEvent> failedEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+        failedEvents.addAll(failed);
+        events.stream()
+                .filter(event -> !failedEvents.contains(event))
+                .forEach(event -> kafkaPipelineMetrics.recordLatency(KafkaPipelineMetrics.EMAIL_PIPELINE, event.getCreatedAt()));
+        kafkaPipelineMetrics.recordBatch(KafkaPipelineMetrics.EMAIL_PIPELINE, events.size(), System.nanoTime() - startedAt);
 
-        // 이메일 타입별 처리
-        switch (emailEvent.getEmailType()) {
-            case WELCOME -> sendWelcomeEmail(emailEvent);
-            case PASSWORD_RESET -> sendPasswordResetEmail(emailEvent);
-            case NOTIFICATION -> sendNotificationEmail(emailEvent);
-            default -> {
-                log.warn("⚠️ 알 수 없는 이메일 타입: {}", emailEvent.getEmailType());
-                throw new GlobalException(
-                        "지원하지 않는 이메일 타입입니다: " + emailEvent.getEmailType(),
-                        "UNSUPPORTED_EMAIL_TYPE",
-                        HttpStatus.BAD_REQUEST
-                );
-            }
-        }
+        log.info("✅ 이메일 배치 발송 완료: 성공 {}건, 재시도 {}건", events.size() - failed.size(), failed.size());
     }
 
     /**
-     * 이메일 이벤트 유효성 검증
+     * 실패분을 한꺼번에 재시도 토픽으로 보낸 뒤 함께 대기 (1건씩 join하면 건마다 linger를 기다림)
+     * - 브로커 장애로 제한 시간 안에 적재되지 않으면 예외 → ack 없이 배치 재전달
      */
-    private void validateEmailEvent(EmailEvent emailEvent) {
-        if (emailEvent == null) {
-            throw new GlobalException("이메일 이벤트가 null입니다", "EMAIL_EVENT_NULL", HttpStatus.BAD_REQUEST);
+    private void awaitRetries(List<EmailEvent> failed) {
+        if (failed.isEmpty()) {
+            return;
         }
-
-        if (emailEvent.getToEmail() == null || emailEvent.getToEmail().trim().isEmpty()) {
-            throw new GlobalException("수신자 이메일이 필요합니다", "EMAIL_RECIPIENT_REQUIRED", HttpStatus.BAD_REQUEST);
-        }
-
-        if (emailEvent.getSubject() == null || emailEvent.getSubject().trim().isEmpty()) {
-            throw new GlobalException("이메일 제목이 필요합니다", "EMAIL_SUBJECT_REQUIRED", HttpStatus.BAD_REQUEST);
-        }
-
-        if (emailEvent.getContent() == null || emailEvent.getContent().trim().isEmpty()) {
-            throw new GlobalException("이메일 내용이 필요합니다", "EMAIL_CONTENT_REQUIRED", HttpStatus.BAD_REQUEST);
+        CompletableFuture<?>[] sends = failed.stream()
+                .map(emailProducerService::publishRetry)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).get(RETRY_SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("이메일 재시도 토픽 적재 대기 중 인터럽트", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("이메일 재시도 토픽 적재 실패: " + failed.size() + "건", e);
         }
     }
 
     /**
-     * 환영 이메일 발송
-     */
-    private void sendWelcomeEmail(EmailEvent emailEvent) {
-        log.info("🎉 환영 이메일 발송 시작: {}", emailEvent.getToEmail());
-
-        // TODO: 실제 이메일 발송 로직 구현
-        realEmailSending(emailEvent);
-
-        log.info("✅ 환영 이메일 발송 완료: {}", emailEvent.getToEmail());
-    }
-
-    /**
-     * 비밀번호 재설정 이메일 발송
-     */
-    private void sendPasswordResetEmail(EmailEvent emailEvent) {
-        log.info("🔐 비밀번호 재설정 이메일 발송 시작: {}", emailEvent.getToEmail());
-
-        realEmailSending(emailEvent);
-
-        log.info("✅ 비밀번호 재설정 이메일 발송 완료: {}", emailEvent.getToEmail());
-    }
-
-    /**
-     * 일반 알림 이메일 발송
+     * 🔁 재시도 토픽 - 1건씩 지수 백오프로 재발송, 끝내 실패하면 DLT
      */
-    private void sendNotificationEmail(EmailEvent emailEvent) {
-        log.info("🔔 알림 이메일 발송 시작: {}", emailEvent.getToEmail());
-
-        realEmailSending(emailEvent);
-
-        log.info("✅ 알림 이메일 발송 완료: {}", emailEvent.getToEmail());
+    @RetryableTopic(
+            attempts = "${spring.kafka.email.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${spring.kafka.email.retry.initial-delay-ms:5000}",
+                    multiplierExpression = "${spring.kafka.email.retry.multiplier:3}",
+                    maxDelayExpression = "${spring.kafka.email.retry.max-delay-ms:600000}"),
+            kafkaTemplate = "kafkaTemplate",
+            dltTopicSuffix = "-dlt"
+    )
+    @KafkaListener(
+            topics = "${spring.kafka.topics.email-sending}" + EmailProducerService.RETRY_TOPIC_SUFFIX,
+            groupId = "${spring.kafka.email.consumer.group-id}"
+    )
+    public void handleEmailRetry(@Payload EmailEvent emailEvent, Acknowledgment acknowledgment) {
+        if (!emailDispatcher.dispatch(List.of(emailEvent)).isEmpty()) {
+            throw new IllegalStateException("이메일 재발송 실패: " + emailEvent.getToEmail());
+        }
+        acknowledgment.acknowledge();
+        kafkaPipelineMetrics.recordLatency(KafkaPipelineMetrics.EMAIL_PIPELINE, emailEvent.getCreatedAt());
+        log.info("✅ 이메일 재발송 성공: {} → {}", emailEvent.getEmailType(), emailEvent.getToEmail());
     }
 
     /**
-     * 실제 이메일 발송 (Gmail SMTP 사용)
+     * ☠️ 재시도를 모두 소진한 이메일 - 관리자 API로 재발송 가능
      */
-    private void realEmailSending(EmailEvent emailEvent) {
-        try {
-            // HTML 이메일 발송을 위한 MimeMessage 생성
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            // 발신자 설정 (application.properties의 spring.mail.username 사용)
-            helper.setFrom("ImgBell <noreply@imgbell.com>");
-
-            // 수신자 설정
-            helper.setTo(emailEvent.getToEmail());
-
-            // 제목 설정
-            helper.setSubject(emailEvent.getSubject());
-
-            // HTML 내용 설정
-            helper.setText(emailEvent.getContent(), true);
-
-            // 실제 이메일 발송
-            mailSender.send(message);
-
-            log.info("""
-                            📧 [실제 이메일 발송 완료]
-                            받는 사람: {} ({})
-                            제목: {}
-                            내용 길이: {} 글자
-                            타입: {}
-                            """,
-                    emailEvent.getToEmail(),
-                    emailEvent.getToName(),
-                    emailEvent.getSubject(),
-                    emailEvent.getContent().length(),
-                    emailEvent.getEmailType()
-            );
-
-        } catch (jakarta.mail.MessagingException e) {
-            log.error("❌ 이메일 메시지 생성/발송 실패: {}", e.getMessage(), e);
-            throw new GlobalException(
-                    "이메일 발송 중 오류가 발생했습니다: " + e.getMessage(),
-                    "EMAIL_SEND_FAILED",
-                    HttpStatus.INTERNAL_SERVER_ERROR
-            );
-        } catch (Exception e) {
-            log.error("❌ 실제 이메일 발송 중 예상치 못한 오류: {}", e.getMessage(), e);
-            throw new GlobalException(
-                    "이메일 발송 중 시스템 오류가 발생했습니다",
-                    "EMAIL_SYSTEM_ERROR",
-                    HttpStatus.INTERNAL_SERVER_ERROR
-            );
-        }
+    @DltHandler
+    public void handleEmailDlt(@Payload EmailEvent emailEvent,
+                               @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                               Acknowledgment acknowledgment) {
+        log.error("☠️ 이메일 발송 최종 실패, DLT 적재: topic={}, type={}, to={}",
+                topic, emailEvent.getEmailType(), emailEvent.getToEmail());
+        Counter.builder("imgbell_kafka_dlt_total")
+                .description("Events that exhausted retries and were parked in a dead-letter topic")
+                .tag("topic", topic)
+                .register(meterRegistry)
+                .increment();
+        acknowledgment.acknowledge();
     }
-} 
\ No newline at end of file
+}
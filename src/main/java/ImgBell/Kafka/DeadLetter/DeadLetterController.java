@@ -0,0 +1,24 @@
+package ImgBell.Kafka.DeadLetter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/kafka/dlt")
+@RequiredArgsConstructor
+public class DeadLetterController {
+
+    private final DeadLetterReplayService deadLetterReplayService;
+
+    // DLT에 쌓인 이벤트를 원래 토픽으로 일괄 재발행 (target: es | email)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{target}/replay")
+    public ResponseEntity<Map<String, Object>> replay(@PathVariable String target,
+                                                      @RequestParam(defaultValue = "1000") int max) {
+        return ResponseEntity.ok(deadLetterReplayService.replay(target, max));
+    }
+}
@@ -0,0 +1,161 @@
+package ImgBell.Kafka.DeadLetter;
+
+import ImgBell.GlobalErrorHandler.GlobalException;
+import ImgBell.Kafka.Producer.ElasticSearchProducerService;
+import ImgBell.Kafka.Producer.EmailProducerService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ☠️ DLT 재처리
+ * DLT에 쌓인 레코드를 원래 토픽으로 다시 발행 (키/값/타입 헤더는 바이트 그대로, DLT·재시도 헤더만 제거)
+ * 재처리 위치는 전용 컨슈머 그룹의 커밋 오프셋으로 관리 → 같은 레코드를 두 번 재발행하지 않음
+ */
+@Slf4j
+@Service
+public class DeadLetterReplayService {
+
+    private static final String REPLAY_GROUP_ID = "imgbell-dlt-replay";
+    private static final int MAX_EMPTY_POLLS = 3;
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
+    private final ConsumerFactory<byte[], byte[]> consumerFactory;
+    private final KafkaTemplate<byte[], byte[]> replayTemplate;
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+
+    public DeadLetterReplayService(ConsumerFactory<byte[], byte[]> consumerFactory,
+                                   ProducerFactory<byte[], byte[]> producerFactory,
+                                   @Value("${spring.kafka.topics.es-sending}") String esSendingTopic,
+                                   @Value("${spring.kafka.topics.email-sending}") String emailSendingTopic) {
+        this.consumerFactory = consumerFactory;
+        this.replayTemplate = new KafkaTemplate<>(producerFactory, Map.of(
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class));
+
+        // DLT 이름 = 재시도 대상 토픽 + "-dlt" (@RetryableTopic dltTopicSuffix)
+        routes.put("es", new Route(esSendingTopic + ElasticSearchProducerService.RETRY_TOPIC_SUFFIX + "-dlt", esSendingTopic));
+        routes.put("email", new Route(emailSendingTopic + EmailProducerService.RETRY_TOPIC_SUFFIX + "-dlt", emailSendingTopic));
+    }
+
+    /**
+     * DLT 레코드를 최대 maxRecords건까지 원래 토픽으로 재발행
+     */
+    public synchronized Map<String, Object> replay(String target, int maxRecords) {
+        Route route = routes.get(target);
+        if (route == null) {
+            throw new GlobalException("알 수 없는 DLT 대상입니다: " + target, "UNKNOWN_DLT_TARGET", HttpStatus.BAD_REQUEST);
+        }
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+
+        int replayed = 0;
+        try (Consumer<byte[], byte[]> consumer = consumerFactory.createConsumer(REPLAY_GROUP_ID, null, null, overrides)) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(route.dltTopic());
+            if (partitions == null || partitions.isEmpty()) {
+                return result(target, route, 0);
+            }
+            consumer.assign(partitions.stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList());
+
+            int emptyPolls = 0;
+            while (replayed < maxRecords && emptyPolls < MAX_EMPTY_POLLS) {
+                ConsumerRecords<byte[], byte[]> records = consumer.poll(Duration.ofMillis(500));
+                if (records.isEmpty()) {
+                    emptyPolls++;
+                    continue;
+                }
+                emptyPolls = 0;
+
+                List<CompletableFuture<?>> sends = new ArrayList<>();
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                for (ConsumerRecord<byte[], byte[]> record : records) {
+                    if (replayed >= maxRecords) {
+                        break;
+                    }
+                    sends.add(replayTemplate.send(new ProducerRecord<>(
+                            route.targetTopic(), null, record.key(), record.value(), replayHeaders(record))));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+                // 재발행이 확인된 뒤에만 DLT 오프셋 커밋
+                CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                consumer.commitSync(offsets);
+            }
+        } catch (GlobalException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("❌ DLT 재처리 실패: target={}, 재발행 {}건 후 중단", target, replayed, e);
+            throw new GlobalException("DLT 재처리 실패: " + e.getMessage(), "DLT_REPLAY_FAILED", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        log.info("♻️ DLT 재처리 완료: {} → {}, {}건", route.dltTopic(), route.targetTopic(), replayed);
+        return result(target, route, replayed);
+    }
+
+    /**
+     * DLT/재시도 메타 헤더 제거 - 다시 처음부터 재시도 횟수를 셈
+     */
+    private RecordHeaders replayHeaders(ConsumerRecord<byte[], byte[]> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (header.key().startsWith("kafka_dlt-") || header.key().startsWith("retry_topic-")) {
+                continue;
+            }
+            headers.add(header);
+        }
+        return headers;
+    }
+
+    private Map<String, Object> result(String target, Route route, int replayed) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("target", target);
+        result.put("dltTopic", route.dltTopic());
+        result.put("replayedTo", route.targetTopic());
+        result.put("replayed", replayed);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replayTemplate.destroy();
+    }
+
+    private record Route(String dltTopic, String targetTopic) {
+    }
+}
@@ -10,4 +10,9 @@ import lombok.NoArgsConstructor;
 public class ElasticSearchEvent {
     private Long imageId;
     private String action; // "sync" or "delete"
+    private Long createdAt; // 이벤트 발생 시각 (epoch millis) - 색인까지 걸린 시간 측정용
+
+    public ElasticSearchEvent(Long imageId, String action) {
+        this(imageId, action, System.currentTimeMillis());
+    }
 }
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 /**
  * 📧 이메일 발송 이벤트 DTO
  * - Kafka를 통해 전달될 이메일 정보
@@ -24,12 +26,12 @@ public class EmailEvent {
     private String toName;
     
     /**
-     * 이메일 제목
+     * 이메일 제목 (템플릿 사용 시 비워둠 - 템플릿의 <title>로 렌더링)
      */
     private String subject;
     
     /**
-     * 이메일 내용 (HTML 가능)
+     * 이메일 내용 (HTML 가능, 템플릿 사용 시 비워둠)
      */
     private String content;
     
@@ -37,6 +39,36 @@ public class EmailEvent {
      * 이메일 타입 (WELCOME, PASSWORD_RESET, NOTIFICATION 등)
      */
     private EmailType emailType;
+
+    /**
+     * 템플릿 ID (templates/email/{templateId}.html) - 있으면 컨슈머가 variables로 렌더링
+     */
+    private String templateId;
+
+    /**
+     * 템플릿 변수 (값은 렌더링 시 HTML 이스케이프)
+     */
+    private Map<String, String> variables;
+
+    /**
+     * 이벤트 발생 시각 (epoch millis) - 발송까지 걸린 시간 측정용
+     */
+    private Long createdAt;
+
+    /**
+     * 본문을 직접 담는 이벤트 (템플릿 미사용)
+     */
+    public EmailEvent(String toEmail, String toName, String subject, String content, EmailType emailType) {
+        this(toEmail, toName, subject, content, emailType, null, null, System.currentTimeMillis());
+    }
+
+    /**
+     * 템플릿 이벤트 - 제목/본문 없이 템플릿 ID와 변수만 전송
+     */
+    public static EmailEvent ofTemplate(String toEmail, String toName, EmailType emailType,
+                                        String templateId, Map<String, String> variables) {
+        return new EmailEvent(toEmail, toName, null, null, emailType, templateId, variables, System.currentTimeMillis());
+    }
     
     /**
      * 이메일 타입 열거형
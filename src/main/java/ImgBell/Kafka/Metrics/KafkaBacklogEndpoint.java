@@ -0,0 +1,26 @@
+package ImgBell.Kafka.Metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 📈 /actuator/kafkabacklog - 컨슈머 그룹별 현재 backlog (총 lag + 파티션별 lag)
+ * 값은 KafkaPipelineMetrics가 주기적으로 갱신한 스냅샷 (요청마다 브로커 조회 X)
+ * 노출하려면 management.endpoints.web.exposure.include 에 kafkabacklog 추가
+ */
+@Component
+@Endpoint(id = "kafkabacklog")
+@RequiredArgsConstructor
+public class KafkaBacklogEndpoint {
+
+    private final KafkaPipelineMetrics kafkaPipelineMetrics;
+
+    @ReadOperation
+    public Map<String, KafkaPipelineMetrics.ConsumerBacklog> backlog() {
+        return kafkaPipelineMetrics.backlog();
+    }
+}
@@ -0,0 +1,186 @@
+package ImgBell.Kafka.Metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 📊 Kafka 파이프라인 메트릭 (ES 색인 / 이메일 발송)
+ *
+ * - imgbell_kafka_event_latency_seconds{pipeline}: 이벤트 생성 → 처리 완료까지 (히스토그램)
+ * - imgbell_kafka_batch_size{pipeline}: 리스너가 한 번에 받은 이벤트 수
+ * - imgbell_kafka_batch_processing_seconds{pipeline}: 배치 처리 시간 (히스토그램)
+ * - imgbell_kafka_consumer_lag{group,topic,partition}: 파티션별 밀린 메시지 수 (AdminClient로 주기 조회)
+ */
+@Slf4j
+@Component
+public class KafkaPipelineMetrics {
+
+    public static final String ES_PIPELINE = "es-index";
+    public static final String EMAIL_PIPELINE = "email";
+
+    private static final long ADMIN_TIMEOUT_SECONDS = 5;
+
+    private final MeterRegistry meterRegistry;
+    private final KafkaAdmin kafkaAdmin;
+    private final List<String> consumerGroups;
+
+    private final Map<String, AtomicLong> lagGauges = new ConcurrentHashMap<>();
+    private volatile Map<String, ConsumerBacklog> backlog = Map.of();
+    private volatile AdminClient adminClient;
+
+    public KafkaPipelineMetrics(MeterRegistry meterRegistry,
+                                KafkaAdmin kafkaAdmin,
+                                @Value("${spring.kafka.es.consumer.group-id}") String esGroupId,
+                                @Value("${spring.kafka.email.consumer.group-id}") String emailGroupId) {
+        this.meterRegistry = meterRegistry;
+        this.kafkaAdmin = kafkaAdmin;
+        this.consumerGroups = List.of(esGroupId, emailGroupId);
+    }
+
+    /**
+     * 이벤트 생성 시각 기준 처리 지연 기록 (createdAt이 없는 예전 이벤트는 건너뜀)
+     */
+    public void recordLatency(String pipeline, Long createdAtMillis) {
+        if (createdAtMillis == null) {
+            return;
+        }
+        long latency = Math.max(0, System.currentTimeMillis() - createdAtMillis);
+        Timer.builder("imgbell_kafka_event_latency_seconds")
+                .description("Time from event creation to processing completion")
+                .tag("pipeline", pipeline)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(30))
+                .register(meterRegistry)
+                .record(latency, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordBatch(String pipeline, int size, long processingNanos) {
+        DistributionSummary.builder("imgbell_kafka_batch_size")
+                .description("Number of events received per listener invocation")
+                .tag("pipeline", pipeline)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1000.0)
+                .register(meterRegistry)
+                .record(size);
+        Timer.builder("imgbell_kafka_batch_processing_seconds")
+                .description("Time taken to process one listener batch")
+                .tag("pipeline", pipeline)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(processingNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 컨슈머 그룹별 lag 갱신 - 커밋 오프셋과 최신 오프셋 차이
+     */
+    @Scheduled(fixedDelayString = "${imgbell.kafka.lag-refresh-ms:15000}")
+    public void refreshLag() {
+        Map<String, ConsumerBacklog> snapshot = new LinkedHashMap<>();
+        for (String group : consumerGroups) {
+            try {
+                snapshot.put(group, fetchBacklog(group));
+            } catch (Exception e) {
+                log.warn("Kafka lag 조회 실패: group={}, error={}", group, e.getMessage());
+            }
+        }
+        backlog = snapshot;
+    }
+
+    public Map<String, ConsumerBacklog> backlog() {
+        return backlog;
+    }
+
+    private ConsumerBacklog fetchBacklog(String group) throws Exception {
+        AdminClient admin = admin();
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(group)
+                .partitionsToOffsetAndMetadata()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        committed.values().removeIf(java.util.Objects::isNull);
+        if (committed.isEmpty()) {
+            return new ConsumerBacklog(group, 0, Map.of(), Instant.now());
+        }
+
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = admin.listOffsets(
+                        committed.keySet().stream().collect(Collectors.toMap(tp -> tp, tp -> OffsetSpec.latest())))
+                .all()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Map<String, Long> partitions = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<TopicPartition, OffsetAndMetadata> entry : committed.entrySet()) {
+            TopicPartition tp = entry.getKey();
+            ListOffsetsResult.ListOffsetsResultInfo end = endOffsets.get(tp);
+            if (end == null) {
+                continue;
+            }
+            long lag = Math.max(0, end.offset() - entry.getValue().offset());
+            partitions.put(tp.topic() + "-" + tp.partition(), lag);
+            total += lag;
+            lagGauge(group, tp).set(lag);
+        }
+        return new ConsumerBacklog(group, total, partitions, Instant.now());
+    }
+
+    private AtomicLong lagGauge(String group, TopicPartition tp) {
+        return lagGauges.computeIfAbsent(group + "|" + tp, key -> {
+            AtomicLong holder = new AtomicLong();
+            Gauge.builder("imgbell_kafka_consumer_lag", holder, AtomicLong::get)
+                    .description("Messages not yet consumed by the consumer group")
+                    .tag("group", group)
+                    .tag("topic", tp.topic())
+                    .tag("partition", String.valueOf(tp.partition()))
+                    .register(meterRegistry);
+            return holder;
+        });
+    }
+
+    private AdminClient admin() {
+        AdminClient admin = adminClient;
+        if (admin == null) {
+            synchronized (this) {
+                if (adminClient == null) {
+                    adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+                }
+                admin = adminClient;
+            }
+        }
+        return admin;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (adminClient != null) {
+            adminClient.close(Duration.ofSeconds(ADMIN_TIMEOUT_SECONDS));
+        }
+    }
+
+    /**
+     * 컨슈머 그룹 backlog 스냅샷 (partitions: "토픽-파티션" → lag)
+     */
+    public record ConsumerBacklog(String group, long totalLag, Map<String, Long> partitions, Instant refreshedAt) {
+    }
+}
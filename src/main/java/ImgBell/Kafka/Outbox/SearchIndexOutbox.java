@@ -0,0 +1,51 @@
+package ImgBell.Kafka.Outbox;
+
+import ImgBell.Kafka.Event.ElasticSearchEvent;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 📮 검색 색인 이벤트 outbox
+ * 이미지 변경과 같은 트랜잭션에서 기록 → 커밋된 변경만, 빠짐없이 Kafka로 전달됨
+ */
+@Entity
+@Table(name = "search_index_outbox", indexes = {
+        @Index(name = "idx_search_index_outbox_pending", columnList = "sent_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchIndexOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long imageId;
+
+    // "sync" or "delete"
+    @Column(nullable = false, length = 16)
+    private String action;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 전송 완료 시각 (null = 미전송)
+    private LocalDateTime sentAt;
+
+    // 지연 측정 기준 = 변경이 기록된 시각 (릴레이로 늦게 나가도 그 시간까지 포함)
+    public ElasticSearchEvent toEvent() {
+        long created = createdAt != null
+                ? createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        return new ElasticSearchEvent(imageId, action, created);
+    }
+}
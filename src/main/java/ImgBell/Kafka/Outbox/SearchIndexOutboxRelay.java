@@ -0,0 +1,184 @@
+package ImgBell.Kafka.Outbox;
+
+import ImgBell.Kafka.Producer.ElasticSearchProducerService;
+import ImgBell.Redis.RedisService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📤 outbox → Kafka 릴레이
+ *
+ * - fast path: 커밋 직후 해당 트랜잭션의 행만 바로 전송, ack 받으면 전송 완료 표시
+ *   전송은 전용 스레드에 넘김 (브로커 장애 시 send()가 max.block.ms까지 막혀도 요청 스레드는 영향 없음)
+ *   대기열이 차면 넘기지 않고 relay에 맡김
+ * - relay: 주기적으로 미전송 행을 배치로 읽어 전송 (fast path 실패 / 서버 재시작 대비)
+ *   grace 기간보다 오래된 행만 대상 → 방금 커밋돼 fast path가 보내는 중인 행과 겹치지 않음
+ * - 중복 전송이 생겨도 컨슈머는 이벤트를 받으면 DB 최신 상태를 다시 읽어 색인하므로 결과 동일
+ * - 여러 노드에서 relay가 동시에 돌지 않도록 Redis 락 사용
+ */
+@Slf4j
+@Component
+public class SearchIndexOutboxRelay {
+
+    private static final String RELAY_LOCK_KEY = "lock:search-index-outbox-relay";
+    private static final int BATCH_SIZE = 500;
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+    private static final int PUBLISH_QUEUE_SIZE = 1000;
+
+    private final SearchIndexOutboxRepository searchIndexOutboxRepository;
+    private final ElasticSearchProducerService elasticSearchProducerService;
+    private final RedisService redisService;
+    private final TransactionTemplate transactionTemplate;
+    private final long graceMillis;
+    private final int retentionDays;
+
+    // 전송 완료 표시는 Kafka 콜백(프로듀서 I/O 스레드)이 아닌 별도 스레드에서
+    private final ExecutorService markExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "search-outbox-mark"));
+    // fast path 전송 (커밋 후 콜백 스레드 = 요청 스레드에서 분리, 대기열 크기 제한)
+    private final ThreadPoolExecutor publishExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(PUBLISH_QUEUE_SIZE), r -> new Thread(r, "search-outbox-publish"),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    public SearchIndexOutboxRelay(SearchIndexOutboxRepository searchIndexOutboxRepository,
+                                  ElasticSearchProducerService elasticSearchProducerService,
+                                  RedisService redisService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${imgbell.outbox.grace-ms:5000}") long graceMillis,
+                                  @Value("${imgbell.outbox.retention-days:3}") int retentionDays) {
+        this.searchIndexOutboxRepository = searchIndexOutboxRepository;
+        this.elasticSearchProducerService = elasticSearchProducerService;
+        this.redisService = redisService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.graceMillis = graceMillis;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * 커밋 직후 fast path - 요청 스레드를 막지 않음 (전송/완료 표시 모두 비동기)
+     * 실패하거나 대기열에 못 들어간 행은 그대로 미전송으로 남아 relay가 처리
+     */
+    public void publishCommitted(List<SearchIndexOutbox> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            publishExecutor.execute(() -> publishNow(rows));
+        } catch (RejectedExecutionException e) {
+            log.warn("outbox fast path 대기열 초과, relay가 전송: count={}", rows.size());
+        }
+    }
+
+    private void publishNow(List<SearchIndexOutbox> rows) {
+        try {
+            List<CompletableFuture<Long>> sends = send(rows);
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                    .whenCompleteAsync((ignored, error) -> markSent(sentIds(sends)), markExecutor);
+        } catch (Exception e) {
+            log.warn("outbox fast path 전송 실패, relay가 재전송: count={}, error={}", rows.size(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${imgbell.outbox.relay-interval-ms:2000}")
+    public void relay() {
+        String lockValue = UUID.randomUUID().toString();
+        if (!redisService.acquireLock(RELAY_LOCK_KEY, lockValue, 60, TimeUnit.SECONDS)) {
+            return;
+        }
+        try {
+            List<SearchIndexOutbox> rows;
+            do {
+                LocalDateTime before = LocalDateTime.now().minusNanos(graceMillis * 1_000_000);
+                rows = searchIndexOutboxRepository.findPending(before, PageRequest.of(0, BATCH_SIZE));
+                if (rows.isEmpty()) {
+                    return;
+                }
+                List<CompletableFuture<Long>> sends = send(rows);
+                elasticSearchProducerService.flush();
+                try {
+                    CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                            .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    // 실패한 행은 미전송으로 남음 → 다음 주기에 재시도
+                    log.warn("outbox 전송 일부 실패: {}", e.getMessage());
+                }
+                List<Long> sentIds = sentIds(sends);
+                markSent(sentIds);
+                log.info("📤 outbox 릴레이: {}건 중 {}건 전송", rows.size(), sentIds.size());
+                if (sentIds.size() < rows.size()) {
+                    return;
+                }
+            } while (rows.size() == BATCH_SIZE);
+        } catch (Exception e) {
+            log.error("outbox 릴레이 실패", e);
+        } finally {
+            redisService.releaseLock(RELAY_LOCK_KEY, lockValue);
+        }
+    }
+
+    /**
+     * 전송 완료된 행 정리
+     */
+    @Scheduled(cron = "${imgbell.outbox.cleanup-cron:0 30 4 * * *}")
+    public void cleanup() {
+        Integer deleted = transactionTemplate.execute(status ->
+                searchIndexOutboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays)));
+        log.info("🧹 outbox 정리: {}건 삭제", deleted);
+    }
+
+    /**
+     * 행마다 전송하고, 성공하면 행 ID로 완료되는 future 반환 (실패 시 null)
+     */
+    private List<CompletableFuture<Long>> send(List<SearchIndexOutbox> rows) {
+        List<CompletableFuture<Long>> sends = new ArrayList<>(rows.size());
+        for (SearchIndexOutbox row : rows) {
+            sends.add(elasticSearchProducerService.publish(row.toEvent())
+                    .handle((result, error) -> error == null ? row.getId() : null));
+        }
+        return sends;
+    }
+
+    private List<Long> sentIds(List<CompletableFuture<Long>> sends) {
+        return sends.stream()
+                .map(send -> send.getNow(null))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void markSent(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    searchIndexOutboxRepository.markSent(ids, LocalDateTime.now()));
+        } catch (Exception e) {
+            // 표시만 실패 → 다음 relay에서 한 번 더 전송될 뿐
+            log.warn("outbox 전송 완료 표시 실패: count={}, error={}", ids.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publishExecutor.shutdown();
+        markExecutor.shutdown();
+    }
+}
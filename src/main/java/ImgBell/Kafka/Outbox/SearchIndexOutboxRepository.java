@@ -0,0 +1,28 @@
+package ImgBell.Kafka.Outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SearchIndexOutboxRepository extends JpaRepository<SearchIndexOutbox, Long> {
+
+    /**
+     * 미전송 행을 기록 순서대로 - before 이후 행은 커밋 직후 fast path가 보내는 중이므로 제외
+     */
+    @Query("SELECT o FROM SearchIndexOutbox o WHERE o.sentAt IS NULL AND o.createdAt < :before ORDER BY o.id")
+    List<SearchIndexOutbox> findPending(@Param("before") LocalDateTime before, Pageable limit);
+
+    @Modifying
+    @Query("UPDATE SearchIndexOutbox o SET o.sentAt = :sentAt WHERE o.id IN :ids AND o.sentAt IS NULL")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("DELETE FROM SearchIndexOutbox o WHERE o.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,69 @@
+package ImgBell.Kafka.Outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 📮 검색 색인 이벤트 기록
+ * - 호출한 쪽의 트랜잭션 안에서 outbox 행을 INSERT (트랜잭션 필수)
+ * - 커밋되면 같은 트랜잭션에서 기록한 행들을 바로 전송 (fast path)
+ *   fast path가 실패하거나 서버가 죽어도 미전송 행은 SearchIndexOutboxRelay가 다시 보냄
+ * - 롤백되면 행도 사라지므로 이벤트도 나가지 않음
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchIndexOutboxService {
+
+    private static final Object PENDING_RESOURCE_KEY = SearchIndexOutboxService.class.getName() + ".pending";
+
+    private final SearchIndexOutboxRepository searchIndexOutboxRepository;
+    private final SearchIndexOutboxRelay searchIndexOutboxRelay;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueSync(Long imageId) {
+        enqueue(imageId, "sync");
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueDelete(Long imageId) {
+        enqueue(imageId, "delete");
+    }
+
+    private void enqueue(Long imageId, String action) {
+        SearchIndexOutbox row = searchIndexOutboxRepository.save(SearchIndexOutbox.builder()
+                .imageId(imageId)
+                .action(action)
+                .build());
+        pendingRows().add(row);
+    }
+
+    /**
+     * 현재 트랜잭션에서 기록한 행 목록 - 첫 기록 때 커밋 후 전송 훅을 한 번만 등록
+     */
+    @SuppressWarnings("unchecked")
+    private List<SearchIndexOutbox> pendingRows() {
+        List<SearchIndexOutbox> pending = (List<SearchIndexOutbox>) TransactionSynchronizationManager.getResource(PENDING_RESOURCE_KEY);
+        if (pending != null) {
+            return pending;
+        }
+        List<SearchIndexOutbox> rows = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(PENDING_RESOURCE_KEY, rows);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_RESOURCE_KEY);
+                if (status == STATUS_COMMITTED) {
+                    searchIndexOutboxRelay.publishCommitted(rows);
+                }
+            }
+        });
+        return rows;
+    }
+}
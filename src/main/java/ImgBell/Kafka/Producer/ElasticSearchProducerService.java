@@ -1,39 +1,44 @@
 package ImgBell.Kafka.Producer;
 
 import ImgBell.Kafka.Event.ElasticSearchEvent;
-import ImgBell.GlobalErrorHandler.GlobalException;
-import lombok.RequiredArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 색인 이벤트 전송 - 라이브 변경 이벤트는 SearchIndexOutboxRelay(트랜잭션 outbox)를 통해서만 발행
+ * (outbox를 건너뛰는 직접 전송 메서드는 두지 않음)
+ */
 @Service
-@RequiredArgsConstructor
 public class ElasticSearchProducerService {
+    // 배치 리스너에서 실패한 이벤트를 넘기는 재시도 토픽 = 원래 토픽 + 접미사
+    public static final String RETRY_TOPIC_SUFFIX = "-retry";
+
     private final KafkaTemplate<String, ElasticSearchEvent> kafkaTemplate;
-    private static final Logger log = LoggerFactory.getLogger(ElasticSearchProducerService.class);
+    private final String esSendingTopic;
 
+    public ElasticSearchProducerService(@Qualifier("indexingKafkaTemplate") KafkaTemplate<String, ElasticSearchEvent> kafkaTemplate,
+                                        @Value("${spring.kafka.topics.es-sending}") String esSendingTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.esSendingTopic = esSendingTopic;
+    }
 
-    public void sendSyncEvent(Long imageId) {
-        sendEvent(new ElasticSearchEvent(imageId, "sync"));
+    /**
+     * imageId를 키로 비동기 전송 (같은 이미지 이벤트는 같은 파티션에서 순서 유지)
+     */
+    public CompletableFuture<SendResult<String, ElasticSearchEvent>> publish(ElasticSearchEvent event) {
+        return kafkaTemplate.send(esSendingTopic, String.valueOf(event.getImageId()), event);
     }
 
-    public void sendDeleteEvent(Long imageId) {
-        sendEvent(new ElasticSearchEvent(imageId, "delete"));
+    public CompletableFuture<SendResult<String, ElasticSearchEvent>> publishRetry(ElasticSearchEvent event) {
+        return kafkaTemplate.send(esSendingTopic + RETRY_TOPIC_SUFFIX, String.valueOf(event.getImageId()), event);
     }
 
-    private void sendEvent(ElasticSearchEvent event) {
-        try {
-            kafkaTemplate.send("es-sending", event);
-            log.info("ElasticSearchEvent 전송: {}", event);
-        } catch (Exception e) {
-            log.error("ElasticSearchEvent 전송 실패", e);
-            throw new GlobalException(
-                    "ElasticSearch 이벤트 전송 실패",
-                    "KAFKA_SEND_ERROR",
-                    HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    public void flush() {
+        kafkaTemplate.flush();
     }
 }
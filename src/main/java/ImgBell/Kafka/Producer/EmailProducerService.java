@@ -1,14 +1,17 @@
 package ImgBell.Kafka.Producer;
 
+import ImgBell.Email.EmailTemplateRegistry;
 import ImgBell.GlobalErrorHandler.GlobalException;
 import ImgBell.Kafka.Event.EmailEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -20,7 +23,13 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class EmailProducerService {
 
+    // 배치 리스너에서 실패한 이메일을 넘기는 재시도 토픽 = 원래 토픽 + 접미사
+    public static final String RETRY_TOPIC_SUFFIX = "-retry";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${spring.kafka.topics.email-sending}")
+    private String emailSendingTopic;
     
     /**
      * 회원가입 환영 이메일 발송 요청
@@ -38,12 +47,13 @@ public class EmailProducerService {
             throw new GlobalException("사용자 이름이 필요합니다", "USERNAME_REQUIRED", HttpStatus.BAD_REQUEST);
         }
         
-        EmailEvent emailEvent = new EmailEvent(
+        // 본문은 컨슈머에서 템플릿으로 렌더링 → Kafka에는 템플릿 ID와 변수만
+        EmailEvent emailEvent = EmailEvent.ofTemplate(
             userEmail,
             userName,
-            "🎉 ImgBell에 오신 것을 환영합니다!",
-            buildWelcomeEmailContent(userName),
-            EmailEvent.EmailType.WELCOME
+            EmailEvent.EmailType.WELCOME,
+            EmailTemplateRegistry.templateIdOf(EmailEvent.EmailType.WELCOME),
+            Map.of("userName", userName)
         );
         
         sendEmailEvent(emailEvent);
@@ -62,7 +72,7 @@ public class EmailProducerService {
             log.info("📧 이메일 발송 요청: {} → {}", emailEvent.getEmailType(), emailEvent.getToEmail());
             
             CompletableFuture<SendResult<String, Object>> future = 
-                kafkaTemplate.send("email-sending", emailEvent);
+                kafkaTemplate.send(emailSendingTopic, emailEvent);
             
             // 비동기 결과 처리
             future.whenComplete((result, ex) -> {
@@ -87,6 +97,13 @@ public class EmailProducerService {
         }
     }
     
+    /**
+     * 발송 실패한 이메일을 재시도 토픽으로 (수신자 기준 키)
+     */
+    public CompletableFuture<SendResult<String, Object>> publishRetry(EmailEvent emailEvent) {
+        return kafkaTemplate.send(emailSendingTopic + RETRY_TOPIC_SUFFIX, emailEvent.getToEmail(), emailEvent);
+    }
+
     /**
      * 이메일 이벤트 유효성 검증
      */
@@ -103,40 +120,4 @@ public class EmailProducerService {
             throw new GlobalException("이메일 타입이 필요합니다", "EMAIL_TYPE_REQUIRED", HttpStatus.BAD_REQUEST);
         }
     }
-    
-    /**
-     * 환영 이메일 HTML 내용 생성
-     */
-    private String buildWelcomeEmailContent(String userName) {
-        return String.format("""
-            <html>
-            <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
-                <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <h1 style="color: #4CAF50; text-align: center;">🎉 환영합니다!</h1>
-                    <p><strong>%s</strong>님, ImgBell에 가입해주셔서 감사합니다!</p>
-                    
-                    <div style="background-color: #f9f9f9; padding: 15px; border-radius: 5px; margin: 20px 0;">
-                        <h3>🚀 ImgBell에서 할 수 있는 것들:</h3>
-                        <ul>
-                            <li>📸 아름다운 이미지 업로드 및 공유</li>
-                            <li>🤖 AI 이미지 분석 기능 체험</li>
-                            <li>💬 다른 사용자들과 소통</li>
-                            <li>🏆 인기 이미지 랭킹 확인</li>
-                        </ul>
-                    </div>
-                    
-                    <p style="text-align: center;">
-                        <a href="https://imgbell.com" style="background-color: #4CAF50; color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px;">
-                            지금 시작하기
-                        </a>
-                    </p>
-                    
-                    <p style="text-align: center; color: #666; font-size: 12px; margin-top: 30px;">
-                        ImgBell 팀 드림
-                    </p>
-                </div>
-            </body>
-            </html>
-            """, userName);
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,65 @@
+package ImgBell.Redis;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 📦 캐시 DTO용 바이너리 코덱 (Smile)
+ * - GenericJackson2JsonRedisSerializer와 달리 @class 타입 메타데이터를 저장하지 않음
+ * - 읽는 쪽에서 타입을 지정하므로 키당 바이트 수와 역직렬화 비용이 줄어듦
+ */
+@Component
+public class CompactRedisCodec {
+
+    private final ObjectMapper smileMapper;
+
+    public CompactRedisCodec() {
+        SmileFactory smileFactory = new SmileFactory();
+        // 같은 키 이름이 반복되는 리스트/맵에서 백레퍼런스로 크기 절약
+        smileFactory.enable(SmileGenerator.Feature.CHECK_SHARED_NAMES);
+
+        this.smileMapper = new ObjectMapper(smileFactory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public byte[] encode(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return smileMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Compact 직렬화 실패: " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return smileMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new SerializationException("Compact 역직렬화 실패: " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Smile 포맷 여부 확인 (마이그레이션 시 기존 JSON 값과 구분용)
+     * Smile 헤더는 항상 ":)\n" 으로 시작함
+     */
+    public boolean isCompact(byte[] bytes) {
+        return bytes != null && bytes.length >= 3
+                && bytes[0] == ':' && bytes[1] == ')' && bytes[2] == '\n';
+    }
+}
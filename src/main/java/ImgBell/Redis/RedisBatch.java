@@ -0,0 +1,176 @@
+package ImgBell.Redis;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 🚀 Redis 파이프라인 배치
+ * 해시/ZSet/리스트 명령을 모아두었다가 execute() 한 번(= executePipelined 1회, 왕복 1회)으로 실행
+ *
+ * 사용 예)
+ *   RedisBatch batch = redisService.batch();
+ *   RedisBatch.Response<Long> views = batch.hIncrBy("image:stats:1", "viewCount", 1);
+ *   batch.zIncrBy("ranking:daily:2025-01-01", "1", 1);
+ *   batch.execute();
+ *   views.get();
+ *
+ * - 키/멤버/해시 값은 counterRedisTemplate과 같은 raw 문자열(UTF-8)
+ * - 리스트 값은 CompactRedisCodec(Smile) 바이트 → cacheRedisTemplate과 호환
+ * - LTRIM 같은 상태(OK) 응답 명령은 파이프라인 결과에 포함되지 않으므로 Response를 만들지 않음
+ */
+public class RedisBatch {
+
+    private final StringRedisTemplate counterRedisTemplate;
+    private final CompactRedisCodec compactRedisCodec;
+    private final List<Command> commands = new ArrayList<>();
+    private boolean executed = false;
+
+    RedisBatch(StringRedisTemplate counterRedisTemplate, CompactRedisCodec compactRedisCodec) {
+        this.counterRedisTemplate = counterRedisTemplate;
+        this.compactRedisCodec = compactRedisCodec;
+    }
+
+    /**
+     * 배치 실행 후에만 값을 꺼낼 수 있는 결과 핸들
+     */
+    public static final class Response<T> {
+        private T value;
+        private boolean completed = false;
+
+        public T get() {
+            if (!completed) {
+                throw new IllegalStateException("RedisBatch.execute() 호출 전에는 결과를 조회할 수 없습니다.");
+            }
+            return value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Object raw) {
+            this.value = (T) raw;
+            this.completed = true;
+        }
+    }
+
+    private record Command(Consumer<RedisConnection> action, Response<?> response) {
+    }
+
+    // === 해시 ===
+    public Response<Long> hIncrBy(String key, String field, long delta) {
+        return add(connection -> connection.hashCommands().hIncrBy(bytes(key), bytes(field), delta));
+    }
+
+    public Response<List<String>> hMGet(String key, String... fields) {
+        byte[][] rawFields = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            rawFields[i] = bytes(fields[i]);
+        }
+        return add(connection -> connection.hashCommands().hMGet(bytes(key), rawFields));
+    }
+
+    public Response<Map<String, String>> hGetAll(String key) {
+        return add(connection -> connection.hashCommands().hGetAll(bytes(key)));
+    }
+
+    public Response<Boolean> hSetIfAbsent(String key, String field, Object value) {
+        return add(connection -> connection.hashCommands().hSetNX(bytes(key), bytes(field), bytes(String.valueOf(value))));
+    }
+
+    // === Sorted Set ===
+    public Response<Double> zIncrBy(String key, Object member, double score) {
+        return add(connection -> connection.zSetCommands().zIncrBy(bytes(key), score, bytes(String.valueOf(member))));
+    }
+
+    public Response<Double> zScore(String key, Object member) {
+        return add(connection -> connection.zSetCommands().zScore(bytes(key), bytes(String.valueOf(member))));
+    }
+
+    // === 리스트 (Compact 값) ===
+    public Response<Long> lPushCompact(String key, Object value) {
+        byte[] encoded = compactRedisCodec.encode(value);
+        return add(connection -> connection.listCommands().lPush(bytes(key), encoded));
+    }
+
+    public Response<Long> lRemCompact(String key, long count, Object value) {
+        byte[] encoded = compactRedisCodec.encode(value);
+        return add(connection -> connection.listCommands().lRem(bytes(key), count, encoded));
+    }
+
+    public void lTrim(String key, long start, long end) {
+        addWithoutResult(connection -> connection.listCommands().lTrim(bytes(key), start, end));
+    }
+
+    // === 키 ===
+    public Response<Boolean> expire(String key, long timeout, TimeUnit unit) {
+        return add(connection -> connection.keyCommands().expire(bytes(key), unit.toSeconds(timeout)));
+    }
+
+    public boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    public int size() {
+        return commands.size();
+    }
+
+    /**
+     * 모아둔 명령을 파이프라인 한 번으로 실행하고 각 Response에 결과를 채움
+     */
+    public void execute() {
+        if (executed) {
+            throw new IllegalStateException("RedisBatch는 한 번만 실행할 수 있습니다.");
+        }
+        executed = true;
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        List<Object> results = counterRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Command command : commands) {
+                command.action().accept(connection);
+            }
+            return null;
+        });
+
+        long expected = commands.stream().filter(command -> command.response() != null).count();
+        if (results.size() != expected) {
+            throw new IllegalStateException("파이프라인 결과 개수 불일치: expected=" + expected + ", actual=" + results.size());
+        }
+
+        int index = 0;
+        for (Command command : commands) {
+            if (command.response() != null) {
+                command.response().complete(results.get(index++));
+            }
+        }
+    }
+
+    private <T> Response<T> add(Consumer<RedisConnection> action) {
+        checkNotExecuted();
+        Response<T> response = new Response<>();
+        commands.add(new Command(action, response));
+        return response;
+    }
+
+    private void addWithoutResult(Consumer<RedisConnection> action) {
+        checkNotExecuted();
+        commands.add(new Command(action, null));
+    }
+
+    private void checkNotExecuted() {
+        if (executed) {
+            throw new IllegalStateException("이미 실행된 RedisBatch에는 명령을 추가할 수 없습니다.");
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
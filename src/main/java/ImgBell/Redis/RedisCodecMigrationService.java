@@ -0,0 +1,181 @@
+package ImgBell.Redis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 🔁 Redis 값 코덱 마이그레이션
+ * GenericJackson2JsonRedisSerializer로 저장된 기존 키를 새 포맷으로 변환
+ * - 통계 해시: JSON 값 → raw 숫자 문자열
+ * - 랭킹 ZSet: "\"123\"" 멤버 → "123" (점수 합산)
+ * - 최근 본 목록: JSON 문자열 → Smile 바이너리
+ *
+ * 여러 번 실행해도 이미 변환된 키는 건드리지 않음 (멱등)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RedisCodecMigrationService {
+
+    private static final List<String> COUNTER_PATTERNS = List.of("image:stats:*", "forum:stats:*");
+    private static final List<String> RANKING_PATTERNS = List.of("ranking:*", "forum:ranking:*");
+    private static final String RECENT_VIEW_PATTERN = "user:recent:*";
+
+    private static final Pattern RAW_NUMBER = Pattern.compile("-?\\d+");
+    private static final Pattern LAST_NUMBER = Pattern.compile("(-?\\d+)(?!.*\\d)");
+
+    private final StringRedisTemplate counterRedisTemplate;
+    private final RedisTemplate<String, byte[]> cacheRedisTemplate;
+    private final CompactRedisCodec compactRedisCodec;
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    public Map<String, Object> migrateAll() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("counterFieldsMigrated", migrateCounters());
+        result.put("rankingMembersMigrated", migrateRankings());
+        result.put("recentViewItemsMigrated", migrateRecentViews());
+        log.info("🔁 Redis 코덱 마이그레이션 완료: {}", result);
+        return result;
+    }
+
+    /**
+     * 통계 해시 값 정규화 ("5", ["java.lang.Long",5] 등 → 5)
+     */
+    public long migrateCounters() {
+        long migrated = 0;
+        for (String pattern : COUNTER_PATTERNS) {
+            for (String key : scanKeys(pattern)) {
+                // 통계 네임스페이스에 해시가 아닌 키(이전 버전의 dirty Set 등)가 남아 있어도 WRONGTYPE 없이 건너뜀
+                if (counterRedisTemplate.type(key) != DataType.HASH) {
+                    continue;
+                }
+                Map<Object, Object> entries = counterRedisTemplate.opsForHash().entries(key);
+                for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+                    String value = String.valueOf(entry.getValue());
+                    if (RAW_NUMBER.matcher(value).matches()) {
+                        continue;
+                    }
+                    Matcher matcher = LAST_NUMBER.matcher(value);
+                    if (matcher.find()) {
+                        counterRedisTemplate.opsForHash().put(key, entry.getKey(), matcher.group(1));
+                    } else {
+                        counterRedisTemplate.opsForHash().delete(key, entry.getKey());
+                    }
+                    migrated++;
+                }
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * 랭킹 멤버의 JSON 따옴표 제거 (같은 ID가 양쪽에 있으면 점수 합산)
+     */
+    public long migrateRankings() {
+        long migrated = 0;
+        for (String pattern : RANKING_PATTERNS) {
+            for (String key : scanKeys(pattern)) {
+                Set<ZSetOperations.TypedTuple<String>> tuples =
+                        counterRedisTemplate.opsForZSet().rangeWithScores(key, 0, -1);
+                if (tuples == null) {
+                    continue;
+                }
+                for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                    String member = tuple.getValue();
+                    if (member == null || member.length() < 2 || !member.startsWith("\"") || !member.endsWith("\"")) {
+                        continue;
+                    }
+                    String rawMember = member.substring(1, member.length() - 1);
+                    double score = tuple.getScore() != null ? tuple.getScore() : 0;
+                    counterRedisTemplate.opsForZSet().incrementScore(key, rawMember, score);
+                    counterRedisTemplate.opsForZSet().remove(key, member);
+                    migrated++;
+                }
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * 최근 본 목록을 Smile로 재인코딩 (순서와 TTL 유지)
+     */
+    public long migrateRecentViews() {
+        long migrated = 0;
+        for (String key : scanKeys(RECENT_VIEW_PATTERN)) {
+            List<byte[]> items = cacheRedisTemplate.opsForList().range(key, 0, -1);
+            if (items == null || items.stream().allMatch(compactRedisCodec::isCompact)) {
+                continue;
+            }
+
+            List<byte[]> converted = new ArrayList<>();
+            for (byte[] item : items) {
+                if (compactRedisCodec.isCompact(item)) {
+                    converted.add(item);
+                    continue;
+                }
+                byte[] reEncoded = reEncodeLegacyRecentView(item);
+                if (reEncoded != null) {
+                    converted.add(reEncoded);
+                    migrated++;
+                }
+            }
+
+            Long ttlSeconds = cacheRedisTemplate.getExpire(key, TimeUnit.SECONDS);
+            cacheRedisTemplate.delete(key);
+            if (!converted.isEmpty()) {
+                cacheRedisTemplate.opsForList().rightPushAll(key, converted);
+                if (ttlSeconds != null && ttlSeconds > 0) {
+                    cacheRedisTemplate.expire(key, ttlSeconds, TimeUnit.SECONDS);
+                }
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * 기존 값: GenericJackson2Json으로 한 번 더 감싼 JSON 문자열 "{\"imageId\":1,\"imageUrl\":\"...\"}"
+     */
+    private byte[] reEncodeLegacyRecentView(byte[] legacy) {
+        try {
+            String json = jsonMapper.readValue(legacy, String.class);
+            JsonNode node = jsonMapper.readTree(json);
+            if (!node.hasNonNull("imageId")) {
+                return null;
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("imageId", node.get("imageId").asLong());
+            item.put("imageUrl", node.hasNonNull("imageUrl") ? node.get("imageUrl").asText() : null);
+            return compactRedisCodec.encode(item);
+        } catch (Exception e) {
+            // 파싱 불가 항목은 버림 (기존 getRecentViews도 파싱 실패 항목은 무시했음)
+            return null;
+        }
+    }
+
+    private List<String> scanKeys(String pattern) {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(500).build();
+        try (Cursor<String> cursor = counterRedisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+}
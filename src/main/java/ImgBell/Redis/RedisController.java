@@ -2,6 +2,7 @@ package ImgBell.Redis;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -14,6 +15,9 @@ public class RedisController {
     @Autowired
     private RedisService redisService;
 
+    @Autowired
+    private RedisCodecMigrationService redisCodecMigrationService;
+
     @PostMapping("/set")
     public ResponseEntity<String> setData(@RequestBody Map<String, Object> request) {
         String key = (String) request.get("key");
@@ -38,4 +42,11 @@ public class RedisController {
     public ResponseEntity<?> getAllKey(){
         return ResponseEntity.ok(redisService.getAllKeys());
     }
+
+    // 기존 JSON 인코딩 키(통계/랭킹/최근 본 목록)를 새 코덱으로 변환 - 멱등
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/migrate/codec")
+    public ResponseEntity<Map<String, Object>> migrateCodec() {
+        return ResponseEntity.ok(redisCodecMigrationService.migrateAll());
+    }
 }
\ No newline at end of file
@@ -4,10 +4,16 @@ import ImgBell.GlobalErrorHandler.GlobalException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.springframework.data.redis.connection.ReturnType;
@@ -18,13 +24,22 @@ import org.springframework.data.redis.core.RedisCallback;
 public class RedisService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    // 카운터/랭킹: raw 숫자 문자열 (HINCRBY, ZINCRBY 네이티브 동작)
+    private final StringRedisTemplate counterRedisTemplate;
+    // 캐시 DTO: Smile 바이너리
+    private final RedisTemplate<String, byte[]> cacheRedisTemplate;
+    private final CompactRedisCodec compactRedisCodec;
+    // 읽기 위주 키 로컬 캐시 (imgbell.redis.tracking.* 설정 시에만 동작)
+    private final TrackedRedisCache trackedRedisCache;
 
     public void setValue(String key, Object value) {
         redisTemplate.opsForValue().set(key, value);
+        trackedRedisCache.evictLocal(key);
     }
 
     public void setValue(String key, Object value, long timeout, TimeUnit unit) {
         redisTemplate.opsForValue().set(key, value, timeout, unit);
+        trackedRedisCache.evictLocal(key);
     }
 
     public Object getValue(String key) {
@@ -33,36 +48,82 @@ public class RedisService {
 
     public void deleteValue(String key) {
         redisTemplate.delete(key);
+        trackedRedisCache.evictLocal(key);
+    }
+
+    // === 트래킹 조회 (RESP3 클라이언트 사이드 캐시) ===
+
+    /**
+     * raw 문자열 값 조회 - 트래킹 prefix에 해당하면 로컬 캐시에서 응답
+     * (랭킹 결과 캐시, 태그 사전처럼 자주 읽고 드물게 바뀌는 키용)
+     */
+    public String getValueTracked(String key) {
+        if (trackedRedisCache.isTracked(key)) {
+            return trackedRedisCache.get(key);
+        }
+        return counterRedisTemplate.opsForValue().get(key);
+    }
+
+    public void setValueTracked(String key, String value, long timeout, TimeUnit unit) {
+        counterRedisTemplate.opsForValue().set(key, value, timeout, unit);
+        trackedRedisCache.evictLocal(key);
+    }
+
+    /**
+     * 로컬 캐시에 이미 있는 해시만 반환 (없으면 null) - 배치 조회 전 로컬 히트분 분리용
+     */
+    public Map<String, String> peekHashTracked(String key) {
+        return trackedRedisCache.peekHash(key);
+    }
+
+    /**
+     * 배치로 해시를 읽기 전에 호출 - 트래킹 대상이면 토큰 반환 (아니면 null)
+     * 배치 결과(HGETALL)를 completeTrackedHash로 넘기면 로컬 캐시에 저장
+     */
+    public Object beginTrackedLoad(String key) {
+        return trackedRedisCache.beginLoad(key);
+    }
+
+    public void completeTrackedHash(String key, Object token, Map<String, String> loaded) {
+        trackedRedisCache.completeLoad(key, token, loaded);
     }
 
     public boolean hasKey(String key) {
         return redisTemplate.hasKey(key);
     }
 
+    /**
+     * 파이프라인 배치 생성 - 요청 하나에서 발생하는 여러 Redis 명령을 왕복 1회로 묶을 때 사용
+     */
+    public RedisBatch batch() {
+        return new RedisBatch(counterRedisTemplate, compactRedisCodec);
+    }
+
     public Set<String> getAllKeys() {
         Set<String> keys = redisTemplate.keys("*"); // 모든 키 가져오기
 
         return keys;
     }
 
+    // === 랭킹 (Sorted Set) - 멤버는 raw 문자열로 저장 ===
     public void addToSortedSet(String key, Object value, double score) {
-        redisTemplate.opsForZSet().add(key, value, score);
+        counterRedisTemplate.opsForZSet().add(key, String.valueOf(value), score);
     }
 
     public void incrementScoreInSortedSet(String key, Object value, double score) {
-        redisTemplate.opsForZSet().incrementScore(key, value, score);
+        counterRedisTemplate.opsForZSet().incrementScore(key, String.valueOf(value), score);
     }
 
-    public Set<ZSetOperations.TypedTuple<Object>> getRangeWithScores(String key, long start, long end) {
-        return redisTemplate.opsForZSet().reverseRangeWithScores(key, start, end);
+    public Set<ZSetOperations.TypedTuple<String>> getRangeWithScores(String key, long start, long end) {
+        return counterRedisTemplate.opsForZSet().reverseRangeWithScores(key, start, end);
     }
 
-    public Set<Object> getTopRanking(String key, long count) {
-        return redisTemplate.opsForZSet().reverseRange(key, 0, count - 1);
+    public Set<String> getTopRanking(String key, long count) {
+        return counterRedisTemplate.opsForZSet().reverseRange(key, 0, count - 1);
     }
 
     public Double getScore(String key, Object value) {
-        return redisTemplate.opsForZSet().score(key, value);
+        return counterRedisTemplate.opsForZSet().score(key, String.valueOf(value));
     }
 
     public void expire(String key, long timeout, TimeUnit unit) {
@@ -85,16 +146,92 @@ public class RedisService {
         redisTemplate.opsForList().trim(key, start, end);
     }
 
+    // === 통계 해시 (image:stats:*, forum:stats:*) - 값은 raw 숫자 문자열 ===
     public void setHashValue(String key, String field, Object value) {
-        redisTemplate.opsForHash().put(key, field, value);
+        counterRedisTemplate.opsForHash().put(key, field, String.valueOf(value));
+        trackedRedisCache.evictLocal(key);
     }
 
     public Object getHashValue(String key, String field) {
-        return redisTemplate.opsForHash().get(key, field);
+        if (trackedRedisCache.isTracked(key)) {
+            return trackedRedisCache.getHash(key).get(field);
+        }
+        return counterRedisTemplate.opsForHash().get(key, field);
     }
 
     public void incrementHashValue(String key, String field, long delta) {
-        redisTemplate.opsForHash().increment(key, field, delta);
+        counterRedisTemplate.opsForHash().increment(key, field, delta);
+        trackedRedisCache.evictLocal(key);
+    }
+
+    // === 캐시 DTO (Compact 바이너리) ===
+    public void setCompact(String key, Object value, long timeout, TimeUnit unit) {
+        cacheRedisTemplate.opsForValue().set(key, compactRedisCodec.encode(value), timeout, unit);
+    }
+
+    public <T> T getCompact(String key, Class<T> type) {
+        return compactRedisCodec.decode(cacheRedisTemplate.opsForValue().get(key), type);
+    }
+
+    public void leftPushCompact(String key, Object value) {
+        cacheRedisTemplate.opsForList().leftPush(key, compactRedisCodec.encode(value));
+    }
+
+    /**
+     * 리스트에서 값과 바이트 단위로 일치하는 항목 제거
+     * Smile 인코딩은 같은 객체에 대해 항상 같은 바이트를 만들기 때문에 LREM 한 번으로 충분함
+     */
+    public void removeCompactFromList(String key, long count, Object value) {
+        cacheRedisTemplate.opsForList().remove(key, count, compactRedisCodec.encode(value));
+    }
+
+    /**
+     * 리스트 조회 - 디코딩 실패 항목(마이그레이션 전 JSON 등)은 건너뜀
+     */
+    public <T> List<T> getCompactListRange(String key, long start, long end, Class<T> type) {
+        List<byte[]> raw = cacheRedisTemplate.opsForList().range(key, start, end);
+        List<T> result = new ArrayList<>();
+        if (raw == null) {
+            return result;
+        }
+        for (byte[] bytes : raw) {
+            if (!compactRedisCodec.isCompact(bytes)) {
+                continue;
+            }
+            result.add(compactRedisCodec.decode(bytes, type));
+        }
+        result.removeIf(Objects::isNull);
+        return result;
+    }
+
+    // === Lua 스크립트 (키/인자 모두 raw 문자열) ===
+    public <T> T executeScript(RedisScript<T> script, List<String> keys, String... args) {
+        T result = counterRedisTemplate.execute(script, keys, (Object[]) args);
+        // 스크립트가 건드린 키는 로컬 트래킹 캐시에서도 바로 제거
+        keys.forEach(trackedRedisCache::evictLocal);
+        return result;
+    }
+
+    /**
+     * 리스트 맨 앞으로 되돌리기 (처리 실패한 항목을 원래 순서대로 재적재)
+     */
+    public void requeueToFront(String key, List<String> values) {
+        List<String> reversed = new ArrayList<>(values);
+        Collections.reverse(reversed);
+        counterRedisTemplate.opsForList().leftPushAll(key, reversed);
+    }
+
+    // === 변경 표시용 Set (raw 문자열) ===
+    public void addToSet(String key, String... members) {
+        counterRedisTemplate.opsForSet().add(key, members);
+    }
+
+    /**
+     * 최대 count개를 꺼내면서 제거 (SPOP key count) - 여러 노드가 동시에 꺼내도 중복 없음
+     */
+    public List<String> popFromSet(String key, long count) {
+        List<String> members = counterRedisTemplate.opsForSet().pop(key, count);
+        return members != null ? members : List.of();
     }
 
     // === 세션 관리 ===
@@ -0,0 +1,351 @@
+package ImgBell.Redis;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 🧊 Redis 클라이언트 사이드 캐시 (RESP3 CLIENT TRACKING, BCAST 모드)
+ *
+ * - 설정된 prefix로 시작하는 키만 로컬 캐시 → 같은 키 반복 조회는 JVM 밖으로 나가지 않음
+ * - 어느 노드든 해당 키를 수정하면 Redis가 invalidate push를 보내고 로컬 항목을 제거
+ * - 로컬 캐시는 max-entries로 크기 제한
+ * - 연결이 끊기면 그동안의 invalidate를 놓칠 수 있으므로 캐시를 비우고 재연결 후 트래킹을 다시 켬
+ * - 트래킹 전용 연결은 spring.data.redis.* 설정(url/비밀번호/SSL/database/timeout)을 그대로 사용
+ * - 파이프라인 배치 조회(RedisBatch)도 beginLoad/completeLoad로 로컬 캐시를 채움
+ *
+ * 설정 (기본 비활성화)
+ *   imgbell.redis.tracking.enabled=true
+ *   imgbell.redis.tracking.prefixes=image:stats:,forum:stats:,tag:
+ *   imgbell.redis.tracking.max-entries=10000
+ */
+@Slf4j
+@Component
+public class TrackedRedisCache {
+
+    // 키가 없다는 사실도 캐시 (키 생성 시에도 invalidate가 오므로 안전)
+    private static final Object NULL_VALUE = new Object();
+
+    private final boolean enabled;
+    private final List<String> prefixes;
+    private final int maxEntries;
+    private final RedisProperties redisProperties;
+
+    private final Map<String, Object> cache = new ConcurrentHashMap<>();
+    // 조회 중인 키 → 토큰. 조회 도중 invalidate가 오면 토큰이 사라져 오래된 값이 캐시에 들어가지 않음
+    private final Map<String, Object> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter invalidationCounter;
+
+    private RedisClient redisClient;
+    private StatefulRedisConnection<String, String> connection;
+    private volatile boolean trackingActive = false;
+
+    public TrackedRedisCache(@Value("${imgbell.redis.tracking.enabled:false}") boolean enabled,
+                             @Value("${imgbell.redis.tracking.prefixes:}") List<String> prefixes,
+                             @Value("${imgbell.redis.tracking.max-entries:10000}") int maxEntries,
+                             RedisProperties redisProperties,
+                             MeterRegistry meterRegistry) {
+        this.prefixes = prefixes.stream().map(String::trim).filter(p -> !p.isEmpty()).toList();
+        this.enabled = enabled && !this.prefixes.isEmpty();
+        this.maxEntries = maxEntries;
+        this.redisProperties = redisProperties;
+
+        this.hitCounter = Counter.builder("imgbell_redis_tracking_hits_total")
+                .description("Tracked Redis reads served from the local cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("imgbell_redis_tracking_misses_total")
+                .description("Tracked Redis reads that went to Redis")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("imgbell_redis_tracking_invalidations_total")
+                .description("Local cache entries invalidated by Redis")
+                .register(meterRegistry);
+        Gauge.builder("imgbell_redis_tracking_hit_ratio", this, TrackedRedisCache::hitRatio)
+                .description("Hit ratio of the tracked Redis local cache")
+                .register(meterRegistry);
+        Gauge.builder("imgbell_redis_tracking_entries", cache, Map::size)
+                .description("Number of entries in the tracked Redis local cache")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisClient = RedisClient.create(redisUri());
+            redisClient.setOptions(ClientOptions.builder()
+                    .protocolVersion(ProtocolVersion.RESP3)
+                    .autoReconnect(true)
+                    .build());
+            redisClient.addListener(new ReconnectListener());
+
+            connection = redisClient.connect(StringCodec.UTF8);
+            connection.addListener(this::onPushMessage);
+            connection.sync().clientTracking(trackingArgs());
+            trackingActive = true;
+            log.info("🧊 Redis 클라이언트 사이드 캐시 활성화: prefixes={}, maxEntries={}", prefixes, maxEntries);
+        } catch (Exception e) {
+            // Redis 6 미만 등 RESP3 미지원 환경이면 일반 조회로 동작
+            log.warn("🧊 Redis 클라이언트 사이드 캐시 비활성화 (트래킹 설정 실패): {}", e.getMessage());
+            trackingActive = false;
+            shutdown();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
+        if (redisClient != null) {
+            redisClient.shutdown();
+            redisClient = null;
+        }
+    }
+
+    /**
+     * 트래킹 대상 키인지 (트래킹이 실제로 켜져 있을 때만 true)
+     */
+    public boolean isTracked(String key) {
+        if (!trackingActive) {
+            return false;
+        }
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String get(String key) {
+        return read(key, k -> connection.sync().get(k));
+    }
+
+    public Map<String, String> getHash(String key) {
+        Map<String, String> hash = read(key, k -> {
+            Map<String, String> loaded = connection.sync().hgetall(k);
+            // 빈 해시 = 키 없음 → null로 캐시
+            return loaded == null || loaded.isEmpty() ? null : Collections.unmodifiableMap(loaded);
+        });
+        return hash != null ? hash : Collections.emptyMap();
+    }
+
+    /**
+     * 로컬에 있는 해시만 반환 (없으면 null, Redis 조회 안 함)
+     * 파이프라인 배치 조회 전에 로컬 히트분을 걸러낼 때 사용
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, String> peekHash(String key) {
+        if (!isTracked(key)) {
+            return null;
+        }
+        Object cached = cache.get(key);
+        if (cached == null) {
+            // 이어서 배치로 조회하므로 미스로 집계 (히트율 = 로컬 응답 / 전체 트래킹 조회)
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return cached == NULL_VALUE ? Collections.emptyMap() : (Map<String, String>) cached;
+    }
+
+    /**
+     * 배치(파이프라인) 조회 시작 표시 - 트래킹 대상이 아니면 null
+     * peekHash에서 이미 미스로 집계했으므로 여기서는 집계하지 않음
+     */
+    public Object beginLoad(String key) {
+        if (!isTracked(key)) {
+            return null;
+        }
+        Object token = new Object();
+        inFlight.put(key, token);
+        return token;
+    }
+
+    /**
+     * 배치로 읽은 해시 전체를 로컬 캐시에 저장 (그 사이 invalidate가 왔으면 저장하지 않음)
+     */
+    public void completeLoad(String key, Object token, Map<String, String> loaded) {
+        if (token == null) {
+            return;
+        }
+        store(key, token, loaded == null || loaded.isEmpty() ? null : Collections.unmodifiableMap(loaded));
+    }
+
+    /**
+     * 이 노드에서 쓴 직후 읽기 일관성을 위해 push를 기다리지 않고 바로 제거
+     */
+    public void evictLocal(String key) {
+        if (trackingActive) {
+            invalidate(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(String key, Function<String, T> loader) {
+        Object cached = cache.get(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached == NULL_VALUE ? null : (T) cached;
+        }
+
+        missCounter.increment();
+        Object token = new Object();
+        inFlight.put(key, token);
+        T loaded = loader.apply(key);
+        store(key, token, loaded);
+        return loaded;
+    }
+
+    private void store(String key, Object token, Object loaded) {
+        // 조회 도중 invalidate가 왔다면 토큰이 제거됐으므로 캐시하지 않음
+        if (inFlight.remove(key, token)) {
+            evictIfFull();
+            cache.put(key, loaded != null ? loaded : NULL_VALUE);
+        }
+    }
+
+    private void evictIfFull() {
+        if (cache.size() < maxEntries) {
+            return;
+        }
+        // 대략적인 크기 제한: 앞쪽 항목을 10% 정도 비움 (정확한 LRU는 락 비용 대비 이득이 적음)
+        int toEvict = Math.max(1, maxEntries / 10);
+        Iterator<String> iterator = cache.keySet().iterator();
+        while (toEvict-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+
+        if (keys == null) {
+            // FLUSHALL/FLUSHDB → 전체 무효화
+            clearAll();
+            return;
+        }
+        for (Object key : (List<?>) keys) {
+            invalidate(key instanceof ByteBuffer buffer ? StringCodec.UTF8.decodeKey(buffer) : String.valueOf(key));
+        }
+    }
+
+    private void invalidate(String key) {
+        inFlight.remove(key);
+        if (cache.remove(key) != null) {
+            invalidationCounter.increment();
+        }
+    }
+
+    private void clearAll() {
+        inFlight.clear();
+        cache.clear();
+    }
+
+    /**
+     * Boot의 spring.data.redis.* 설정으로 접속 정보 구성 (url이 있으면 url 우선)
+     */
+    private RedisURI redisUri() {
+        if (redisProperties.getUrl() != null && !redisProperties.getUrl().isBlank()) {
+            return RedisURI.create(redisProperties.getUrl());
+        }
+        RedisURI.Builder builder = RedisURI.builder()
+                .withHost(redisProperties.getHost())
+                .withPort(redisProperties.getPort())
+                .withDatabase(redisProperties.getDatabase())
+                .withSsl(redisProperties.getSsl().isEnabled());
+        if (redisProperties.getPassword() != null) {
+            if (redisProperties.getUsername() != null) {
+                builder.withAuthentication(redisProperties.getUsername(), redisProperties.getPassword());
+            } else {
+                builder.withPassword((CharSequence) redisProperties.getPassword());
+            }
+        }
+        if (redisProperties.getTimeout() != null) {
+            builder.withTimeout(redisProperties.getTimeout());
+        }
+        return builder.build();
+    }
+
+    private TrackingArgs trackingArgs() {
+        return TrackingArgs.Builder.enabled().bcast().prefixes(prefixes.toArray(new String[0]));
+    }
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    /**
+     * 연결 끊김 동안 놓친 invalidate가 있을 수 있으므로 캐시를 비우고, 재연결되면 트래킹 재설정
+     */
+    private class ReconnectListener implements RedisConnectionStateListener {
+
+        @Override
+        public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+            if (handler == connection) {
+                trackingActive = false;
+                clearAll();
+            }
+        }
+
+        @Override
+        public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress socketAddress) {
+            // 최초 연결은 start()에서 처리
+            if (connection == null || handler != connection || trackingActive) {
+                return;
+            }
+            connection.async().clientTracking(trackingArgs()).whenComplete((result, error) -> {
+                if (error != null) {
+                    log.warn("🧊 재연결 후 CLIENT TRACKING 재설정 실패: {}", error.getMessage());
+                    return;
+                }
+                clearAll();
+                trackingActive = true;
+                log.info("🧊 재연결 후 CLIENT TRACKING 재설정 완료");
+            });
+        }
+
+        @Override
+        public void onRedisExceptionCaught(RedisChannelHandler<?, ?> handler, Throwable cause) {
+            // 재연결은 Lettuce watchdog이 처리
+        }
+    }
+}
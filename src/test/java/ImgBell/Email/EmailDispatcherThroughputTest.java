@@ -0,0 +1,132 @@
+package ImgBell.Email;
+
+import ImgBell.Kafka.Event.EmailEvent;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 📏 이메일 발송 처리량 비교 (가짜 SMTP 서버, 응답마다 2ms 지연)
+ * 한 통씩 발송(메시지마다 연결) vs EmailDispatcher(도메인별 묶음 + 가상 스레드)
+ */
+class EmailDispatcherThroughputTest {
+
+    private static final int EMAILS = 300;
+    private static final List<String> DOMAINS = List.of("gmail.com", "naver.com", "daum.net", "kakao.com", "imgbell.com");
+
+    private FakeSmtpServer server;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeSmtpServer(2, "reject");
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(server.port());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    void 도메인별_묶음_병렬_발송이_한통씩_발송보다_빠르다() throws Exception {
+        List<EmailEvent> events = events(EMAILS);
+
+        long start = System.nanoTime();
+        for (EmailEvent event : events) {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom("ImgBell <noreply@imgbell.com>");
+            helper.setTo(event.getToEmail());
+            helper.setSubject(event.getSubject());
+            helper.setText(event.getContent(), true);
+            mailSender.send(message);
+        }
+        double sequentialPerSecond = EMAILS / seconds(start);
+        int sequentialConnections = server.connections.get();
+
+        server.reset();
+        EmailDispatcher dispatcher = new EmailDispatcher(mailSender, new EmailTemplateRegistry(), 8, 2, 50);
+        try {
+            start = System.nanoTime();
+            List<EmailEvent> failed = dispatcher.dispatch(events);
+            double dispatcherPerSecond = EMAILS / seconds(start);
+
+            assertThat(failed).isEmpty();
+            assertThat(server.messages.get()).isEqualTo(EMAILS);
+            assertThat(dispatcherPerSecond).isGreaterThan(sequentialPerSecond);
+            assertThat(server.connections.get()).isLessThan(sequentialConnections);
+            assertThat(server.maxConcurrentSessions.get()).isLessThanOrEqualTo(8);
+            assertThat(server.maxConcurrentByDomain).containsOnlyKeys(DOMAINS);
+            assertThat(server.maxConcurrentByDomain.values()).allSatisfy(max -> assertThat(max.get()).isLessThanOrEqualTo(2));
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void 한_도메인의_동시_연결은_도메인별_제한을_넘지_않는다() {
+        List<EmailEvent> events = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            events.add(event("user" + i + "@gmail.com"));
+        }
+
+        // 전체 8개까지 가능해도 같은 도메인은 2개까지만 (묶음 10통 → 6묶음)
+        EmailDispatcher dispatcher = new EmailDispatcher(mailSender, new EmailTemplateRegistry(), 8, 2, 10);
+        try {
+            List<EmailEvent> failed = dispatcher.dispatch(events);
+
+            assertThat(failed).isEmpty();
+            assertThat(server.messages.get()).isEqualTo(60);
+            assertThat(server.connections.get()).isEqualTo(6);
+            assertThat(server.maxConcurrentByDomain.get("gmail.com").get()).isLessThanOrEqualTo(2);
+            assertThat(server.maxConcurrentSessions.get()).isLessThanOrEqualTo(2);
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void 거부된_수신자만_실패로_돌려준다() {
+        List<EmailEvent> events = new ArrayList<>(events(20));
+        EmailEvent rejected = event("reject-me@gmail.com");
+        events.add(rejected);
+
+        EmailDispatcher dispatcher = new EmailDispatcher(mailSender, new EmailTemplateRegistry(), 4, 2, 50);
+        try {
+            List<EmailEvent> failed = dispatcher.dispatch(events);
+
+            assertThat(failed).containsExactly(rejected);
+            assertThat(server.messages.get()).isEqualTo(20);
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    private List<EmailEvent> events(int count) {
+        List<EmailEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(event("user" + i + "@" + DOMAINS.get(i % DOMAINS.size())));
+        }
+        return events;
+    }
+
+    private EmailEvent event(String to) {
+        return new EmailEvent(to, "user", "🎉 ImgBell에 오신 것을 환영합니다!",
+                "<html><body><p>환영합니다!</p></body></html>", EmailEvent.EmailType.WELCOME);
+    }
+
+    private double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+}
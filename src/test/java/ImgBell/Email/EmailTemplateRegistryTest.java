@@ -0,0 +1,47 @@
+package ImgBell.Email;
+
+import ImgBell.Kafka.Event.EmailEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EmailTemplateRegistryTest {
+
+    private final EmailTemplateRegistry registry = new EmailTemplateRegistry();
+
+    @Test
+    void 변수는_HTML_이스케이프되고_제목은_title에서_렌더링된다() {
+        EmailTemplateRegistry.Rendered rendered = registry.render("welcome", Map.of("userName", "<b>철수&영희</b>"));
+
+        assertThat(rendered.subject()).isEqualTo("🎉 ImgBell에 오신 것을 환영합니다!");
+        assertThat(rendered.html()).contains("<strong>&lt;b&gt;철수&amp;영희&lt;/b&gt;</strong>님");
+        assertThat(rendered.html()).doesNotContain("{{");
+    }
+
+    @Test
+    void 제목은_이스케이프하지_않는다() {
+        EmailTemplate subject = EmailTemplate.compilePlain("🔔 {{title}}");
+
+        assertThat(subject.render(Map.of("title", "Q&A 답변"))).isEqualTo("🔔 Q&A 답변");
+    }
+
+    @Test
+    void 템플릿_이벤트는_본문을_담은_이벤트보다_훨씬_작다() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, String> variables = Map.of("userName", "테스트유저");
+        EmailTemplateRegistry.Rendered rendered = registry.render("welcome", variables);
+
+        EmailEvent fullEvent = new EmailEvent("user@imgbell.com", "테스트유저",
+                rendered.subject(), rendered.html(), EmailEvent.EmailType.WELCOME);
+        EmailEvent templateEvent = EmailEvent.ofTemplate("user@imgbell.com", "테스트유저",
+                EmailEvent.EmailType.WELCOME, EmailTemplateRegistry.templateIdOf(EmailEvent.EmailType.WELCOME), variables);
+
+        int fullBytes = objectMapper.writeValueAsBytes(fullEvent).length;
+        int templateBytes = objectMapper.writeValueAsBytes(templateEvent).length;
+
+        assertThat(templateBytes * 5).isLessThan(fullBytes);
+    }
+}
@@ -0,0 +1,141 @@
+package ImgBell.Email;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🧪 테스트용 최소 SMTP 서버
+ * - 받은 메시지 수 / 연결 수 / 최대 동시 연결 수(전체, 수신 도메인별)만 기록 (본문은 버림)
+ *   연결의 도메인은 첫 RCPT 수신자 기준 (EmailDispatcher는 연결 하나에 한 도메인만 보냄)
+ * - replyDelayMillis로 응답마다 지연을 줘서 실제 SMTP 왕복 시간 흉내
+ * - rejectPrefix로 시작하는 수신자는 RCPT 단계에서 550 거부
+ */
+class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final long replyDelayMillis;
+    private final String rejectPrefix;
+
+    final AtomicInteger messages = new AtomicInteger();
+    final AtomicInteger connections = new AtomicInteger();
+    final AtomicInteger maxConcurrentSessions = new AtomicInteger();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    final Map<String, AtomicInteger> maxConcurrentByDomain = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> activeByDomain = new ConcurrentHashMap<>();
+
+    FakeSmtpServer(long replyDelayMillis, String rejectPrefix) throws IOException {
+        this.serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        this.replyDelayMillis = replyDelayMillis;
+        this.rejectPrefix = rejectPrefix;
+        Thread acceptor = new Thread(this::acceptLoop, "fake-smtp-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    void reset() {
+        messages.set(0);
+        connections.set(0);
+        maxConcurrentSessions.set(0);
+        maxConcurrentByDomain.clear();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessions.submit(() -> handle(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        connections.incrementAndGet();
+        maxConcurrentSessions.accumulateAndGet(activeSessions.incrementAndGet(), Math::max);
+        String sessionDomain = null;
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = socket.getOutputStream()) {
+
+            reply(out, "220 fake-smtp ready");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 fake-smtp");
+                    case "RCPT" -> {
+                        if (sessionDomain == null) {
+                            sessionDomain = domainOf(line);
+                            int active = activeByDomain.computeIfAbsent(sessionDomain, d -> new AtomicInteger()).incrementAndGet();
+                            maxConcurrentByDomain.computeIfAbsent(sessionDomain, d -> new AtomicInteger()).accumulateAndGet(active, Math::max);
+                        }
+                        if (rejectPrefix != null && line.toLowerCase().contains("<" + rejectPrefix)) {
+                            reply(out, "550 mailbox unavailable");
+                        } else {
+                            reply(out, "250 OK");
+                        }
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 end with <CRLF>.<CRLF>");
+                        String data;
+                        while ((data = in.readLine()) != null && !data.equals(".")) {
+                            // 본문은 버림
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 bye");
+                        return;
+                    }
+                    default -> reply(out, "250 OK");
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // 클라이언트가 연결을 끊은 경우
+        } finally {
+            activeSessions.decrementAndGet();
+            if (sessionDomain != null) {
+                activeByDomain.get(sessionDomain).decrementAndGet();
+            }
+        }
+    }
+
+    // "RCPT TO:<user@gmail.com>" → "gmail.com"
+    private static String domainOf(String rcptLine) {
+        int at = rcptLine.lastIndexOf('@');
+        int end = rcptLine.indexOf('>', at);
+        return rcptLine.substring(at + 1, end > at ? end : rcptLine.length()).toLowerCase();
+    }
+
+    private void reply(OutputStream out, String response) throws IOException, InterruptedException {
+        if (replyDelayMillis > 0) {
+            Thread.sleep(replyDelayMillis);
+        }
+        out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+}
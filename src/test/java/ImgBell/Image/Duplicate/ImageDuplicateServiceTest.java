@@ -0,0 +1,183 @@
+package ImgBell.Image.Duplicate;
+
+import ImgBell.Image.Image;
+import ImgBell.Image.ImageDto;
+import ImgBell.Image.ImageRepository;
+import ImgBell.Image.Storage.LocalImageStorage;
+import ImgBell.Redis.RedisService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageDuplicateServiceTest {
+
+    private static final String URL_PREFIX = "https://bucket.s3.amazonaws.com/image/";
+
+    @TempDir
+    Path storageRoot;
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private RedisService redisService;
+
+    private ImageDuplicateService imageDuplicateService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(storageRoot.resolve("image"));
+        imageDuplicateService = service(20 * 1024 * 1024, 40_000_000);
+    }
+
+    @Test
+    void 크기변경_재압축된_이미지는_가까운_해시() throws Exception {
+        BufferedImage original = pattern(1, 400, 300);
+        write(original, "original.png", "png");
+        write(resize(original, 160, 120), "resized.jpg", "jpg");
+        write(pattern(2, 400, 300), "other.png", "png");
+
+        Long originalHash = imageDuplicateService.fingerprint(URL_PREFIX + "original.png");
+        Long resizedHash = imageDuplicateService.fingerprint(URL_PREFIX + "resized.jpg");
+        Long otherHash = imageDuplicateService.fingerprint(URL_PREFIX + "other.png");
+
+        assertThat(PerceptualHash.distance(originalHash, resizedHash)).isLessThanOrEqualTo(8);
+        assertThat(PerceptualHash.distance(originalHash, otherHash)).isGreaterThan(10);
+    }
+
+    @Test
+    void 유사_이미지만_검색되고_비공개는_제외() throws Exception {
+        BufferedImage original = pattern(1, 400, 300);
+        write(original, "original.png", "png");
+        write(resize(original, 200, 150), "resized.jpg", "jpg");
+        write(pattern(2, 400, 300), "other.png", "png");
+
+        imageDuplicateService.register(1L, imageDuplicateService.fingerprint(URL_PREFIX + "original.png"));
+        imageDuplicateService.register(2L, imageDuplicateService.fingerprint(URL_PREFIX + "other.png"));
+        imageDuplicateService.register(3L, imageDuplicateService.fingerprint(URL_PREFIX + "original.png"));
+
+        when(imageRepository.findAllById(any())).thenReturn(List.of(
+                Image.builder().id(1L).imageUrl(URL_PREFIX + "original.png").isPublic(true).build(),
+                Image.builder().id(3L).imageUrl(URL_PREFIX + "original.png").isPublic(false).build()));
+
+        long resizedHash = imageDuplicateService.fingerprint(URL_PREFIX + "resized.jpg");
+        List<ImageDuplicateService.DuplicateMatch> matches = imageDuplicateService.findSimilar(resizedHash, null, 10);
+
+        assertThat(matches).extracting(ImageDuplicateService.DuplicateMatch::imageId).containsExactly(1L);
+    }
+
+    @Test
+    void 다른_노드의_등록과_삭제를_변경_로그에서_반영() {
+        when(imageRepository.findAllPerceptualHashes()).thenReturn(List.<Object[]>of(new Object[]{3L, 0L}));
+        // 기동 시 순번 10 → 이후 다른 노드가 5번 등록(11), 3번 삭제(12)
+        when(redisService.executeScript(any(), anyList(), any(String[].class)))
+                .thenReturn(List.of("10", "1"), List.of("12", "1", "+5:0", "11", "-3", "12"));
+        when(imageRepository.findAllById(List.of(5L))).thenReturn(List.of(
+                Image.builder().id(5L).imageUrl(URL_PREFIX + "five.png").isPublic(true).build()));
+
+        imageDuplicateService.loadIndex();
+        imageDuplicateService.refreshIndex();
+
+        assertThat(imageDuplicateService.findSimilar(0L, null, 0))
+                .extracting(ImageDuplicateService.DuplicateMatch::imageId).containsExactly(5L);
+    }
+
+    @Test
+    void 같은_요청에서_먼저_저장한_유사_이미지도_검색() throws Exception {
+        BufferedImage original = pattern(1, 400, 300);
+        write(original, "original.png", "png");
+        write(resize(original, 200, 150), "resized.jpg", "jpg");
+        write(pattern(2, 400, 300), "other.png", "png");
+
+        List<Image> batch = List.of(
+                Image.builder().id(1L).perceptualHash(imageDuplicateService.fingerprint(URL_PREFIX + "original.png")).build(),
+                Image.builder().id(2L).perceptualHash(imageDuplicateService.fingerprint(URL_PREFIX + "other.png")).build());
+
+        long resizedHash = imageDuplicateService.fingerprint(URL_PREFIX + "resized.jpg");
+        assertThat(imageDuplicateService.findSimilarInBatch(resizedHash, batch))
+                .extracting(ImageDuplicateService.DuplicateMatch::imageId).containsExactly(1L);
+    }
+
+    @Test
+    void 이미지가_아닌_파일은_해시_없음() throws Exception {
+        Files.writeString(storageRoot.resolve("image/readme.txt"), "not an image");
+
+        assertThat(imageDuplicateService.fingerprint(URL_PREFIX + "readme.txt")).isNull();
+        assertThat(imageDuplicateService.fingerprint(URL_PREFIX + "missing.png")).isNull();
+    }
+
+    @Test
+    void 크기나_픽셀_수_제한을_넘으면_해시_없음() throws Exception {
+        write(pattern(1, 400, 300), "original.png", "png");
+
+        assertThat(service(100, 40_000_000).fingerprint(URL_PREFIX + "original.png")).isNull();
+        assertThat(service(20 * 1024 * 1024, 400 * 300 - 1).fingerprint(URL_PREFIX + "original.png")).isNull();
+        assertThat(service(20 * 1024 * 1024, 400 * 300).fingerprint(URL_PREFIX + "original.png")).isNotNull();
+    }
+
+    @Test
+    void 업로드_목록은_URL별_해시() throws Exception {
+        write(pattern(1, 400, 300), "original.png", "png");
+        Files.writeString(storageRoot.resolve("image/readme.txt"), "not an image");
+
+        Map<String, Long> hashes = imageDuplicateService.fingerprintAll(List.of(
+                ImageDto.builder().imageUrl(URL_PREFIX + "original.png").build(),
+                ImageDto.builder().imageUrl(URL_PREFIX + "readme.txt").build()));
+
+        assertThat(hashes).containsOnlyKeys(URL_PREFIX + "original.png");
+    }
+
+    private ImageDuplicateService service(long maxFileBytes, long maxPixels) {
+        return new ImageDuplicateService(imageRepository, new LocalImageStorage(storageRoot.toString()), redisService,
+                new SimpleMeterRegistry(), 10, maxFileBytes, maxPixels, 2, 8, 5000, 100_000);
+    }
+
+    // 시드별로 다른 사각형 배치 (같은 시드 = 같은 그림)
+    private static BufferedImage pattern(long seed, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        Random random = new Random(seed);
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+        for (int i = 0; i < 30; i++) {
+            graphics.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+            graphics.fillRect(random.nextInt(width), random.nextInt(height), 20 + random.nextInt(width / 2), 20 + random.nextInt(height / 2));
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        return resized;
+    }
+
+    private void write(BufferedImage image, String name, String format) throws Exception {
+        ImageIO.write(image, format, storageRoot.resolve("image").resolve(name).toFile());
+    }
+}
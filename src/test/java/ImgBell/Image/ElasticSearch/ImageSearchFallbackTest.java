@@ -0,0 +1,69 @@
+package ImgBell.Image.ElasticSearch;
+
+import ImgBell.Image.Image;
+import ImgBell.Image.ImageRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * ES 장애 시 DB 대체 검색 - COUNT 쿼리 없이 조회하고, 동시 실행 수를 넘으면 DB를 건드리지 않음
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageSearchFallbackTest {
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Test
+    void COUNT_쿼리_없이_다음_페이지_유무로_페이지를_만든다() {
+        ImageSearchFallback fallback = new ImageSearchFallback(imageRepository, 50, 500, 8);
+        when(imageRepository.findBy(any(Specification.class), any())).thenReturn(window(true, 1L, 2L));
+
+        Page<ImageListHit> page = fallback.smartSearch("자연", null, true, 1, 2);
+
+        assertThat(page.getContent()).extracting(ImageListHit::id).containsExactly("1", "2");
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.hasNext()).isTrue();
+        verify(imageRepository, never()).count(any(Specification.class));
+        verify(imageRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void 동시_실행_상한을_넘으면_DB_조회_없이_빈_결과() {
+        ImageSearchFallback fallback = new ImageSearchFallback(imageRepository, 50, 500, 1);
+        AtomicReference<Page<ImageListHit>> nested = new AtomicReference<>();
+        // 첫 조회가 자리를 잡고 있는 동안 들어온 두 번째 조회
+        when(imageRepository.findBy(any(Specification.class), any())).thenAnswer(invocation -> {
+            nested.set(fallback.popular(0, 10));
+            return window(false, 1L);
+        });
+
+        Page<ImageListHit> page = fallback.recent(0, 10);
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(nested.get().getContent()).isEmpty();
+        verify(imageRepository, times(1)).findBy(any(Specification.class), any());
+    }
+
+    private static Window<Image> window(boolean hasNext, Long... ids) {
+        List<Image> images = Arrays.stream(ids)
+                .map(id -> Image.builder().id(id).imageName("image" + id).imageUrl("https://cdn/" + id).viewCount(0).likeCount(0).build())
+                .toList();
+        return Window.from(images, ScrollPosition::offset, hasNext);
+    }
+}
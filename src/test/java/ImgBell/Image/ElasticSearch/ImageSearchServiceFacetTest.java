@@ -0,0 +1,94 @@
+package ImgBell.Image.ElasticSearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import java.util.EnumSet;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * size=0 (패싯 전용) 응답이 JSON으로 직렬화되는지 확인
+ * Pageable.unpaged() 페이지는 직렬화 중 UnsupportedOperationException → 500 이었음
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageSearchServiceFacetTest {
+
+    @Mock
+    private ImageSearchRepository imageSearchRepository;
+
+    @Mock
+    private ElasticsearchTemplate elasticsearchTemplate;
+
+    @Mock
+    private ElasticsearchClient elasticsearchClient;
+
+    @Mock
+    private ImageSearchResultCache imageSearchResultCache;
+
+    @Mock
+    private ImageRankingProfile imageRankingProfile;
+
+    @Mock
+    private SearchCircuitBreaker searchCircuitBreaker;
+
+    @Mock
+    private ImageSearchFallback imageSearchFallback;
+
+    @Mock
+    private ImageIndexMappingCheck imageIndexMappingCheck;
+
+    @InjectMocks
+    private ImageSearchService imageSearchService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 패싯_전용_응답_직렬화() throws Exception {
+        when(imageRankingProfile.rankRelevance(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        SearchHits<ImageDocument> searchHits = mock(SearchHits.class);
+        when(searchHits.stream()).thenReturn(Stream.empty());
+        when(searchHits.getTotalHits()).thenReturn(42L);
+        when(elasticsearchTemplate.search(any(Query.class), eq(ImageDocument.class))).thenReturn(searchHits);
+        when(searchCircuitBreaker.call(eq("facets"), any(), any()))
+                .thenAnswer(invocation -> ((Callable<FacetedSearchResponse>) invocation.getArgument(1)).call());
+
+        FacetedSearchResponse response = imageSearchService.smartSearchWithFacets(
+                "자연", null, true, 0, 0, EnumSet.of(SearchFacet.TAGS), 10);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(response));
+        assertThat(json.path("results").path("content").size()).isZero();
+        assertThat(json.path("results").path("totalElements").asLong()).isEqualTo(42L);
+        assertThat(json.path("results").path("degraded").asBoolean()).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 패싯_전용_대체_응답_직렬화() throws Exception {
+        when(searchCircuitBreaker.call(eq("facets"), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<FacetedSearchResponse>) invocation.getArgument(2)).get());
+
+        FacetedSearchResponse response = imageSearchService.smartSearchWithFacets(
+                "자연", null, true, 0, 0, EnumSet.of(SearchFacet.TAGS), 10);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(response));
+        assertThat(json.path("results").path("degraded").asBoolean()).isTrue();
+        assertThat(json.path("facets").isEmpty()).isTrue();
+        verifyNoInteractions(imageSearchFallback);
+    }
+}
@@ -0,0 +1,56 @@
+package ImgBell.Image.ElasticSearch;
+
+import ImgBell.GlobalErrorHandler.GlobalException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 잘못된 요청은 브레이커 실패로 집계하지 않고 400, ES/IO 장애만 집계해서 fallback
+ */
+class SearchCircuitBreakerTest {
+
+    // 창 4건, 최소 2건, 실패율 50% 이상이면 OPEN
+    private final SearchCircuitBreaker breaker = new SearchCircuitBreaker(new SimpleMeterRegistry(),
+            1000, 500, 50, 50, 4, 2, 10, 1, 2, 4);
+
+    @AfterEach
+    void tearDown() {
+        breaker.shutdown();
+    }
+
+    @Test
+    void 잘못된_요청은_400이고_브레이커를_열지_않는다() {
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> breaker.call("smart", () -> {
+                throw new IllegalArgumentException("Page size must not be less than one");
+            }, () -> "fallback"))
+                    .isInstanceOfSatisfying(GlobalException.class,
+                            e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+            assertThatThrownBy(() -> breaker.call("smart", () -> {
+                throw new UncategorizedElasticsearchException("Result window is too large", 400, null, null);
+            }, () -> "fallback")).isInstanceOf(GlobalException.class);
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void ES_장애는_fallback으로_응답하고_브레이커를_연다() {
+        assertThat(breaker.call("smart", () -> {
+            throw new IOException("Connection refused");
+        }, () -> "fallback")).isEqualTo("fallback");
+        assertThat(breaker.call("smart", () -> {
+            throw new UncategorizedElasticsearchException("all shards failed", 503, null, null);
+        }, () -> "fallback")).isEqualTo("fallback");
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,62 @@
+package ImgBell.Image;
+
+import ImgBell.Redis.RedisBatch;
+import ImgBell.Redis.RedisService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 최근 본 항목 중복 제거는 URL 유무와 관계없이 imageId 기준
+ */
+@ExtendWith(MockitoExtension.class)
+class RecentViewServiceTest {
+
+    private static final String KEY = "user:recent:7";
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private RedisBatch batch;
+
+    @InjectMocks
+    private RecentViewService recentViewService;
+
+    @Test
+    void URL_없이_저장된_같은_이미지도_제거하고_추가() {
+        RecentViewItem withoutUrl = new RecentViewItem(1L, null);
+        RecentViewItem other = new RecentViewItem(2L, "https://cdn/2.jpg");
+        when(redisService.getCompactListRange(eq(KEY), anyLong(), anyLong(), eq(RecentViewItem.class)))
+                .thenReturn(List.of(withoutUrl, other));
+        when(redisService.batch()).thenReturn(batch);
+
+        recentViewService.addRecentView(7L, 1L, "https://cdn/1.jpg");
+
+        verify(batch).lRemCompact(KEY, 0, withoutUrl);
+        verify(batch, never()).lRemCompact(KEY, 0, other);
+        verify(batch).lPushCompact(KEY, new RecentViewItem(1L, "https://cdn/1.jpg"));
+        verify(batch).execute();
+    }
+
+    @Test
+    void 여러_항목_추가도_URL이_있는_같은_이미지를_제거() {
+        RecentViewItem withUrl = new RecentViewItem(1L, "https://cdn/1.jpg");
+        when(redisService.getCompactListRange(eq(KEY), anyLong(), anyLong(), eq(RecentViewItem.class)))
+                .thenReturn(List.of(withUrl));
+        when(redisService.batch()).thenReturn(batch);
+
+        recentViewService.addMultipleRecentViews(7L, List.of(1L, 3L));
+
+        verify(batch).lRemCompact(KEY, 0, withUrl);
+        verify(batch).lPushCompact(KEY, new RecentViewItem(1L, null));
+        verify(batch).lPushCompact(KEY, new RecentViewItem(3L, null));
+    }
+}
@@ -0,0 +1,114 @@
+package ImgBell.Kafka;
+
+import ImgBell.Config.KafkaConfig;
+import ImgBell.Kafka.Event.ElasticSearchEvent;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 📏 색인 이벤트 프로듀서 처리량 비교 (임베디드 Kafka)
+ * 기본 설정(linger 0, 무압축) vs 색인용 프로필(linger + 큰 배치 + lz4 + 멱등)
+ * - 처리량(msg/s)은 임베디드 브로커에서 흔들리므로 비교하지 않음
+ * - 대신 실제 적용된 프로듀서 설정과 브로커로 나간 바이트 수(배치 + 압축 효과), 키 기반 파티셔닝을 검증
+ */
+@EmbeddedKafka(partitions = 6, topics = {IndexingProducerThroughputTest.BASELINE_TOPIC, IndexingProducerThroughputTest.TUNED_TOPIC})
+class IndexingProducerThroughputTest {
+
+    static final String BASELINE_TOPIC = "es-sending-baseline";
+    static final String TUNED_TOPIC = "es-sending-tuned";
+
+    private static final int EVENTS = 20_000;
+    private static final int IMAGES = 2_000;
+
+    @Test
+    void 색인용_프로필로_키_순서를_지키며_전송한다(EmbeddedKafkaBroker broker) throws Exception {
+        Map<String, Object> props = baseProps(broker);
+        // 운영 빈(indexingKafkaTemplate)과 같은 방식: 기본 팩토리 + 색인용 설정 덮어쓰기
+        Map<String, Object> overrides = KafkaConfig.indexingProducerOverrides(20, 65536, "lz4");
+
+        Run baselineRun = sendAll(props, Map.of(), BASELINE_TOPIC, EVENTS);
+        Run tunedRun = sendAll(props, overrides, TUNED_TOPIC, EVENTS);
+
+        assertThat(tunedRun.config())
+                .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 20)
+                .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 65536)
+                .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")
+                .containsEntry(ProducerConfig.ACKS_CONFIG, "all")
+                .containsEntry(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        assertThat(baselineRun.config()).doesNotContainKeys(ProducerConfig.LINGER_MS_CONFIG, ProducerConfig.COMPRESSION_TYPE_CONFIG);
+
+        // 같은 이벤트를 보내고 브로커로 나간 바이트가 절반 이하 (큰 배치에 lz4 압축)
+        assertThat(baselineRun.results()).hasSize(EVENTS);
+        assertThat(tunedRun.results()).hasSize(EVENTS);
+        assertThat(tunedRun.outgoingBytes()).isLessThan(baselineRun.outgoingBytes() / 2);
+
+        // 같은 imageId는 항상 같은 파티션
+        Map<String, Integer> partitionByKey = new HashMap<>();
+        for (SendResult<String, ElasticSearchEvent> result : tunedRun.results()) {
+            String key = result.getProducerRecord().key();
+            int partition = result.getRecordMetadata().partition();
+            assertThat(partitionByKey.computeIfAbsent(key, k -> partition)).isEqualTo(partition);
+        }
+        assertThat(partitionByKey).hasSize(IMAGES);
+    }
+
+    private Map<String, Object> baseProps(EmbeddedKafkaBroker broker) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        return props;
+    }
+
+    private Run sendAll(Map<String, Object> props, Map<String, Object> overrides, String topic, int count) throws Exception {
+        DefaultKafkaProducerFactory<String, ElasticSearchEvent> factory = new DefaultKafkaProducerFactory<>(props);
+        KafkaTemplate<String, ElasticSearchEvent> template = new KafkaTemplate<>(factory, overrides);
+        try {
+            List<CompletableFuture<SendResult<String, ElasticSearchEvent>>> futures = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                long imageId = i % IMAGES;
+                futures.add(template.send(topic, String.valueOf(imageId), new ElasticSearchEvent(imageId, "sync")));
+            }
+            template.flush();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+            List<SendResult<String, ElasticSearchEvent>> results = new ArrayList<>(count);
+            for (CompletableFuture<SendResult<String, ElasticSearchEvent>> future : futures) {
+                results.add(future.join());
+            }
+            return new Run(results, template.getProducerFactory().getConfigurationProperties(),
+                    producerMetric(template, "outgoing-byte-total"));
+        } finally {
+            template.getProducerFactory().reset();
+            factory.destroy();
+        }
+    }
+
+    private static double producerMetric(KafkaTemplate<?, ?> template, String name) {
+        return template.metrics().entrySet().stream()
+                .filter(entry -> entry.getKey().group().equals("producer-metrics") && entry.getKey().name().equals(name))
+                .mapToDouble(entry -> ((Number) entry.getValue().metricValue()).doubleValue())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private record Run(List<SendResult<String, ElasticSearchEvent>> results, Map<String, Object> config, double outgoingBytes) {
+    }
+}
@@ -0,0 +1,69 @@
+package ImgBell.Redis;
+
+import ImgBell.Image.Image;
+import ImgBell.Image.ImageDto;
+import ImgBell.Image.Tag.TagDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 📏 Redis 값 코덱 비교 (키당 바이트 수 + 왕복 직렬화 결과)
+ * Redis 없이 직렬화기만 비교하므로 단위 테스트로 실행 가능
+ * 직렬화 CPU 시간은 JIT/머신에 따라 흔들려 단위 테스트에서 비교하지 않음
+ */
+class RedisCodecBenchmarkTest {
+
+    private final GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
+    private final StringRedisSerializer stringSerializer = new StringRedisSerializer();
+    private final CompactRedisCodec compactCodec = new CompactRedisCodec();
+
+    @Test
+    void 카운터와_랭킹멤버는_raw_문자열이_더_작다() {
+        Long imageId = 1234567L;
+
+        byte[] json = jsonSerializer.serialize(imageId);
+        byte[] raw = stringSerializer.serialize(String.valueOf(imageId));
+
+        assertThat(raw.length).isLessThanOrEqualTo(json.length);
+        assertThat(Long.valueOf(stringSerializer.deserialize(raw))).isEqualTo(imageId);
+    }
+
+    @Test
+    void 캐시_DTO는_Smile이_JSON보다_작고_그대로_복원된다() {
+        ImageDto dto = sampleDto();
+
+        byte[] json = jsonSerializer.serialize(dto);
+        byte[] compact = compactCodec.encode(dto);
+
+        assertThat(compact.length).isLessThan(json.length);
+        assertThat(compactCodec.decode(compact, ImageDto.class)).usingRecursiveComparison().isEqualTo(dto);
+        assertThat(jsonSerializer.deserialize(json, ImageDto.class)).usingRecursiveComparison().isEqualTo(dto);
+    }
+
+    private ImageDto sampleDto() {
+        return ImageDto.builder()
+                .id(1234567L)
+                .imageUrl("https://bucket.s3.amazonaws.com/images/uuid_image.jpg")
+                .imageName("아름다운 풍경")
+                .uploaderName("홍길동")
+                .fileType("image/jpeg")
+                .fileSize(1048576L)
+                .tags(List.of(
+                        new TagDto("풍경", "GENERAL", null, 10),
+                        new TagDto("바다", "GENERAL", null, 7),
+                        new TagDto("여름", "GENERAL", null, 3)))
+                .artist("김작가")
+                .viewCount(100)
+                .likeCount(25)
+                .downloadCount(10)
+                .imageGrade(Image.ImageGrade.GENERAL)
+                .isPublic(true)
+                .isApproved(true)
+                .build();
+    }
+}